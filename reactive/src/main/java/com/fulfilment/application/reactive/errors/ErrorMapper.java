@@ -0,0 +1,88 @@
+package com.fulfilment.application.reactive.errors;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import io.vertx.pgclient.PgException;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.ExceptionMapper;
+import jakarta.ws.rs.ext.Provider;
+import org.jboss.logging.Logger;
+
+/**
+ * Maps every exception escaping a resource to the application's JSON body of its {@code
+ * exceptionType}, {@code code} and {@code error} message: a {@link WebApplicationException} keeps
+ * its status, an {@link IllegalArgumentException} is a 422, a database constraint violation
+ * anywhere in the cause chain is a 409, and anything else is a logged 500.
+ */
+@Provider
+public class ErrorMapper implements ExceptionMapper<Exception> {
+
+  private static final Logger LOGGER = Logger.getLogger(ErrorMapper.class.getName());
+
+  static final String CONFLICT_MESSAGE = "The change conflicts with existing data.";
+
+  static final String INTERNAL_ERROR_MESSAGE = "Internal server error.";
+
+  // causes of wrapped exceptions are only searched this deep for a constraint violation
+  private static final int MAX_CAUSE_DEPTH = 8;
+
+  @Override
+  public Response toResponse(Exception exception) {
+    int code;
+    String message;
+    if (exception instanceof WebApplicationException) {
+      code = ((WebApplicationException) exception).getResponse().getStatus();
+      message = exception.getMessage();
+    } else if (exception instanceof IllegalArgumentException) {
+      code = 422;
+      message = exception.getMessage();
+    } else if (isConstraintViolation(exception)) {
+      code = 409;
+      message = CONFLICT_MESSAGE;
+    } else {
+      code = 500;
+      message = INTERNAL_ERROR_MESSAGE;
+    }
+
+    if (code >= 500) {
+      LOGGER.error("Failed to handle request", exception);
+    } else {
+      LOGGER.debugf("Request failed with %d: %s", code, exception);
+    }
+
+    return Response.status(code)
+        .type(MediaType.APPLICATION_JSON_TYPE)
+        .entity(body(exception.getClass(), code, message))
+        .build();
+  }
+
+  static boolean isConstraintViolation(Throwable exception) {
+    Throwable cause = exception;
+    for (int depth = 0; cause != null && depth < MAX_CAUSE_DEPTH; depth++) {
+      if (cause instanceof org.hibernate.exception.ConstraintViolationException) {
+        return true;
+      }
+      // integrity constraint violations are SQLSTATE class 23
+      if (cause instanceof PgException pgException
+          && pgException.getSqlState() != null
+          && pgException.getSqlState().startsWith("23")) {
+        return true;
+      }
+      cause = cause.getCause();
+    }
+    return false;
+  }
+
+  private static String body(Class<?> type, int code, String message) {
+    String prefix = "{\"exceptionType\":\"" + quote(type.getName()) + "\",\"code\":";
+    if (message == null) {
+      return prefix + code + "}";
+    }
+    return prefix + code + ",\"error\":\"" + quote(message) + "\"}";
+  }
+
+  private static String quote(String text) {
+    return new String(JsonStringEncoder.getInstance().quoteAsString(text));
+  }
+}
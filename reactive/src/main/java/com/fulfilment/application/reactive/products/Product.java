@@ -0,0 +1,36 @@
+package com.fulfilment.application.reactive.products;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.quarkus.hibernate.reactive.panache.PanacheEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import org.hibernate.annotations.SQLRestriction;
+
+// the application's product table, names are unique among live products only, see import.sql
+@Entity
+@SQLRestriction("deletedAt is null")
+public class Product extends PanacheEntity {
+
+  @Column(length = 40)
+  public String name;
+
+  @Column(nullable = true)
+  public String description;
+
+  @Column(precision = 10, scale = 2, nullable = true)
+  public BigDecimal price;
+
+  // leaves out the stock the application handed to its reservation slots, see StockSlot
+  public int stock;
+
+  // tombstone of a deleted product, until the application's compactor purges the row
+  @JsonIgnore public LocalDateTime deletedAt;
+
+  public Product() {}
+
+  public Product(String name) {
+    this.name = name;
+  }
+}
@@ -0,0 +1,107 @@
+package com.fulfilment.application.reactive.products;
+
+import io.quarkus.hibernate.reactive.panache.common.WithSession;
+import io.quarkus.hibernate.reactive.panache.common.WithTransaction;
+import io.quarkus.panache.common.Sort;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.LockModeType;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.PUT;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.Response;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Path("product")
+@ApplicationScoped
+@Produces("application/json")
+@Consumes("application/json")
+public class ProductResource {
+
+  @GET
+  @WithSession
+  public Uni<List<Product>> get() {
+    return Product.listAll(Sort.by("name"));
+  }
+
+  @GET
+  @Path("{id}")
+  @WithSession
+  public Uni<Product> getSingle(Long id) {
+    return Product.<Product>findById(id).onItem().ifNull().failWith(() -> notFound(id));
+  }
+
+  @POST
+  @WithTransaction
+  public Uni<Response> create(Product product) {
+    if (product.id != null) {
+      throw new WebApplicationException("Id was invalidly set on request.", 422);
+    }
+
+    return Product.count("name", product.name)
+        .chain(
+            count -> {
+              if (count > 0) {
+                throw new WebApplicationException(
+                    "Product with name " + product.name + " already exists.", 409);
+              }
+              return product.<Product>persist();
+            })
+        .map(created -> Response.ok(created).status(201).build());
+  }
+
+  @PUT
+  @Path("{id}")
+  @WithTransaction
+  public Uni<Product> update(Long id, Product product) {
+    if (product.name == null) {
+      throw new WebApplicationException("Product Name was not set on request.", 422);
+    }
+
+    return findForUpdate(id)
+        .invoke(
+            entity -> {
+              entity.name = product.name;
+              entity.description = product.description;
+              entity.price = product.price;
+              entity.stock = product.stock;
+            })
+        // the stock is overwritten, so what the reservation slots held is no longer there
+        .call(entity -> discardSlots(entity.id));
+  }
+
+  @DELETE
+  @Path("{id}")
+  @WithTransaction
+  public Uni<Response> delete(Long id) {
+    // tombstone only, the row and its assignments are purged later by the application's compactor
+    return findForUpdate(id)
+        .invoke(entity -> entity.deletedAt = LocalDateTime.now())
+        .call(entity -> discardSlots(entity.id))
+        .map(entity -> Response.status(204).build());
+  }
+
+  // the application locks the product row before its slots, so this does too
+  private static Uni<Product> findForUpdate(Long id) {
+    return Product.<Product>find("id", id)
+        .withLock(LockModeType.PESSIMISTIC_WRITE)
+        .firstResult()
+        .onItem()
+        .ifNull()
+        .failWith(() -> notFound(id));
+  }
+
+  private static Uni<Integer> discardSlots(Long productId) {
+    return StockSlot.update("stock = 0 where productId = ?1 and stock > 0", productId);
+  }
+
+  private static WebApplicationException notFound(Long id) {
+    return new WebApplicationException("Product with id of " + id + " does not exist.", 404);
+  }
+}
@@ -0,0 +1,41 @@
+package com.fulfilment.application.reactive.products;
+
+import io.quarkus.hibernate.reactive.panache.PanacheEntityBase;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Stock the application handed out to the reservations of a product. Only mapped to drop it when a
+ * product's stock is overwritten or the product is deleted, as the application does.
+ */
+@Entity
+@Table(name = "product_stock_slot")
+@IdClass(StockSlot.Key.class)
+public class StockSlot extends PanacheEntityBase {
+
+  @Id public Long productId;
+
+  @Id public int slot;
+
+  public int stock;
+
+  public static class Key implements Serializable {
+    public Long productId;
+
+    public int slot;
+
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof Key key && Objects.equals(productId, key.productId) && slot == key.slot;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(productId, slot);
+    }
+  }
+}
@@ -0,0 +1,56 @@
+package com.fulfilment.application.reactive.stores;
+
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.jboss.logging.Logger;
+
+/**
+ * The legacy store manager, emulated by a temporary file like the application's. The file is
+ * written on a worker thread, as file I/O blocks, and a failure is logged rather than failing the
+ * request whose change was already committed.
+ */
+@ApplicationScoped
+public class LegacyStoreManagerGateway {
+
+  private static final Logger LOGGER = Logger.getLogger(LegacyStoreManagerGateway.class.getName());
+
+  public Uni<Void> createStoreOnLegacySystem(Store store) {
+    return send(store);
+  }
+
+  public Uni<Void> updateStoreOnLegacySystem(Store store) {
+    return send(store);
+  }
+
+  private Uni<Void> send(Store store) {
+    return Uni.createFrom()
+        .item(
+            () -> {
+              writeToFile(store);
+              return store;
+            })
+        .runSubscriptionOn(Infrastructure.getDefaultWorkerPool())
+        .replaceWithVoid();
+  }
+
+  private static void writeToFile(Store store) {
+    try {
+      Path tempFile = Files.createTempFile(store.name, ".txt");
+      String content =
+          "Store created. [ name ="
+              + store.name
+              + " ] [ items on stock ="
+              + store.quantityProductsInStock
+              + "]";
+      Files.write(tempFile, content.getBytes());
+      Files.readAllBytes(tempFile);
+      Files.delete(tempFile);
+    } catch (IOException | RuntimeException e) {
+      LOGGER.errorf(e, "Failed to send store %s to the legacy system", store.name);
+    }
+  }
+}
@@ -0,0 +1,41 @@
+package com.fulfilment.application.reactive.stores;
+
+import io.quarkus.arc.profile.IfBuildProfile;
+import io.smallrye.mutiny.Uni;
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Alternative;
+import java.time.Duration;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * The legacy store manager of load test builds ({@code -Ploadtest}), which gives each call the
+ * round trip of {@code legacy-store-manager.latency} as the application's does. The round trip is
+ * a timer rather than a sleeping thread, as a reactive client of the legacy system would wait.
+ */
+@ApplicationScoped
+@Alternative
+@Priority(1)
+@IfBuildProfile("loadtest")
+public class LoadTestLegacyStoreManagerGateway extends LegacyStoreManagerGateway {
+
+  @ConfigProperty(name = "legacy-store-manager.latency", defaultValue = "0ms")
+  Duration latency;
+
+  @Override
+  public Uni<Void> createStoreOnLegacySystem(Store store) {
+    return roundTrip().chain(() -> super.createStoreOnLegacySystem(store));
+  }
+
+  @Override
+  public Uni<Void> updateStoreOnLegacySystem(Store store) {
+    return roundTrip().chain(() -> super.updateStoreOnLegacySystem(store));
+  }
+
+  private Uni<Void> roundTrip() {
+    if (latency.isZero()) {
+      return Uni.createFrom().voidItem();
+    }
+    return Uni.createFrom().voidItem().onItem().delayIt().by(latency);
+  }
+}
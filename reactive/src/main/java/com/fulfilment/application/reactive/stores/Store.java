@@ -0,0 +1,28 @@
+package com.fulfilment.application.reactive.stores;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.quarkus.hibernate.reactive.panache.PanacheEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import java.time.LocalDateTime;
+import org.hibernate.annotations.SQLRestriction;
+
+// the application's store table, names are unique among live stores only, see import.sql
+@Entity
+@SQLRestriction("deletedAt is null")
+public class Store extends PanacheEntity {
+
+  @Column(length = 40)
+  public String name;
+
+  public int quantityProductsInStock;
+
+  // tombstone of a deleted store, until the application's compactor purges the row
+  @JsonIgnore public LocalDateTime deletedAt;
+
+  public Store() {}
+
+  public Store(String name) {
+    this.name = name;
+  }
+}
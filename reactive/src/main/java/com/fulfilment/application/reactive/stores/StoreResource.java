@@ -0,0 +1,58 @@
+package com.fulfilment.application.reactive.stores;
+
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.PATCH;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.PUT;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.Response;
+import java.util.List;
+
+@Path("store")
+@ApplicationScoped
+@Produces("application/json")
+@Consumes("application/json")
+public class StoreResource {
+
+  @Inject StoreService storeService;
+
+  @GET
+  public Uni<List<Store>> get() {
+    return storeService.listAll();
+  }
+
+  @GET
+  @Path("{id}")
+  public Uni<Store> getSingle(Long id) {
+    return storeService.findByIdOrThrow(id);
+  }
+
+  @POST
+  public Uni<Response> create(Store store) {
+    return storeService.create(store).map(created -> Response.ok(created).status(201).build());
+  }
+
+  @PUT
+  @Path("{id}")
+  public Uni<Store> update(Long id, Store updatedStore) {
+    return storeService.update(id, updatedStore);
+  }
+
+  @PATCH
+  @Path("{id}")
+  public Uni<Store> patch(Long id, Store updatedStore) {
+    return storeService.patch(id, updatedStore);
+  }
+
+  @DELETE
+  @Path("{id}")
+  public Uni<Response> delete(Long id) {
+    return storeService.delete(id).map(ignored -> Response.status(204).build());
+  }
+}
@@ -0,0 +1,102 @@
+package com.fulfilment.application.reactive.stores;
+
+import io.quarkus.hibernate.reactive.panache.Panache;
+import io.quarkus.hibernate.reactive.panache.common.WithSession;
+import io.quarkus.panache.common.Sort;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.WebApplicationException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * The application's store operations on Hibernate Reactive. Each change commits before the store
+ * is sent to the legacy system, and the response waits for that round trip without holding a
+ * thread.
+ */
+@ApplicationScoped
+public class StoreService {
+
+  @Inject LegacyStoreManagerGateway legacyStoreManagerGateway;
+
+  @WithSession
+  public Uni<List<Store>> listAll() {
+    return Store.listAll(Sort.by("name"));
+  }
+
+  @WithSession
+  public Uni<Store> findByIdOrThrow(Long id) {
+    return Store.<Store>findById(id)
+        .onItem()
+        .ifNull()
+        .failWith(
+            () -> new WebApplicationException("Store with id of " + id + " does not exist.", 404));
+  }
+
+  public Uni<Store> create(Store store) {
+    if (store.id != null) {
+      return Uni.createFrom()
+          .failure(new WebApplicationException("Id was invalidly set on request.", 422));
+    }
+
+    return Panache.withTransaction(
+            () ->
+                Store.count("name", store.name)
+                    .chain(
+                        count -> {
+                          if (count > 0) {
+                            throw new WebApplicationException(
+                                "Store with name " + store.name + " already exists.", 409);
+                          }
+                          return store.<Store>persist();
+                        }))
+        .call(created -> legacyStoreManagerGateway.createStoreOnLegacySystem(created));
+  }
+
+  public Uni<Store> update(Long id, Store updatedStore) {
+    if (updatedStore.name == null) {
+      return Uni.createFrom()
+          .failure(new WebApplicationException("Store Name was not set on request.", 422));
+    }
+
+    return Panache.withTransaction(
+            () ->
+                findByIdOrThrow(id)
+                    .invoke(
+                        entity -> {
+                          entity.name = updatedStore.name;
+                          entity.quantityProductsInStock = updatedStore.quantityProductsInStock;
+                        }))
+        .call(() -> legacyStoreManagerGateway.updateStoreOnLegacySystem(updatedStore));
+  }
+
+  public Uni<Store> patch(Long id, Store updatedStore) {
+    if (updatedStore.name == null) {
+      return Uni.createFrom()
+          .failure(new WebApplicationException("Store Name was not set on request.", 422));
+    }
+
+    return Panache.withTransaction(
+            () ->
+                findByIdOrThrow(id)
+                    .invoke(
+                        entity -> {
+                          if (entity.name != null) {
+                            entity.name = updatedStore.name;
+                          }
+
+                          if (entity.quantityProductsInStock != 0) {
+                            entity.quantityProductsInStock = updatedStore.quantityProductsInStock;
+                          }
+                        }))
+        .call(() -> legacyStoreManagerGateway.updateStoreOnLegacySystem(updatedStore));
+  }
+
+  public Uni<Void> delete(Long id) {
+    // tombstone only, the row and its assignments are purged later by the application's compactor
+    return Panache.withTransaction(
+            () -> findByIdOrThrow(id).invoke(entity -> entity.deletedAt = LocalDateTime.now()))
+        .replaceWithVoid();
+  }
+}
@@ -0,0 +1,92 @@
+package com.fulfilment.application.reactive.products;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.core.IsNot.not;
+
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.ws.rs.core.MediaType;
+import java.math.BigDecimal;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+public class ProductResourceTest {
+
+  @Test
+  public void testCrudProduct() {
+    Product product = new Product("REACTIVE_PRODUCT");
+    product.price = new BigDecimal("12.50");
+    product.stock = 7;
+
+    int id =
+        given()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(product)
+            .when()
+            .post("product")
+            .then()
+            .statusCode(201)
+            .body("name", is("REACTIVE_PRODUCT"), "stock", is(7))
+            .extract()
+            .path("id");
+
+    product.name = "REACTIVE_PRODUCT_RENAMED";
+    product.stock = 3;
+    given()
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(product)
+        .when()
+        .put("product/" + id)
+        .then()
+        .statusCode(200)
+        .body("name", is("REACTIVE_PRODUCT_RENAMED"), "stock", is(3));
+
+    given().when().delete("product/" + id).then().statusCode(204);
+
+    given().when().get("product/" + id).then().statusCode(404);
+    given()
+        .when()
+        .get("product")
+        .then()
+        .statusCode(200)
+        .body(not(containsString("REACTIVE_PRODUCT_RENAMED")), containsString("KALLAX"));
+  }
+
+  @Test
+  public void testCreateProductWithExistingNameConflicts() {
+    given()
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(new Product("KALLAX"))
+        .when()
+        .post("product")
+        .then()
+        .statusCode(409)
+        .body("code", is(409), "error", is("Product with name KALLAX already exists."));
+  }
+
+  @Test
+  public void testCreateProductWithIdIsRejected() {
+    Product product = new Product("REACTIVE_WITH_ID");
+    product.id = 42L;
+
+    given()
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(product)
+        .when()
+        .post("product")
+        .then()
+        .statusCode(422);
+  }
+
+  @Test
+  public void testUpdateProductNotFound() {
+    given()
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(new Product("REACTIVE_MISSING"))
+        .when()
+        .put("product/999999")
+        .then()
+        .statusCode(404);
+  }
+}
@@ -0,0 +1,92 @@
+package com.fulfilment.application.reactive.stores;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.core.IsNot.not;
+
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.ws.rs.core.MediaType;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+public class StoreResourceTest {
+
+  @Test
+  public void testCrudStore() {
+    Store store = new Store("REACTIVE_STORE");
+    store.quantityProductsInStock = 4;
+
+    int id =
+        given()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(store)
+            .when()
+            .post("store")
+            .then()
+            .statusCode(201)
+            .body("name", is("REACTIVE_STORE"), "quantityProductsInStock", is(4))
+            .extract()
+            .path("id");
+
+    store.name = "REACTIVE_STORE_RENAMED";
+    store.quantityProductsInStock = 9;
+    given()
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(store)
+        .when()
+        .put("store/" + id)
+        .then()
+        .statusCode(200)
+        .body("name", is("REACTIVE_STORE_RENAMED"), "quantityProductsInStock", is(9));
+
+    store.name = "REACTIVE_STORE_PATCHED";
+    store.quantityProductsInStock = 2;
+    given()
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(store)
+        .when()
+        .patch("store/" + id)
+        .then()
+        .statusCode(200)
+        .body("name", is("REACTIVE_STORE_PATCHED"), "quantityProductsInStock", is(2));
+
+    given().when().delete("store/" + id).then().statusCode(204);
+
+    given().when().get("store/" + id).then().statusCode(404);
+    given()
+        .when()
+        .get("store")
+        .then()
+        .statusCode(200)
+        .body(not(containsString("REACTIVE_STORE_PATCHED")), containsString("KALLAX"));
+  }
+
+  @Test
+  public void testCreateStoreWithExistingNameConflicts() {
+    given()
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(new Store("KALLAX"))
+        .when()
+        .post("store")
+        .then()
+        .statusCode(409)
+        .body("code", is(409), "error", is("Store with name KALLAX already exists."));
+  }
+
+  @Test
+  public void testUpdateStoreWithoutNameIsRejected() {
+    given()
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(new Store())
+        .when()
+        .put("store/1")
+        .then()
+        .statusCode(422);
+  }
+
+  @Test
+  public void testGetStoreNotFound() {
+    given().when().get("store/999999").then().statusCode(404);
+  }
+}
@@ -0,0 +1,44 @@
+package com.fulfilment.application.monolith.benchmarks;
+
+import java.io.File;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Runs the benchmarks matching {@code jmh.include} once per thread count in {@code jmh.threads},
+ * with the gc profiler for allocation rates. The results of each thread count are written as JSON
+ * to {@code jmh.resultDir}, to compare between builds.
+ */
+public final class BenchmarkRunner {
+
+  private BenchmarkRunner() {}
+
+  public static void main(String[] args) throws RunnerException {
+    File resultDir = new File(System.getProperty("jmh.resultDir", "target/jmh"));
+    resultDir.mkdirs();
+    TimeValue time = TimeValue.fromString(System.getProperty("jmh.time", "2s"));
+
+    for (String threads : System.getProperty("jmh.threads", "1").split(",")) {
+      int threadCount = Integer.parseInt(threads.trim());
+      Options options =
+          new OptionsBuilder()
+              .include(System.getProperty("jmh.include", ".*"))
+              .threads(threadCount)
+              .forks(Integer.getInteger("jmh.forks", 1))
+              .warmupIterations(Integer.getInteger("jmh.warmupIterations", 3))
+              .warmupTime(time)
+              .measurementIterations(Integer.getInteger("jmh.iterations", 5))
+              .measurementTime(time)
+              .addProfiler(GCProfiler.class)
+              .resultFormat(ResultFormatType.JSON)
+              .result(new File(resultDir, "results-" + threadCount + "-threads.json").getPath())
+              .build();
+      new Runner(options).run();
+    }
+  }
+}
@@ -0,0 +1,48 @@
+package com.fulfilment.application.monolith.benchmarks;
+
+import com.fulfilment.application.monolith.warehouses.adapters.database.DbWarehouse;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Mapping {@code warehouseCount} entities to the domain, as every repository read does. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class DbWarehouseBenchmark {
+
+  @Param({"10", "100", "1000"})
+  int warehouseCount;
+
+  private List<DbWarehouse> entities;
+
+  @Setup
+  public void setUp() {
+    entities = new ArrayList<>(warehouseCount);
+    for (int i = 0; i < warehouseCount; i++) {
+      DbWarehouse entity = new DbWarehouse();
+      entity.id = (long) i;
+      entity.businessUnitCode = "MWH." + i;
+      entity.location = "LOC-" + i % 10;
+      entity.capacity = 100;
+      entity.stock = 10;
+      entity.createdAt = LocalDateTime.now();
+      entities.add(entity);
+    }
+  }
+
+  @Benchmark
+  public List<Warehouse> toWarehouse() {
+    return entities.stream().map(DbWarehouse::toWarehouse).toList();
+  }
+}
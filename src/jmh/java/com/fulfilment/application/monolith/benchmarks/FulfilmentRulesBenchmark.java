@@ -0,0 +1,95 @@
+package com.fulfilment.application.monolith.benchmarks;
+
+import com.fulfilment.application.monolith.products.Product;
+import com.fulfilment.application.monolith.warehouses.adapters.database.DbWarehouse;
+import com.fulfilment.application.monolith.warehouses.adapters.database.FulfilmentRules;
+import com.fulfilment.application.monolith.warehouses.adapters.database.StoreWarehouseProduct;
+import com.fulfilment.application.monolith.warehouses.domain.models.RuleViolationException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * The fulfilment rules over {@code assignmentCount} existing assignments per rule, as loaded by
+ * {@code FulfilmentAssignmentService}, without the queries. Each list is filled up to its limit,
+ * so an assignment passes when it reuses a warehouse and product, and is rejected when it does not.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class FulfilmentRulesBenchmark {
+
+  @Param({"5", "50", "500"})
+  int assignmentCount;
+
+  private List<StoreWarehouseProduct> forStoreAndProduct;
+
+  private List<StoreWarehouseProduct> forStore;
+
+  private List<StoreWarehouseProduct> forWarehouse;
+
+  private DbWarehouse knownWarehouse;
+
+  private DbWarehouse newWarehouse;
+
+  private Product knownProduct;
+
+  @Setup
+  public void setUp() {
+    forStoreAndProduct = assignments(FulfilmentRules.MAX_WAREHOUSES_PER_STORE_PRODUCT, 1);
+    forStore = assignments(FulfilmentRules.MAX_WAREHOUSES_PER_STORE, 1);
+    forWarehouse = assignments(1, FulfilmentRules.MAX_PRODUCTS_PER_WAREHOUSE);
+    knownWarehouse = warehouse(0);
+    newWarehouse = warehouse(Long.MAX_VALUE);
+    knownProduct = product(0);
+  }
+
+  private List<StoreWarehouseProduct> assignments(int warehouses, int products) {
+    List<StoreWarehouseProduct> assignments = new ArrayList<>(assignmentCount);
+    for (int i = 0; i < assignmentCount; i++) {
+      StoreWarehouseProduct assignment = new StoreWarehouseProduct();
+      assignment.id = (long) i;
+      assignment.warehouse = warehouse(i % warehouses);
+      assignment.product = product(i % products);
+      assignments.add(assignment);
+    }
+    return assignments;
+  }
+
+  private static DbWarehouse warehouse(long id) {
+    DbWarehouse warehouse = new DbWarehouse();
+    warehouse.id = id;
+    return warehouse;
+  }
+
+  private static Product product(long id) {
+    Product product = new Product();
+    product.id = id;
+    return product;
+  }
+
+  @Benchmark
+  public void allowed() {
+    FulfilmentRules.checkWarehousesPerStoreProduct(forStoreAndProduct, knownWarehouse);
+    FulfilmentRules.checkWarehousesPerStore(forStore, knownWarehouse);
+    FulfilmentRules.checkProductsPerWarehouse(forWarehouse, knownProduct);
+  }
+
+  @Benchmark
+  public RuleViolationException rejected() {
+    try {
+      FulfilmentRules.checkWarehousesPerStoreProduct(forStoreAndProduct, newWarehouse);
+      throw new IllegalStateException("A third warehouse was allowed for a store and product");
+    } catch (RuleViolationException e) {
+      return e;
+    }
+  }
+}
@@ -0,0 +1,29 @@
+package com.fulfilment.application.monolith.benchmarks;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.Location;
+import com.fulfilment.application.monolith.warehouses.domain.ports.LocationResolver;
+import java.util.HashMap;
+import java.util.Map;
+
+/** Resolves {@code count} generated locations, {@code LOC-0} to {@code LOC-<count - 1>}. */
+class InMemoryLocationResolver implements LocationResolver {
+
+  private final Map<String, Location> locations = new HashMap<>();
+
+  InMemoryLocationResolver(int count, int maxNumberOfWarehouses, int maxCapacity) {
+    for (int i = 0; i < count; i++) {
+      String identification = identification(i);
+      locations.put(
+          identification, new Location(identification, maxNumberOfWarehouses, maxCapacity));
+    }
+  }
+
+  static String identification(int index) {
+    return "LOC-" + index;
+  }
+
+  @Override
+  public Location resolveByIdentifier(String identifier) {
+    return locations.get(identifier);
+  }
+}
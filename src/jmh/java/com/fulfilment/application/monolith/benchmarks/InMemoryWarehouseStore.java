@@ -0,0 +1,67 @@
+package com.fulfilment.application.monolith.benchmarks;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the active warehouses by business unit code, like the database does with the archivedAt
+ * condition. Not thread safe: every benchmark thread gets its own.
+ */
+class InMemoryWarehouseStore implements WarehouseStore {
+
+  private final Map<String, Warehouse> active = new HashMap<>();
+
+  @Override
+  public List<Warehouse> getAll() {
+    List<Warehouse> warehouses = new ArrayList<>(active.size());
+    for (Warehouse warehouse : active.values()) {
+      warehouses.add(copy(warehouse));
+    }
+    return warehouses;
+  }
+
+  @Override
+  public void create(Warehouse warehouse) {
+    active.put(warehouse.businessUnitCode, copy(warehouse));
+  }
+
+  @Override
+  public void update(Warehouse warehouse) {
+    if (warehouse.archivedAt != null) {
+      active.remove(warehouse.businessUnitCode);
+    } else {
+      active.put(warehouse.businessUnitCode, copy(warehouse));
+    }
+  }
+
+  @Override
+  public void remove(Warehouse warehouse) {
+    active.remove(warehouse.businessUnitCode);
+  }
+
+  @Override
+  public Warehouse findByBusinessUnitCode(String buCode) {
+    Warehouse warehouse = active.get(buCode);
+    return warehouse != null ? copy(warehouse) : null;
+  }
+
+  int size() {
+    return active.size();
+  }
+
+  // the database adapter hands out fresh objects too
+  private static Warehouse copy(Warehouse warehouse) {
+    Warehouse copy = new Warehouse();
+    copy.businessUnitCode = warehouse.businessUnitCode;
+    copy.location = warehouse.location;
+    copy.capacity = warehouse.capacity;
+    copy.stock = warehouse.stock;
+    copy.createdAt = warehouse.createdAt;
+    copy.archivedAt = warehouse.archivedAt;
+    return copy;
+  }
+}
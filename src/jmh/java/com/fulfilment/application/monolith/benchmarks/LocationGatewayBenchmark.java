@@ -0,0 +1,29 @@
+package com.fulfilment.application.monolith.benchmarks;
+
+import com.fulfilment.application.monolith.location.LocationGateway;
+import com.fulfilment.application.monolith.warehouses.domain.models.Location;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/** Location lookups for the first and last known location, and for an unknown one. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class LocationGatewayBenchmark {
+
+  @Param({"ZWOLLE-001", "HAGUE-UPDATED", "UNKNOWN-001"})
+  String identifier;
+
+  private final LocationGateway locationGateway = new LocationGateway();
+
+  @Benchmark
+  public Location resolveByIdentifier() {
+    return locationGateway.resolveByIdentifier(identifier);
+  }
+}
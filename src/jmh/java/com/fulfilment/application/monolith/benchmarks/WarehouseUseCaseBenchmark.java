@@ -0,0 +1,101 @@
+package com.fulfilment.application.monolith.benchmarks;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.RuleViolationException;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.usecases.CreateWarehouseUseCase;
+import com.fulfilment.application.monolith.warehouses.domain.usecases.ReplaceWarehouseUseCase;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Create and replace use cases against an in-memory store of {@code warehouseCount} active
+ * warehouses spread over {@code locationCount} locations. Both scan all active warehouses, so their
+ * cost grows with the warehouse count. The store keeps its size, so iterations stay comparable.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class WarehouseUseCaseBenchmark {
+
+  private static final int CAPACITY = 100;
+
+  private static final int STOCK = 10;
+
+  @Param({"10", "100", "1000"})
+  int warehouseCount;
+
+  @Param({"1", "10", "100"})
+  int locationCount;
+
+  private InMemoryWarehouseStore store;
+
+  private CreateWarehouseUseCase createWarehouseUseCase;
+
+  private ReplaceWarehouseUseCase replaceWarehouseUseCase;
+
+  private long sequence;
+
+  @Setup
+  public void setUp() {
+    // room for one more warehouse per location, and no capacity limit to run into
+    int perLocation = (warehouseCount + locationCount - 1) / locationCount;
+    InMemoryLocationResolver locations =
+        new InMemoryLocationResolver(locationCount, perLocation + 1, Integer.MAX_VALUE);
+
+    store = new InMemoryWarehouseStore();
+    for (int i = 0; i < warehouseCount; i++) {
+      store.create(warehouse(existingCode(i), i));
+    }
+    createWarehouseUseCase = new CreateWarehouseUseCase(store, locations);
+    replaceWarehouseUseCase = new ReplaceWarehouseUseCase(store, locations);
+  }
+
+  private static String existingCode(int index) {
+    return "MWH." + index;
+  }
+
+  private Warehouse warehouse(String businessUnitCode, long index) {
+    Warehouse warehouse = new Warehouse();
+    warehouse.businessUnitCode = businessUnitCode;
+    warehouse.location = InMemoryLocationResolver.identification((int) (index % locationCount));
+    warehouse.capacity = CAPACITY;
+    warehouse.stock = STOCK;
+    return warehouse;
+  }
+
+  @Benchmark
+  public Warehouse create() {
+    Warehouse warehouse = warehouse("NEW." + sequence, sequence++);
+    createWarehouseUseCase.create(warehouse);
+    store.remove(warehouse);
+    return warehouse;
+  }
+
+  @Benchmark
+  public Warehouse replace() {
+    int index = (int) (sequence++ % warehouseCount);
+    Warehouse warehouse = warehouse(existingCode(index), index);
+    replaceWarehouseUseCase.replace(warehouse);
+    return warehouse;
+  }
+
+  /** The cost of a request failing validation, exception included. */
+  @Benchmark
+  public RuleViolationException createWithUnknownLocation() {
+    Warehouse warehouse = warehouse("NEW." + sequence++, 0);
+    warehouse.location = "NOWHERE";
+    try {
+      createWarehouseUseCase.create(warehouse);
+      throw new IllegalStateException("An unknown location was accepted");
+    } catch (RuleViolationException e) {
+      return e;
+    }
+  }
+}
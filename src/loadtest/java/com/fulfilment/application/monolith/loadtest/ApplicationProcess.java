@@ -0,0 +1,127 @@
+package com.fulfilment.application.monolith.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The packaged application in its own process, on a free port, so the load generator does not
+ * share its heap or CPU accounting: {@code quarkus-run.jar} in a JVM, or the native executable.
+ * Its output goes to the given log file.
+ */
+final class ApplicationProcess implements AutoCloseable {
+
+  private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+  final URI baseUri;
+
+  private final Process process;
+
+  private ApplicationProcess(URI baseUri, Process process) {
+    this.baseUri = baseUri;
+    this.process = process;
+  }
+
+  /** Starts {@code executable}, a {@code .jar} or a native executable, and waits until ready. */
+  static ApplicationProcess start(File executable, LoadTestDatabase database, Path logFile)
+      throws IOException, InterruptedException {
+    return start(executable, database, logFile, Map.of());
+  }
+
+  /** As {@link #start(File, LoadTestDatabase, Path)}, with the given configuration properties. */
+  static ApplicationProcess start(
+      File executable, LoadTestDatabase database, Path logFile, Map<String, String> properties)
+      throws IOException, InterruptedException {
+    if (!executable.isFile()) {
+      throw new IllegalStateException(
+          executable + " does not exist, package the application first");
+    }
+    boolean jar = executable.getName().endsWith(".jar");
+    int port = freePort();
+    List<String> command = new ArrayList<>();
+    command.add(
+        jar
+            ? Path.of(System.getProperty("java.home"), "bin", "java").toString()
+            : executable.getPath());
+    command.add("-Dquarkus.http.port=" + port);
+    command.add("-Dquarkus.datasource.jdbc.url=" + database.jdbcUrl);
+    command.add("-Dquarkus.datasource.username=" + database.username);
+    command.add("-Dquarkus.datasource.password=" + database.password);
+    // the SQL log and span export would measure the console and a missing collector
+    command.add("-Dquarkus.hibernate-orm.log.sql=false");
+    command.add("-Dquarkus.otel.sdk.disabled=true");
+    // every request comes from one client, which the per-client rate limits would throttle
+    command.add("-Drate-limit.enabled=false");
+    properties.forEach((name, value) -> command.add("-D" + name + "=" + value));
+    if (jar) {
+      command.add("-jar");
+      command.add(executable.getPath());
+    }
+    Process process =
+        new ProcessBuilder(command)
+            .redirectErrorStream(true)
+            .redirectOutput(logFile.toFile())
+            .start();
+
+    ApplicationProcess application =
+        new ApplicationProcess(URI.create("http://localhost:" + port + "/"), process);
+    try {
+      application.awaitReady();
+    } catch (IOException | InterruptedException | RuntimeException e) {
+      application.close();
+      throw e;
+    }
+    return application;
+  }
+
+  private static int freePort() throws IOException {
+    try (ServerSocket socket = new ServerSocket(0)) {
+      return socket.getLocalPort();
+    }
+  }
+
+  private void awaitReady() throws IOException, InterruptedException {
+    HttpClient client = HttpClient.newHttpClient();
+    HttpRequest request =
+        HttpRequest.newBuilder(baseUri.resolve("store")).timeout(Duration.ofSeconds(5)).build();
+    long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+    while (System.nanoTime() < deadline) {
+      if (!process.isAlive()) {
+        throw new IllegalStateException(
+            "The application exited with " + process.exitValue() + ", see its log");
+      }
+      try {
+        if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+          return;
+        }
+      } catch (IOException e) {
+        // not listening yet
+      }
+      // short, as the startup benchmark measures up to the first answered request
+      Thread.sleep(5);
+    }
+    throw new IllegalStateException("The application did not start within " + STARTUP_TIMEOUT);
+  }
+
+  long pid() {
+    return process.pid();
+  }
+
+  @Override
+  public void close() throws InterruptedException {
+    process.destroy();
+    if (!process.waitFor(30, TimeUnit.SECONDS)) {
+      process.destroyForcibly();
+    }
+  }
+}
@@ -0,0 +1,325 @@
+package com.fulfilment.application.monolith.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Boots the packaged application against a local PostgreSQL, seeds it, and drives the traffic mix
+ * of {@code loadtest.mix} at {@code loadtest.rate} requests per second. Prints the latency
+ * percentiles per operation and writes them to {@code loadtest.report-dir}: an HdrHistogram
+ * percentile distribution per operation, and {@code summary.json} to diff between builds. With
+ * several {@code loadtest.legacy-sync-modes}, or the {@code reactive} stack next to the {@code
+ * blocking} one in {@code loadtest.stacks}, the whole run is repeated on a fresh application per
+ * deployment, each reporting into its own directory, and the deployments are compared in {@code
+ * comparison.json}.
+ */
+public final class LoadTest {
+
+  private LoadTest() {}
+
+  public static void main(String[] args) throws Exception {
+    double rate = Double.parseDouble(System.getProperty("loadtest.rate", "200"));
+    Duration warmup = Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 5));
+    Duration duration = Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 30));
+    Duration requestTimeout =
+        Duration.ofSeconds(Long.getLong("loadtest.request-timeout-seconds", 10));
+    int stores = Integer.getInteger("loadtest.stores", 1000);
+    int products = Integer.getInteger("loadtest.products", 1000);
+    int warehouses = Integer.getInteger("loadtest.warehouses", 25);
+    TrafficMix mix =
+        TrafficMix.parse(
+            System.getProperty(
+                "loadtest.mix",
+                "store-read=25,store-list=5,store-create=5,product-read=25,product-list=5,"
+                    + "product-create=5,warehouse-read=25,warehouse-list=5"));
+    File runJar =
+        new File(System.getProperty("loadtest.run-jar", "target/quarkus-app/quarkus-run.jar"));
+    Path reportDir = Path.of(System.getProperty("loadtest.report-dir", "target/loadtest"));
+    Files.createDirectories(reportDir);
+
+    List<String> legacySyncModes =
+        List.of(System.getProperty("loadtest.legacy-sync-modes", "blocking").split(","));
+    long legacyLatencyMillis = Long.getLong("loadtest.legacy-latency-ms", 0);
+    List<String> stacks = List.of(System.getProperty("loadtest.stacks", "blocking").split(","));
+    File reactiveRunJar =
+        new File(
+            System.getProperty(
+                "loadtest.reactive-run-jar", "reactive/target/quarkus-app/quarkus-run.jar"));
+
+    if (stacks.stream().anyMatch(stack -> stack.trim().equals("reactive"))
+        && (mix.weights.containsKey(Operation.WAREHOUSE_READ)
+            || mix.weights.containsKey(Operation.WAREHOUSE_LIST))) {
+      throw new IllegalArgumentException(
+          "The reactive stack has no warehouses, leave them out of loadtest.mix");
+    }
+
+    ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    HttpClient client =
+        HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(OpenModelDriver.clientExecutor())
+            .build();
+
+    Map<String, ObjectNode> summaries = new LinkedHashMap<>();
+    try (LoadTestDatabase database = LoadTestDatabase.start()) {
+      List<Deployment> deployments = new ArrayList<>();
+      for (String stack : stacks) {
+        switch (stack.trim()) {
+          case "blocking" -> {
+            for (String legacySyncMode : legacySyncModes) {
+              String mode = legacySyncMode.trim();
+              deployments.add(
+                  new Deployment(
+                      mode,
+                      "Legacy store sync " + mode,
+                      runJar,
+                      Map.of(
+                          "store.legacy-sync.mode",
+                          mode,
+                          "legacy-store-manager.latency",
+                          legacyLatencyMillis + "ms"),
+                      warehouses));
+            }
+          }
+          case "reactive" ->
+              deployments.add(
+                  new Deployment(
+                      "reactive",
+                      "Reactive store and product resources",
+                      reactiveRunJar,
+                      Map.of(
+                          // the same database, through the URI of the reactive client
+                          "quarkus.datasource.reactive.url",
+                          database.jdbcUrl.substring("jdbc:".length()),
+                          "legacy-store-manager.latency",
+                          legacyLatencyMillis + "ms"),
+                      null));
+          default ->
+              throw new IllegalArgumentException(
+                  "Unknown stack " + stack + ", expected blocking or reactive");
+        }
+      }
+
+      for (Deployment deployment : deployments) {
+        // one deployment reports into the report directory itself, several each into their own
+        Path deploymentReportDir =
+            deployments.size() == 1 ? reportDir : reportDir.resolve(deployment.name);
+        Files.createDirectories(deploymentReportDir);
+        System.out.printf(
+            "%s, legacy system latency %d ms%n", deployment.description, legacyLatencyMillis);
+
+        try (ApplicationProcess application =
+            ApplicationProcess.start(
+                deployment.runJar,
+                database,
+                deploymentReportDir.resolve("app.log"),
+                deployment.properties)) {
+          ObjectNode summary =
+              run(
+                  client,
+                  application,
+                  mapper,
+                  deploymentReportDir,
+                  mix,
+                  rate,
+                  warmup,
+                  duration,
+                  requestTimeout,
+                  stores,
+                  products,
+                  deployment.warehouses);
+          summary.put("deployment", deployment.name);
+          if (deployment.properties.containsKey("store.legacy-sync.mode")) {
+            summary.put("legacySyncMode", deployment.name);
+          }
+          summary.put("legacyLatencyMillis", legacyLatencyMillis);
+          mapper.writeValue(deploymentReportDir.resolve("summary.json").toFile(), summary);
+          summaries.put(deployment.name, summary);
+        }
+      }
+    }
+
+    if (summaries.size() > 1) {
+      compare(summaries, mapper, reportDir);
+    }
+    System.out.println("Reports written to " + reportDir.toAbsolutePath());
+  }
+
+  private static ObjectNode run(
+      HttpClient client,
+      ApplicationProcess application,
+      ObjectMapper mapper,
+      Path reportDir,
+      TrafficMix mix,
+      double rate,
+      Duration warmup,
+      Duration duration,
+      Duration requestTimeout,
+      int stores,
+      int products,
+      Integer warehouses)
+      throws IOException, InterruptedException {
+    Seeder seeder = new Seeder(client, application.baseUri, mapper);
+    Operation.SeededData data =
+        new Operation.SeededData(
+            seeder.seedStores(stores),
+            seeder.seedProducts(products),
+            // a deployment without warehouses has none to read, not even those of import.sql
+            warehouses != null ? seeder.seedWarehouses(warehouses) : List.of());
+    System.out.printf(
+        "Seeded %d stores, %d products and %d warehouses; driving %.0f requests/s for %s"
+            + " after %s of warmup, on %s threads%n",
+        data.storeIds.size(),
+        data.productIds.size(),
+        data.warehouseIds.size(),
+        rate,
+        duration,
+        warmup,
+        OpenModelDriver.virtualThreads() ? "virtual" : "platform");
+
+    Map<Operation, OpenModelDriver.OperationStats> stats =
+        new OpenModelDriver(client, application.baseUri, data, requestTimeout)
+            .run(mix, rate, warmup, duration);
+
+    ObjectNode summary = mapper.createObjectNode();
+    summary.put("rate", rate);
+    summary.put("warmupSeconds", warmup.toSeconds());
+    summary.put("durationSeconds", duration.toSeconds());
+    summary.put("virtualThreads", OpenModelDriver.virtualThreads());
+    summary
+        .putObject("seeded")
+        .put("stores", data.storeIds.size())
+        .put("products", data.productIds.size())
+        .put("warehouses", data.warehouseIds.size());
+    ObjectNode weights = summary.putObject("mix");
+    mix.weights.forEach((operation, weight) -> weights.put(operation.id, weight));
+
+    ObjectNode operations = summary.putObject("operations");
+    Histogram total = new Histogram(3);
+    long totalErrors = 0;
+    printHeader("operation");
+    for (Map.Entry<Operation, OpenModelDriver.OperationStats> entry : stats.entrySet()) {
+      Histogram latencies = entry.getValue().latencyMicros;
+      long errors = entry.getValue().errors.sum();
+      total.add(latencies);
+      totalErrors += errors;
+      print(entry.getKey().id, latencies, errors);
+      put(operations.putObject(entry.getKey().id), latencies, errors);
+      writePercentiles(reportDir.resolve(entry.getKey().id + ".hgrm"), latencies);
+    }
+    print("total", total, totalErrors);
+    put(summary.putObject("total"), total, totalErrors);
+    summary.put("achievedRate", total.getTotalCount() / (double) duration.toSeconds());
+    writePercentiles(reportDir.resolve("total.hgrm"), total);
+    return summary;
+  }
+
+  /**
+   * Prints the operations of every deployment next to each other, and writes them to {@code
+   * comparison.json}.
+   */
+  private static void compare(
+      Map<String, ObjectNode> summaries, ObjectMapper mapper, Path reportDir) throws IOException {
+    ObjectNode comparison = mapper.createObjectNode();
+    System.out.printf("%nDeployments compared%n%-10s ", "deployment");
+    printHeader("operation");
+    for (Map.Entry<String, ObjectNode> summary : summaries.entrySet()) {
+      ObjectNode operations = comparison.putObject(summary.getKey());
+      operations.setAll((ObjectNode) summary.getValue().get("operations"));
+      operations.set("total", summary.getValue().get("total"));
+      Iterator<Map.Entry<String, JsonNode>> rows = operations.fields();
+      while (rows.hasNext()) {
+        Map.Entry<String, JsonNode> row = rows.next();
+        System.out.printf(
+            "%-10s %-16s %8d %7d %10.2f %10.2f %10.2f %10.2f%n",
+            summary.getKey(),
+            row.getKey(),
+            row.getValue().get("count").asLong(),
+            row.getValue().get("errors").asLong(),
+            row.getValue().get("p50Micros").asLong() / 1000.0,
+            row.getValue().get("p99Micros").asLong() / 1000.0,
+            row.getValue().get("p999Micros").asLong() / 1000.0,
+            row.getValue().get("maxMicros").asLong() / 1000.0);
+      }
+    }
+    mapper.writeValue(reportDir.resolve("comparison.json").toFile(), comparison);
+  }
+
+  private static void printHeader(String first) {
+    System.out.printf(
+        "%-16s %8s %7s %10s %10s %10s %10s%n",
+        first, "count", "errors", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+  }
+
+  private static void print(String name, Histogram latencies, long errors) {
+    System.out.printf(
+        "%-16s %8d %7d %10.2f %10.2f %10.2f %10.2f%n",
+        name,
+        latencies.getTotalCount(),
+        errors,
+        latencies.getValueAtPercentile(50) / 1000.0,
+        latencies.getValueAtPercentile(99) / 1000.0,
+        latencies.getValueAtPercentile(99.9) / 1000.0,
+        latencies.getMaxValue() / 1000.0);
+  }
+
+  private static void put(ObjectNode node, Histogram latencies, long errors) {
+    node.put("count", latencies.getTotalCount());
+    node.put("errors", errors);
+    node.put("p50Micros", latencies.getValueAtPercentile(50));
+    node.put("p99Micros", latencies.getValueAtPercentile(99));
+    node.put("p999Micros", latencies.getValueAtPercentile(99.9));
+    node.put("maxMicros", latencies.getMaxValue());
+    node.put("meanMicros", Math.round(latencies.getMean()));
+  }
+
+  /** The HdrHistogram percentile distribution in milliseconds, for plotting or merging. */
+  private static void writePercentiles(Path file, Histogram latencies) throws IOException {
+    try (PrintStream out = new PrintStream(file.toFile())) {
+      latencies.outputPercentileDistribution(out, 1000.0);
+    }
+  }
+
+  /** An application to load test: a legacy sync mode of this one, or the reactive one. */
+  private static final class Deployment {
+
+    final String name;
+
+    final String description;
+
+    final File runJar;
+
+    final Map<String, String> properties;
+
+    // null for a deployment without warehouses
+    final Integer warehouses;
+
+    Deployment(
+        String name,
+        String description,
+        File runJar,
+        Map<String, String> properties,
+        Integer warehouses) {
+      this.name = name;
+      this.description = description;
+      this.runJar = runJar;
+      this.properties = properties;
+      this.warehouses = warehouses;
+    }
+  }
+}
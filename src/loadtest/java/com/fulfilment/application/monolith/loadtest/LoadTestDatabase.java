@@ -0,0 +1,49 @@
+package com.fulfilment.application.monolith.loadtest;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import java.io.IOException;
+
+/**
+ * The PostgreSQL the application under load runs against: an embedded server started for the run,
+ * or the database of {@code loadtest.jdbc-url} when one is given. The application recreates its
+ * schema on start, so an existing database loses its data.
+ */
+final class LoadTestDatabase implements AutoCloseable {
+
+  final String jdbcUrl;
+
+  final String username;
+
+  final String password;
+
+  private final EmbeddedPostgres embedded;
+
+  private LoadTestDatabase(
+      String jdbcUrl, String username, String password, EmbeddedPostgres embedded) {
+    this.jdbcUrl = jdbcUrl;
+    this.username = username;
+    this.password = password;
+    this.embedded = embedded;
+  }
+
+  static LoadTestDatabase start() throws IOException {
+    String jdbcUrl = System.getProperty("loadtest.jdbc-url", "");
+    if (!jdbcUrl.isBlank()) {
+      return new LoadTestDatabase(
+          jdbcUrl,
+          System.getProperty("loadtest.jdbc-username", "quarkus_test"),
+          System.getProperty("loadtest.jdbc-password", "quarkus_test"),
+          null);
+    }
+    EmbeddedPostgres embedded = EmbeddedPostgres.builder().start();
+    return new LoadTestDatabase(
+        embedded.getJdbcUrl("postgres", "postgres"), "postgres", "postgres", embedded);
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (embedded != null) {
+      embedded.close();
+    }
+  }
+}
@@ -0,0 +1,138 @@
+package com.fulfilment.application.monolith.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import org.HdrHistogram.ConcurrentHistogram;
+
+/**
+ * Drives an open model: requests arrive at a constant rate whatever the latency of the ones before,
+ * each on its own client thread. Latency is measured from the time a request was due rather than
+ * the time it was sent, so a stalled server or generator shows up in the tail instead of being
+ * hidden by fewer requests (coordinated omission). Requests due in the warmup are sent but not
+ * recorded.
+ */
+final class OpenModelDriver {
+
+  /** Latencies above this are recorded as this, in microseconds. */
+  private static final long HIGHEST_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+  private final HttpClient client;
+
+  private final URI baseUri;
+
+  private final Operation.SeededData data;
+
+  private final Duration requestTimeout;
+
+  OpenModelDriver(
+      HttpClient client, URI baseUri, Operation.SeededData data, Duration requestTimeout) {
+    this.client = client;
+    this.baseUri = baseUri;
+    this.data = data;
+    this.requestTimeout = requestTimeout;
+  }
+
+  /** Latencies and errors of one operation. */
+  static final class OperationStats {
+
+    final ConcurrentHistogram latencyMicros = new ConcurrentHistogram(HIGHEST_LATENCY_MICROS, 3);
+
+    final LongAdder errors = new LongAdder();
+  }
+
+  Map<Operation, OperationStats> run(
+      TrafficMix mix, double ratePerSecond, Duration warmup, Duration duration)
+      throws InterruptedException {
+    Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+    for (Operation operation : mix.weights.keySet()) {
+      stats.put(operation, new OperationStats());
+    }
+
+    ExecutorService clients = clientExecutor();
+    double intervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+    long start = System.nanoTime();
+    long measuredFrom = start + warmup.toNanos();
+    long end = measuredFrom + duration.toNanos();
+    try {
+      for (long sequence = 0; ; sequence++) {
+        long due = start + (long) (sequence * intervalNanos);
+        if (due >= end) {
+          break;
+        }
+        long wait;
+        while ((wait = due - System.nanoTime()) > 0) {
+          LockSupport.parkNanos(wait);
+        }
+        Operation operation = mix.next();
+        OperationStats operationStats = due >= measuredFrom ? stats.get(operation) : null;
+        long arrival = sequence;
+        clients.execute(() -> send(operation, arrival, due, operationStats));
+      }
+    } finally {
+      clients.shutdown();
+      clients.awaitTermination(requestTimeout.toSeconds() + 10, TimeUnit.SECONDS);
+    }
+    return stats;
+  }
+
+  private void send(Operation operation, long sequence, long due, OperationStats stats) {
+    boolean failed;
+    try {
+      HttpResponse<Void> response =
+          client.send(
+              operation.request(baseUri, data, sequence).timeout(requestTimeout).build(),
+              HttpResponse.BodyHandlers.discarding());
+      failed = response.statusCode() / 100 != 2;
+    } catch (IOException e) {
+      failed = true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return;
+    }
+    if (stats != null) {
+      long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - due);
+      stats.latencyMicros.recordValue(Math.min(micros, HIGHEST_LATENCY_MICROS));
+      if (failed) {
+        stats.errors.increment();
+      }
+    }
+  }
+
+  /**
+   * A virtual thread per request where the runtime has them (Java 21+), so thousands of requests
+   * in flight cost no more than their sockets; otherwise an unbounded pool of platform threads.
+   * Looked up reflectively as the build targets Java 17.
+   */
+  static ExecutorService clientExecutor() {
+    try {
+      return (ExecutorService)
+          Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    } catch (ReflectiveOperationException e) {
+      return Executors.newCachedThreadPool(
+          runnable -> {
+            Thread thread = new Thread(runnable, "loadtest-client");
+            thread.setDaemon(true);
+            return thread;
+          });
+    }
+  }
+
+  static boolean virtualThreads() {
+    try {
+      Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+      return true;
+    } catch (NoSuchMethodException e) {
+      return false;
+    }
+  }
+}
@@ -0,0 +1,124 @@
+package com.fulfilment.application.monolith.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The requests of a traffic mix. Reads pick a random seeded row, creates use a name unique to the
+ * run so they never conflict.
+ */
+enum Operation {
+  STORE_READ("store-read") {
+    @Override
+    HttpRequest.Builder request(URI baseUri, SeededData data, long sequence) {
+      return get(baseUri, "store/" + pick(data.storeIds));
+    }
+  },
+  STORE_LIST("store-list") {
+    @Override
+    HttpRequest.Builder request(URI baseUri, SeededData data, long sequence) {
+      return get(baseUri, "store");
+    }
+  },
+  STORE_CREATE("store-create") {
+    @Override
+    HttpRequest.Builder request(URI baseUri, SeededData data, long sequence) {
+      return post(
+          baseUri,
+          "store",
+          "{\"name\":\"LOAD-STORE-R" + sequence + "\",\"quantityProductsInStock\":1}");
+    }
+  },
+  STORE_UPDATE("store-update") {
+    @Override
+    HttpRequest.Builder request(URI baseUri, SeededData data, long sequence) {
+      return HttpRequest.newBuilder(baseUri.resolve("store/" + pick(data.storeIds)))
+          .header("Content-Type", "application/json")
+          .PUT(
+              HttpRequest.BodyPublishers.ofString(
+                  "{\"name\":\"LOAD-STORE-U" + sequence + "\",\"quantityProductsInStock\":2}"));
+    }
+  },
+  PRODUCT_READ("product-read") {
+    @Override
+    HttpRequest.Builder request(URI baseUri, SeededData data, long sequence) {
+      return get(baseUri, "product/" + pick(data.productIds));
+    }
+  },
+  PRODUCT_LIST("product-list") {
+    @Override
+    HttpRequest.Builder request(URI baseUri, SeededData data, long sequence) {
+      return get(baseUri, "product");
+    }
+  },
+  PRODUCT_CREATE("product-create") {
+    @Override
+    HttpRequest.Builder request(URI baseUri, SeededData data, long sequence) {
+      return post(
+          baseUri, "product", "{\"name\":\"LOAD-PRODUCT-R" + sequence + "\",\"stock\":1}");
+    }
+  },
+  WAREHOUSE_READ("warehouse-read") {
+    @Override
+    HttpRequest.Builder request(URI baseUri, SeededData data, long sequence) {
+      return get(baseUri, "warehouse/" + pick(data.warehouseIds));
+    }
+  },
+  WAREHOUSE_LIST("warehouse-list") {
+    @Override
+    HttpRequest.Builder request(URI baseUri, SeededData data, long sequence) {
+      return get(baseUri, "warehouse");
+    }
+  };
+
+  /** The name used in {@code loadtest.mix} and in the reports. */
+  final String id;
+
+  Operation(String id) {
+    this.id = id;
+  }
+
+  /** The request for the {@code sequence}-th arrival of the run. */
+  abstract HttpRequest.Builder request(URI baseUri, SeededData data, long sequence);
+
+  static Operation byId(String id) {
+    for (Operation operation : values()) {
+      if (operation.id.equals(id)) {
+        return operation;
+      }
+    }
+    throw new IllegalArgumentException("Unknown operation " + id);
+  }
+
+  private static long pick(List<Long> ids) {
+    return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+  }
+
+  private static HttpRequest.Builder get(URI baseUri, String path) {
+    return HttpRequest.newBuilder(baseUri.resolve(path)).GET();
+  }
+
+  private static HttpRequest.Builder post(URI baseUri, String path, String json) {
+    return HttpRequest.newBuilder(baseUri.resolve(path))
+        .header("Content-Type", "application/json")
+        .POST(HttpRequest.BodyPublishers.ofString(json));
+  }
+
+  /** The ids of the rows seeded before the run, for the reads to pick from. */
+  static final class SeededData {
+
+    final List<Long> storeIds;
+
+    final List<Long> productIds;
+
+    final List<Long> warehouseIds;
+
+    SeededData(List<Long> storeIds, List<Long> productIds, List<Long> warehouseIds) {
+      this.storeIds = storeIds;
+      this.productIds = productIds;
+      this.warehouseIds = warehouseIds;
+    }
+  }
+}
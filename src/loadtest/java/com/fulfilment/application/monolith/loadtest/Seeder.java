@@ -0,0 +1,176 @@
+package com.fulfilment.application.monolith.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.IntFunction;
+
+/**
+ * Seeds stores, products and warehouses through the REST API, so they go through the same
+ * validation, events and caches as the traffic that follows.
+ */
+final class Seeder {
+
+  /** Requests in flight while seeding, enough to seed thousands of rows in seconds. */
+  private static final int BATCH_SIZE = 32;
+
+  /** Retries of a request shed with a 503 before seeding gives up. */
+  private static final int MAX_RETRIES = 10;
+
+  /** The locations of {@code LocationGateway}, which bound the number of active warehouses. */
+  private static final List<String> LOCATIONS =
+      List.of(
+          "ZWOLLE-001",
+          "ZWOLLE-002",
+          "AMSTERDAM-001",
+          "AMSTERDAM-002",
+          "TILBURG-001",
+          "HELMOND-001",
+          "EINDHOVEN-001",
+          "VETSBY-001",
+          "ROTTERDAM-001",
+          "ROTTERDAM-002",
+          "ROTTERDAM-003",
+          "HAGUE-001",
+          "HAGUE-UPDATED");
+
+  /** Capacity of a seeded warehouse, small enough for every location's total capacity. */
+  private static final int WAREHOUSE_CAPACITY = 10;
+
+  private final HttpClient client;
+
+  private final URI baseUri;
+
+  private final ObjectMapper mapper;
+
+  Seeder(HttpClient client, URI baseUri, ObjectMapper mapper) {
+    this.client = client;
+    this.baseUri = baseUri;
+    this.mapper = mapper;
+  }
+
+  List<Long> seedStores(int count) {
+    return seed(
+        "store",
+        count,
+        i ->
+            mapper
+                .createObjectNode()
+                .put("name", "LOAD-STORE-" + i)
+                .put("quantityProductsInStock", i % 100));
+  }
+
+  List<Long> seedProducts(int count) {
+    return seed(
+        "product",
+        count,
+        i ->
+            mapper
+                .createObjectNode()
+                .put("name", "LOAD-PRODUCT-" + i)
+                .put("description", "Seeded for load tests")
+                .put("price", 1 + i % 100)
+                .put("stock", i % 100));
+  }
+
+  /**
+   * Seeds up to {@code count} warehouses, filling one location after the other until its limits
+   * reject the next one. The locations allow a few dozen active warehouses, so fewer than {@code
+   * count} may be seeded; the ids returned include the warehouses of {@code import.sql}.
+   */
+  List<Long> seedWarehouses(int count) throws IOException, InterruptedException {
+    int seeded = 0;
+    for (String location : LOCATIONS) {
+      while (seeded < count) {
+        ObjectNode warehouse =
+            mapper
+                .createObjectNode()
+                .put("businessUnitCode", "LOAD." + seeded)
+                .put("location", location)
+                .put("capacity", WAREHOUSE_CAPACITY)
+                .put("stock", 0);
+        if (send(post("warehouse", warehouse)).statusCode() / 100 != 2) {
+          break;
+        }
+        seeded++;
+      }
+    }
+    if (seeded < count) {
+      System.out.printf(
+          "Seeded %d of %d warehouses, the locations allow no more%n", seeded, count);
+    }
+
+    HttpResponse<String> response = send(HttpRequest.newBuilder(baseUri.resolve("warehouse")));
+    List<Long> ids = new ArrayList<>();
+    for (JsonNode warehouse : mapper.readTree(response.body())) {
+      ids.add(warehouse.get("id").asLong());
+    }
+    return ids;
+  }
+
+  private List<Long> seed(String path, int count, IntFunction<ObjectNode> body) {
+    List<Long> ids = new ArrayList<>(count);
+    for (int start = 0; start < count; start += BATCH_SIZE) {
+      List<CompletableFuture<HttpResponse<String>>> batch = new ArrayList<>(BATCH_SIZE);
+      for (int i = start; i < Math.min(count, start + BATCH_SIZE); i++) {
+        batch.add(client.sendAsync(post(path, body.apply(i)).build(), bodyHandler()));
+      }
+      for (int i = 0; i < batch.size(); i++) {
+        HttpResponse<String> response = batch.get(i).join();
+        // a shed request is retried, as a client honouring Retry-After would
+        for (int retry = 0; response.statusCode() == 503 && retry < MAX_RETRIES; retry++) {
+          sleep(response);
+          response =
+              client.sendAsync(post(path, body.apply(start + i)).build(), bodyHandler()).join();
+        }
+        if (response.statusCode() != 201) {
+          throw new IllegalStateException(
+              "Seeding " + path + " failed with " + response.statusCode() + ": " + response.body());
+        }
+        ids.add(readId(response.body()));
+      }
+    }
+    return ids;
+  }
+
+  private static void sleep(HttpResponse<String> response) {
+    long seconds = response.headers().firstValueAsLong("Retry-After").orElse(1);
+    try {
+      Thread.sleep(seconds * 1000);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while seeding", e);
+    }
+  }
+
+  private long readId(String body) {
+    try {
+      return mapper.readTree(body).get("id").asLong();
+    } catch (IOException e) {
+      throw new IllegalStateException("Unreadable response " + body, e);
+    }
+  }
+
+  private HttpRequest.Builder post(String path, ObjectNode body) {
+    return HttpRequest.newBuilder(baseUri.resolve(path))
+        .header("Content-Type", "application/json")
+        .POST(HttpRequest.BodyPublishers.ofString(body.toString()));
+  }
+
+  private HttpResponse<String> send(HttpRequest.Builder request)
+      throws IOException, InterruptedException {
+    return client.send(request.build(), bodyHandler());
+  }
+
+  private static HttpResponse.BodyHandler<String> bodyHandler() {
+    return HttpResponse.BodyHandlers.ofString();
+  }
+}
@@ -0,0 +1,101 @@
+package com.fulfilment.application.monolith.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Starts the JVM build ({@code startup.jvm-jar}) and the native build ({@code
+ * startup.native-executable}) {@code startup.runs} times each against a local PostgreSQL, and
+ * records the time from launching the process to the first answered request, and the resident set
+ * size right after it. A build that was not packaged is skipped. Writes {@code summary.json} to
+ * {@code startup.report-dir}.
+ */
+public final class StartupBenchmark {
+
+  private StartupBenchmark() {}
+
+  public static void main(String[] args) throws Exception {
+    int runs = Integer.getInteger("startup.runs", 5);
+    Path reportDir = Path.of(System.getProperty("startup.report-dir", "target/startup"));
+    Files.createDirectories(reportDir);
+    File[] builds = {
+      new File(System.getProperty("startup.jvm-jar", "target/quarkus-app/quarkus-run.jar")),
+      new File(System.getProperty("startup.native-executable", "target/native-runner"))
+    };
+    String[] names = {"jvm", "native"};
+
+    ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    ObjectNode summary = mapper.createObjectNode();
+    summary.put("runs", runs);
+    System.out.printf(
+        "%-8s %22s %22s %14s%n",
+        "build",
+        "first request ms p50",
+        "first request ms max",
+        "RSS MB p50");
+    try (LoadTestDatabase database = LoadTestDatabase.start()) {
+      for (int b = 0; b < builds.length; b++) {
+        if (!builds[b].isFile()) {
+          System.out.printf("%-8s not packaged, %s does not exist%n", names[b], builds[b]);
+          continue;
+        }
+        long[] startupMillis = new long[runs];
+        long[] rssKilobytes = new long[runs];
+        for (int run = 0; run < runs; run++) {
+          long launched = System.nanoTime();
+          try (ApplicationProcess application =
+              ApplicationProcess.start(
+                  builds[b], database, reportDir.resolve(names[b] + "-" + run + ".log"))) {
+            startupMillis[run] = (System.nanoTime() - launched) / 1_000_000;
+            rssKilobytes[run] = residentSetKilobytes(application.pid());
+          }
+        }
+
+        ObjectNode build = summary.putObject(names[b]);
+        build.put("executable", builds[b].getPath());
+        build.put("timeToFirstRequestMillisP50", median(startupMillis));
+        build.put("timeToFirstRequestMillisMax", Arrays.stream(startupMillis).max().getAsLong());
+        build.put("rssKilobytesP50", median(rssKilobytes));
+        ArrayNode samples = build.putArray("samples");
+        for (int run = 0; run < runs; run++) {
+          samples
+              .addObject()
+              .put("timeToFirstRequestMillis", startupMillis[run])
+              .put("rssKilobytes", rssKilobytes[run]);
+        }
+        System.out.printf(
+            "%-8s %22d %22d %14.1f%n",
+            names[b],
+            median(startupMillis),
+            Arrays.stream(startupMillis).max().getAsLong(),
+            median(rssKilobytes) / 1024.0);
+      }
+    }
+    mapper.writeValue(reportDir.resolve("summary.json").toFile(), summary);
+    System.out.println("Summary written to " + reportDir.resolve("summary.json").toAbsolutePath());
+  }
+
+  private static long median(long[] values) {
+    long[] sorted = values.clone();
+    Arrays.sort(sorted);
+    return sorted[sorted.length / 2];
+  }
+
+  /** The resident set size of a process, as {@code ps} reports it on Linux and macOS. */
+  private static long residentSetKilobytes(long pid) throws IOException, InterruptedException {
+    Process ps = new ProcessBuilder("ps", "-o", "rss=", "-p", String.valueOf(pid)).start();
+    String output = new String(ps.getInputStream().readAllBytes(), StandardCharsets.US_ASCII);
+    if (ps.waitFor() != 0) {
+      throw new IllegalStateException("ps could not read the memory of process " + pid);
+    }
+    return Long.parseLong(output.trim());
+  }
+}
@@ -0,0 +1,61 @@
+package com.fulfilment.application.monolith.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Weighted choice between operations, parsed from {@code loadtest.mix} as {@code id=weight} pairs,
+ * for example {@code store-read=60,store-create=40}.
+ */
+final class TrafficMix {
+
+  final Map<Operation, Integer> weights;
+
+  private final Operation[] operations;
+
+  private final int[] cumulativeWeights;
+
+  private TrafficMix(Map<Operation, Integer> weights) {
+    this.weights = weights;
+    this.operations = weights.keySet().toArray(new Operation[0]);
+    this.cumulativeWeights = new int[operations.length];
+    int total = 0;
+    for (int i = 0; i < operations.length; i++) {
+      total += weights.get(operations[i]);
+      cumulativeWeights[i] = total;
+    }
+  }
+
+  static TrafficMix parse(String mix) {
+    Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+    for (String entry : mix.split(",")) {
+      String[] pair = entry.trim().split("=");
+      if (pair.length != 2) {
+        throw new IllegalArgumentException("Expected id=weight in the mix, got " + entry);
+      }
+      int weight = Integer.parseInt(pair[1].trim());
+      if (weight < 0) {
+        throw new IllegalArgumentException("Negative weight in the mix: " + entry);
+      }
+      if (weight > 0) {
+        weights.put(Operation.byId(pair[0].trim()), weight);
+      }
+    }
+    if (weights.isEmpty()) {
+      throw new IllegalArgumentException("The mix has no operations: " + mix);
+    }
+    return new TrafficMix(weights);
+  }
+
+  Operation next() {
+    int ticket =
+        ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+    for (int i = 0; i < cumulativeWeights.length; i++) {
+      if (ticket < cumulativeWeights[i]) {
+        return operations[i];
+      }
+    }
+    throw new IllegalStateException("Ticket " + ticket + " beyond the total weight");
+  }
+}
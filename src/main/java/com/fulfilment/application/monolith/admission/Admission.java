@@ -0,0 +1,17 @@
+package com.fulfilment.application.monolith.admission;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Sets the admission priority of an endpoint, or of every endpoint of a resource, instead of the
+ * one of its HTTP method. See {@link LoadSheddingFilter}.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Admission {
+
+  AdmissionPriority value();
+}
@@ -0,0 +1,11 @@
+package com.fulfilment.application.monolith.admission;
+
+/** How early requests to an endpoint are shed when the connection pool saturates. */
+public enum AdmissionPriority {
+  /** Shed first, from {@code admission.read-pressure}. The default of GET and HEAD endpoints. */
+  READ,
+  /** Shed last, from {@code admission.write-pressure}. The default of the other endpoints. */
+  WRITE,
+  /** Never shed, for endpoints that do not use the database. */
+  EXEMPT
+}
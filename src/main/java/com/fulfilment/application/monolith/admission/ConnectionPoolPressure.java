@@ -0,0 +1,88 @@
+package com.fulfilment.application.monolith.admission;
+
+import io.agroal.api.AgroalDataSource;
+import io.agroal.api.AgroalDataSourceMetrics;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Pressure on the connection pool of the default datasource, from the Agroal pool metrics. 1.0
+ * means every connection is in use, or that acquiring one took {@code admission.target-wait} on
+ * average over the last {@code admission.wait-window}; every further pool's worth of requests
+ * waiting for a connection, or of target wait, adds 1.0. Exported as {@code db.pool.pressure},
+ * next to the {@code agroal_*} gauges of the pool itself.
+ */
+@ApplicationScoped
+public class ConnectionPoolPressure {
+
+  public static final String METRIC = "db.pool.pressure";
+
+  @ConfigProperty(name = "admission.target-wait", defaultValue = "50ms")
+  Duration targetWait;
+
+  @ConfigProperty(name = "admission.wait-window", defaultValue = "1s")
+  Duration waitWindow;
+
+  @Inject AgroalDataSource dataSource;
+
+  @Inject MeterRegistry meterRegistry;
+
+  private final AtomicReference<WaitSample> lastSample =
+      new AtomicReference<>(new WaitSample(System.nanoTime(), 0, 0, 0));
+
+  void onStart(@Observes StartupEvent event) {
+    Gauge.builder(METRIC, this, ConnectionPoolPressure::pressure)
+        .description("Connection pool pressure, 1.0 when every connection is in use")
+        .register(meterRegistry);
+  }
+
+  public double pressure() {
+    AgroalDataSourceMetrics metrics = dataSource.getMetrics();
+    int maxSize = dataSource.getConfiguration().connectionPoolConfiguration().maxSize();
+    double occupancy = (double) (metrics.activeCount() + metrics.awaitingCount()) / maxSize;
+    double waiting = (double) recentWaitNanos(metrics) / targetWait.toNanos();
+    return Math.max(occupancy, waiting);
+  }
+
+  /**
+   * The average time to acquire a connection over the last complete window. The pool only keeps
+   * totals since startup, so they are sampled at most once per window, by whichever request comes
+   * first.
+   */
+  private long recentWaitNanos(AgroalDataSourceMetrics metrics) {
+    WaitSample last = lastSample.get();
+    long now = System.nanoTime();
+    if (now - last.nanos < waitWindow.toNanos()) {
+      return last.recentWaitNanos;
+    }
+    long acquireCount = metrics.acquireCount();
+    long blockingNanos = metrics.blockingTimeTotal().toNanos();
+    long acquisitions = acquireCount - last.acquireCount;
+    long recentWaitNanos =
+        acquisitions > 0 ? (blockingNanos - last.blockingNanos) / acquisitions : 0;
+    lastSample.compareAndSet(
+        last, new WaitSample(now, acquireCount, blockingNanos, recentWaitNanos));
+    return recentWaitNanos;
+  }
+
+  private static final class WaitSample {
+    final long nanos;
+    final long acquireCount;
+    final long blockingNanos;
+    final long recentWaitNanos;
+
+    WaitSample(long nanos, long acquireCount, long blockingNanos, long recentWaitNanos) {
+      this.nanos = nanos;
+      this.acquireCount = acquireCount;
+      this.blockingNanos = blockingNanos;
+      this.recentWaitNanos = recentWaitNanos;
+    }
+  }
+}
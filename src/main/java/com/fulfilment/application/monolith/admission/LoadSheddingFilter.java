@@ -0,0 +1,97 @@
+package com.fulfilment.application.monolith.admission;
+
+import com.fulfilment.application.monolith.errors.ErrorMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.ServiceUnavailableException;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.Provider;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Answers requests with a 503 and Retry-After before the resource method runs, once the {@link
+ * ConnectionPoolPressure} reaches the threshold of the endpoint's {@link AdmissionPriority}, rather
+ * than letting them queue for a connection until they time out. Reads are shed at a lower pressure
+ * than writes; {@link Admission} overrides the priority of an endpoint. Shed requests are counted
+ * in {@code http.server.requests.shed}, tagged with their priority.
+ */
+@Provider
+public class LoadSheddingFilter implements ContainerRequestFilter {
+
+  public static final String METRIC = "http.server.requests.shed";
+
+  static final String MESSAGE = "The service is overloaded, retry later.";
+
+  private static final String BODY =
+      ErrorMapper.body(ServiceUnavailableException.class, 503, MESSAGE);
+
+  @ConfigProperty(name = "admission.enabled", defaultValue = "true")
+  boolean enabled;
+
+  @ConfigProperty(name = "admission.read-pressure", defaultValue = "1.25")
+  double readPressure;
+
+  @ConfigProperty(name = "admission.write-pressure", defaultValue = "2.0")
+  double writePressure;
+
+  @ConfigProperty(name = "admission.retry-after", defaultValue = "1s")
+  Duration retryAfter;
+
+  @Inject ConnectionPoolPressure poolPressure;
+
+  @Inject MeterRegistry meterRegistry;
+
+  @Context ResourceInfo resourceInfo;
+
+  private final Map<Method, AdmissionPriority> priorities = new ConcurrentHashMap<>();
+
+  @Override
+  public void filter(ContainerRequestContext request) {
+    Method method = resourceInfo.getResourceMethod();
+    if (!enabled || method == null) {
+      return;
+    }
+    AdmissionPriority priority =
+        priorities.computeIfAbsent(method, m -> priority(m, request.getMethod()));
+    if (priority == AdmissionPriority.EXEMPT) {
+      return;
+    }
+
+    double threshold = priority == AdmissionPriority.READ ? readPressure : writePressure;
+    if (poolPressure.pressure() < threshold) {
+      return;
+    }
+    meterRegistry.counter(METRIC, "priority", priority.name().toLowerCase(Locale.ROOT)).increment();
+    request.abortWith(
+        Response.status(Response.Status.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, Math.max(1, retryAfter.toSeconds()))
+            .type(MediaType.APPLICATION_JSON_TYPE)
+            .entity(BODY)
+            .build());
+  }
+
+  private AdmissionPriority priority(Method method, String httpMethod) {
+    Admission admission = method.getAnnotation(Admission.class);
+    if (admission == null) {
+      admission = resourceInfo.getResourceClass().getAnnotation(Admission.class);
+    }
+    if (admission != null) {
+      return admission.value();
+    }
+    return HttpMethod.GET.equals(httpMethod) || HttpMethod.HEAD.equals(httpMethod)
+        ? AdmissionPriority.READ
+        : AdmissionPriority.WRITE;
+  }
+}
@@ -0,0 +1,36 @@
+package com.fulfilment.application.monolith.alerts;
+
+import java.time.Instant;
+
+/** Raised when an item's stock drops below its threshold, and again when it recovers. */
+public class LowStockAlert {
+
+  public enum Kind {
+    LOW,
+    RECOVERED
+  }
+
+  public Kind kind;
+
+  // as in ChangeEvent: store, product or warehouse
+  public String entityType;
+
+  public String entityId;
+
+  public int stock;
+
+  public int threshold;
+
+  public Instant at;
+
+  public LowStockAlert() {}
+
+  LowStockAlert(Kind kind, String entityType, String entityId, int stock, int threshold) {
+    this.kind = kind;
+    this.entityType = entityType;
+    this.entityId = entityId;
+    this.stock = stock;
+    this.threshold = threshold;
+    this.at = Instant.now();
+  }
+}
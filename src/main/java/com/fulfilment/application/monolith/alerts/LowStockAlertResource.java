@@ -0,0 +1,80 @@
+package com.fulfilment.application.monolith.alerts;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+import java.util.List;
+import java.util.function.Consumer;
+
+@Path("alerts/low-stock")
+@ApplicationScoped
+@Produces("application/json")
+public class LowStockAlertResource {
+
+  @Inject LowStockMonitor lowStockMonitor;
+
+  /** Items currently below their stock threshold, optionally of one entity type only. */
+  @GET
+  public List<LowStockItem> belowThreshold(@QueryParam("entityType") String entityType) {
+    return lowStockMonitor.belowThreshold(entityType);
+  }
+
+  @GET
+  @Path("{entityType}/{entityId}")
+  public LowStockItem find(String entityType, String entityId) {
+    LowStockItem item = lowStockMonitor.find(entityType, entityId);
+    if (item == null) {
+      throw new WebApplicationException(
+          entityType + " " + entityId + " is not below its stock threshold.", 404);
+    }
+    return item;
+  }
+
+  /** Pushes every threshold crossing from now on, as {@code low} and {@code recovered} events. */
+  @GET
+  @Path("stream")
+  @Produces(MediaType.SERVER_SENT_EVENTS)
+  public void stream(@Context SseEventSink sink, @Context Sse sse) {
+    lowStockMonitor.subscribe(new Subscriber(sink, sse));
+  }
+
+  private class Subscriber implements Consumer<LowStockAlert> {
+    private final SseEventSink sink;
+    private final Sse sse;
+
+    Subscriber(SseEventSink sink, Sse sse) {
+      this.sink = sink;
+      this.sse = sse;
+    }
+
+    @Override
+    public void accept(LowStockAlert alert) {
+      if (sink.isClosed()) {
+        lowStockMonitor.unsubscribe(this);
+        return;
+      }
+
+      sink.send(
+              sse.newEventBuilder()
+                  .name(alert.kind.name().toLowerCase())
+                  .mediaType(MediaType.APPLICATION_JSON_TYPE)
+                  .data(LowStockAlert.class, alert)
+                  .build())
+          .whenComplete(
+              (ignored, failure) -> {
+                if (failure != null) {
+                  lowStockMonitor.unsubscribe(this);
+                  sink.close();
+                }
+              });
+    }
+  }
+}
@@ -0,0 +1,28 @@
+package com.fulfilment.application.monolith.alerts;
+
+import java.time.Instant;
+
+/** An item that is currently below its stock threshold. */
+public class LowStockItem {
+
+  public String entityType;
+
+  public String entityId;
+
+  public int stock;
+
+  public int threshold;
+
+  // when it dropped below the threshold, or when it was found below it at startup
+  public Instant since;
+
+  public LowStockItem() {}
+
+  LowStockItem(String entityType, String entityId, int stock, int threshold, Instant since) {
+    this.entityType = entityType;
+    this.entityId = entityId;
+    this.stock = stock;
+    this.threshold = threshold;
+    this.since = since;
+  }
+}
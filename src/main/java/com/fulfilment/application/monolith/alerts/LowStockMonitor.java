@@ -0,0 +1,233 @@
+package com.fulfilment.application.monolith.alerts;
+
+import com.fulfilment.application.monolith.events.ChangeEvent;
+import com.fulfilment.application.monolith.events.LatestChanges;
+import com.fulfilment.application.monolith.products.Product;
+import com.fulfilment.application.monolith.stores.Store;
+import com.fulfilment.application.monolith.warehouses.adapters.database.DbWarehouse;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+/**
+ * Evaluates stock thresholds on every committed store, product and warehouse change, so no table
+ * ever has to be polled. Only crossings raise an alert: one when an item drops below its threshold
+ * and one when it gets back to it. The items currently below their threshold are kept in a map of
+ * at most {@code alerts.low-stock.max-tracked} entries. Past that, the keys of further items below
+ * their threshold go to a bounded overflow set, so they still alert only once and recover; should
+ * that set evict one as well, the item alerts again on its next change. Alerts are logged, fired as
+ * CDI events and pushed to subscribers.
+ */
+@ApplicationScoped
+public class LowStockMonitor {
+
+  private static final Logger LOGGER = Logger.getLogger(LowStockMonitor.class.getName());
+
+  @ConfigProperty(name = "alerts.low-stock.product-threshold", defaultValue = "5")
+  int productThreshold;
+
+  @ConfigProperty(name = "alerts.low-stock.store-threshold", defaultValue = "5")
+  int storeThreshold;
+
+  @ConfigProperty(name = "alerts.low-stock.warehouse-threshold", defaultValue = "5")
+  int warehouseThreshold;
+
+  @ConfigProperty(name = "alerts.low-stock.max-tracked", defaultValue = "10000")
+  int maxTracked;
+
+  @Inject Event<LowStockAlert> alerts;
+
+  private final LatestChanges latestChanges = new LatestChanges();
+
+  private final Map<String, LowStockItem> belowThreshold = new ConcurrentHashMap<>();
+
+  // items below their threshold that did not fit in belowThreshold, and were already alerted
+  private Cache<String, Boolean> overflowed;
+
+  private final List<Consumer<LowStockAlert>> subscribers = new CopyOnWriteArrayList<>();
+
+  private final AtomicBoolean overflowLogged = new AtomicBoolean();
+
+  @PostConstruct
+  void init() {
+    overflowed = Caffeine.newBuilder().maximumSize(maxTracked).build();
+  }
+
+  void onStart(@Observes StartupEvent event) {
+    QuarkusTransaction.requiringNew()
+        .run(
+            () -> {
+              Product.<Product>find("stock < ?1", productThreshold)
+                  .range(0, maxTracked - 1)
+                  .stream()
+                  .forEach(p -> track(ChangeEvent.PRODUCT, String.valueOf(p.id), p.stock));
+              Store.<Store>find("quantityProductsInStock < ?1", storeThreshold)
+                  .range(0, maxTracked - 1)
+                  .stream()
+                  .forEach(
+                      s ->
+                          track(
+                              ChangeEvent.STORE, String.valueOf(s.id), s.quantityProductsInStock));
+              DbWarehouse.<DbWarehouse>find(
+                      "archivedAt is null and stock < ?1", warehouseThreshold)
+                  .range(0, maxTracked - 1)
+                  .stream()
+                  .forEach(w -> track(ChangeEvent.WAREHOUSE, w.businessUnitCode, w.stock));
+            });
+  }
+
+  void onChange(@Observes ChangeEvent event) {
+    LowStockAlert raised;
+    // changes of one item committed together may arrive out of order, the later one wins
+    synchronized (this) {
+      if (!latestChanges.isLatest(event)) {
+        return;
+      }
+      Integer stock = stockOf(event.payload);
+      if (stock == null || event.action == ChangeEvent.Action.ARCHIVED) {
+        // deleted or archived items are no longer watched
+        String key = key(event.entityType, event.entityId);
+        belowThreshold.remove(key);
+        overflowed.invalidate(key);
+        return;
+      }
+      raised = evaluate(event.entityType, event.entityId, stock);
+    }
+    if (raised != null) {
+      emit(raised);
+    }
+  }
+
+  /** The item if it is currently below its threshold, otherwise null. */
+  public LowStockItem find(String entityType, String entityId) {
+    return belowThreshold.get(key(entityType, entityId));
+  }
+
+  public List<LowStockItem> belowThreshold(String entityType) {
+    List<LowStockItem> items = new ArrayList<>();
+    for (LowStockItem item : belowThreshold.values()) {
+      if (entityType == null || entityType.equals(item.entityType)) {
+        items.add(item);
+      }
+    }
+    return items;
+  }
+
+  public void subscribe(Consumer<LowStockAlert> subscriber) {
+    subscribers.add(subscriber);
+  }
+
+  public void unsubscribe(Consumer<LowStockAlert> subscriber) {
+    subscribers.remove(subscriber);
+  }
+
+  private LowStockAlert evaluate(String entityType, String entityId, int stock) {
+    int threshold = thresholdOf(entityType);
+    LowStockAlert[] raised = new LowStockAlert[1];
+    belowThreshold.compute(
+        key(entityType, entityId),
+        (key, current) -> {
+          boolean alerted = current != null || overflowed.getIfPresent(key) != null;
+          if (stock >= threshold) {
+            if (alerted) {
+              overflowed.invalidate(key);
+              raised[0] =
+                  new LowStockAlert(
+                      LowStockAlert.Kind.RECOVERED, entityType, entityId, stock, threshold);
+            }
+            return null;
+          }
+          if (current != null) {
+            current.stock = stock;
+            return current;
+          }
+          Instant since = Instant.now();
+          if (!alerted) {
+            raised[0] =
+                new LowStockAlert(LowStockAlert.Kind.LOW, entityType, entityId, stock, threshold);
+            since = raised[0].at;
+          }
+          if (!trackable()) {
+            overflowed.put(key, Boolean.TRUE);
+            return null;
+          }
+          // an overflowed item moves into the tracked set once there is room again
+          overflowed.invalidate(key);
+          return new LowStockItem(entityType, entityId, stock, threshold, since);
+        });
+    return raised[0];
+  }
+
+  private void track(String entityType, String entityId, int stock) {
+    if (trackable()) {
+      belowThreshold.put(
+          key(entityType, entityId),
+          new LowStockItem(entityType, entityId, stock, thresholdOf(entityType), Instant.now()));
+    }
+  }
+
+  // when full, items that drop below their threshold go to the overflow set instead, so they do not
+  // show up in the current set
+  private boolean trackable() {
+    if (belowThreshold.size() < maxTracked) {
+      return true;
+    }
+    if (overflowLogged.compareAndSet(false, true)) {
+      LOGGER.warnf(
+          "More than %d items are below their stock threshold, not tracking more", maxTracked);
+    }
+    return false;
+  }
+
+  private void emit(LowStockAlert alert) {
+    LOGGER.infof(
+        "Stock of %s %s is %s: %d against a threshold of %d",
+        alert.entityType, alert.entityId, alert.kind, alert.stock, alert.threshold);
+    alerts.fire(alert);
+    for (Consumer<LowStockAlert> subscriber : subscribers) {
+      subscriber.accept(alert);
+    }
+  }
+
+  private int thresholdOf(String entityType) {
+    return switch (entityType) {
+      case ChangeEvent.PRODUCT -> productThreshold;
+      case ChangeEvent.STORE -> storeThreshold;
+      default -> warehouseThreshold;
+    };
+  }
+
+  private static Integer stockOf(Object payload) {
+    if (payload instanceof Product) {
+      return ((Product) payload).stock;
+    }
+    if (payload instanceof Store) {
+      return ((Store) payload).quantityProductsInStock;
+    }
+    if (payload instanceof Warehouse) {
+      return ((Warehouse) payload).stock;
+    }
+    return null;
+  }
+
+  private static String key(String entityType, String entityId) {
+    return entityType + ":" + entityId;
+  }
+}
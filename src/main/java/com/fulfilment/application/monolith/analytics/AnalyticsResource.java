@@ -0,0 +1,22 @@
+package com.fulfilment.application.monolith.analytics;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+
+@Path("analytics")
+@ApplicationScoped
+@Produces("application/json")
+public class AnalyticsResource {
+
+  @Inject InventoryAnalytics inventoryAnalytics;
+
+  /** Inventory value, stock per warehouse location and store stock distribution. */
+  @GET
+  @Path("inventory")
+  public InventorySnapshot inventory() {
+    return inventoryAnalytics.snapshot();
+  }
+}
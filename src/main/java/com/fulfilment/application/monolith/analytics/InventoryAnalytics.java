@@ -0,0 +1,142 @@
+package com.fulfilment.application.monolith.analytics;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import org.jboss.logging.Logger;
+
+/**
+ * Computes inventory aggregates with a handful of GROUP BY queries every {@code
+ * analytics.refresh-interval}, and serves the latest snapshot from memory. However often dashboards
+ * poll, the OLTP tables are only read once per interval.
+ */
+@ApplicationScoped
+public class InventoryAnalytics {
+
+  private static final Logger LOGGER = Logger.getLogger(InventoryAnalytics.class.getName());
+
+  // lower bounds of the store stock buckets, the last one is open-ended
+  static final long[] STORE_STOCK_BUCKETS = {0, 1, 10, 100, 1000};
+
+  @Inject EntityManager entityManager;
+
+  private volatile InventorySnapshot snapshot;
+
+  public InventorySnapshot snapshot() {
+    InventorySnapshot current = snapshot;
+    return current != null ? current : refresh();
+  }
+
+  @Scheduled(
+      every = "${analytics.refresh-interval:30s}",
+      concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+  void scheduledRefresh() {
+    try {
+      refresh();
+    } catch (RuntimeException e) {
+      // keep serving the previous snapshot
+      LOGGER.warn("Failed to refresh the inventory analytics", e);
+    }
+  }
+
+  public InventorySnapshot refresh() {
+    InventorySnapshot computed = QuarkusTransaction.requiringNew().call(this::compute);
+    snapshot = computed;
+    return computed;
+  }
+
+  private InventorySnapshot compute() {
+    InventorySnapshot computed = new InventorySnapshot();
+    computed.computedAt = Instant.now();
+
+    Object[] products =
+        entityManager
+            .createQuery(
+                "select count(p), coalesce(sum(p.stock), 0),"
+                    + " coalesce(sum(p.price * p.stock), 0),"
+                    + " sum(case when p.price is null then 1 else 0 end),"
+                    + " sum(case when p.stock <= 0 then 1 else 0 end)"
+                    + " from Product p",
+                Object[].class)
+            .getSingleResult();
+    computed.products.products = (Long) products[0];
+    computed.products.totalStock = ((Number) products[1]).longValue();
+    computed.products.inventoryValue = toBigDecimal(products[2]);
+    computed.products.productsWithoutPrice = longOrZero(products[3]);
+    computed.products.productsOutOfStock = longOrZero(products[4]);
+
+    List<Object[]> locations =
+        entityManager
+            .createQuery(
+                "select w.location, count(w), coalesce(sum(w.capacity), 0),"
+                    + " coalesce(sum(w.stock), 0)"
+                    + " from DbWarehouse w where w.archivedAt is null"
+                    + " group by w.location order by w.location",
+                Object[].class)
+            .getResultList();
+    for (Object[] row : locations) {
+      InventorySnapshot.LocationTotals totals = new InventorySnapshot.LocationTotals();
+      totals.location = (String) row[0];
+      totals.warehouses = (Long) row[1];
+      totals.capacity = ((Number) row[2]).longValue();
+      totals.stock = ((Number) row[3]).longValue();
+      computed.warehouseLocations.add(totals);
+    }
+
+    Object[] stores =
+        entityManager
+            .createQuery(
+                "select count(s), coalesce(sum(s.quantityProductsInStock), 0),"
+                    + " min(s.quantityProductsInStock), max(s.quantityProductsInStock),"
+                    + " avg(s.quantityProductsInStock)"
+                    + " from Store s",
+                Object[].class)
+            .getSingleResult();
+    computed.stores.stores = (Long) stores[0];
+    computed.stores.totalStock = ((Number) stores[1]).longValue();
+    computed.stores.minStock = (Integer) stores[2];
+    computed.stores.maxStock = (Integer) stores[3];
+    computed.stores.averageStock = (Double) stores[4];
+
+    for (int i = 0; i < STORE_STOCK_BUCKETS.length; i++) {
+      Long to = i + 1 < STORE_STOCK_BUCKETS.length ? STORE_STOCK_BUCKETS[i + 1] - 1 : null;
+      computed.stores.buckets.add(new InventorySnapshot.StockBucket(STORE_STOCK_BUCKETS[i], to));
+    }
+    List<Object[]> buckets =
+        entityManager
+            .createQuery(
+                "select " + bucketExpression() + ", count(s) from Store s group by 1",
+                Object[].class)
+            .getResultList();
+    for (Object[] row : buckets) {
+      computed.stores.buckets.get(((Number) row[0]).intValue()).stores = (Long) row[1];
+    }
+    return computed;
+  }
+
+  // index of the bucket a store falls in, negative stock counts towards the first one
+  private static String bucketExpression() {
+    StringBuilder expression = new StringBuilder("case");
+    for (int i = STORE_STOCK_BUCKETS.length - 1; i > 0; i--) {
+      expression
+          .append(" when s.quantityProductsInStock >= ")
+          .append(STORE_STOCK_BUCKETS[i])
+          .append(" then ")
+          .append(i);
+    }
+    return expression.append(" else 0 end").toString();
+  }
+
+  private static BigDecimal toBigDecimal(Object value) {
+    return value instanceof BigDecimal ? (BigDecimal) value : new BigDecimal(value.toString());
+  }
+
+  private static long longOrZero(Object value) {
+    return value != null ? ((Number) value).longValue() : 0;
+  }
+}
@@ -0,0 +1,72 @@
+package com.fulfilment.application.monolith.analytics;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Inventory aggregates as of {@link #computedAt}. */
+public class InventorySnapshot {
+
+  public static class ProductTotals {
+    public long products;
+
+    public long totalStock;
+
+    // sum of price times stock over the products that have a price
+    public BigDecimal inventoryValue = BigDecimal.ZERO;
+
+    public long productsWithoutPrice;
+
+    public long productsOutOfStock;
+  }
+
+  public static class LocationTotals {
+    public String location;
+
+    public long warehouses;
+
+    public long capacity;
+
+    public long stock;
+  }
+
+  public static class StockBucket {
+    // inclusive bounds, to is null for the open-ended last bucket
+    public long from;
+
+    public Long to;
+
+    public long stores;
+
+    public StockBucket() {}
+
+    StockBucket(long from, Long to) {
+      this.from = from;
+      this.to = to;
+    }
+  }
+
+  public static class StoreDistribution {
+    public long stores;
+
+    public long totalStock;
+
+    public Integer minStock;
+
+    public Integer maxStock;
+
+    public Double averageStock;
+
+    public List<StockBucket> buckets = new ArrayList<>();
+  }
+
+  public Instant computedAt;
+
+  public ProductTotals products = new ProductTotals();
+
+  // active warehouses only
+  public List<LocationTotals> warehouseLocations = new ArrayList<>();
+
+  public StoreDistribution stores = new StoreDistribution();
+}
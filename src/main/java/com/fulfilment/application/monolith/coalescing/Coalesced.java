@@ -0,0 +1,21 @@
+package com.fulfilment.application.monolith.coalescing;
+
+import jakarta.ws.rs.NameBinding;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a GET endpoint serving the entity of its {@code id} path parameter, whose concurrent
+ * requests share one load and one serialized response. On a resource, it applies to the GET
+ * endpoints with an {@code id}. See {@link CoalescingFilter}.
+ */
+@NameBinding
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Coalesced {
+
+  /** The entity type, as in the change events that invalidate it. Only left empty on the filter. */
+  String value() default "";
+}
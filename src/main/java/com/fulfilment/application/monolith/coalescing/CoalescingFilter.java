@@ -0,0 +1,115 @@
+package com.fulfilment.application.monolith.coalescing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.Provider;
+import jakarta.ws.rs.ext.WriterInterceptor;
+import jakarta.ws.rs.ext.WriterInterceptorContext;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Lets concurrent GET requests of the same {@link Coalesced} entity share one load: the first runs
+ * the resource method and its serialized response is handed to the others, which are answered
+ * with it before their resource method runs. Only 200 responses are shared; when the first request
+ * fails, the others load the entity themselves. Runs after the {@code ConditionalGetFilter}, so a
+ * 304 needs no load at all. Shared responses are counted in {@code
+ * http.server.requests.coalesced}.
+ */
+@Provider
+@Coalesced
+@Priority(Priorities.USER + 100)
+public class CoalescingFilter
+    implements ContainerRequestFilter, ContainerResponseFilter, WriterInterceptor {
+
+  public static final String METRIC = "http.server.requests.coalesced";
+
+  private static final String FLIGHT_PROPERTY = CoalescingFilter.class.getName() + ".flight";
+
+  @ConfigProperty(name = "coalescing.enabled", defaultValue = "true")
+  boolean enabled;
+
+  @Inject RequestCoalescer coalescer;
+
+  @Inject MeterRegistry meterRegistry;
+
+  @Context ResourceInfo resourceInfo;
+
+  @Override
+  public void filter(ContainerRequestContext request) {
+    if (!enabled || !HttpMethod.GET.equals(request.getMethod())) {
+      return;
+    }
+
+    String id = request.getUriInfo().getPathParameters().getFirst("id");
+    if (id == null) {
+      return;
+    }
+    Coalesced coalesced = resourceInfo.getResourceMethod().getAnnotation(Coalesced.class);
+    if (coalesced == null) {
+      coalesced = resourceInfo.getResourceClass().getAnnotation(Coalesced.class);
+    }
+    String entityType = coalesced.value();
+    String key = RequestCoalescer.key(entityType, id);
+    byte[] body = coalescer.recent(key);
+    if (body == null) {
+      RequestCoalescer.Flight flight = coalescer.lead(key);
+      if (flight != null) {
+        request.setProperty(FLIGHT_PROPERTY, flight);
+        return;
+      }
+      body = coalescer.await(key);
+      if (body == null) {
+        return;
+      }
+    }
+    meterRegistry.counter(METRIC, "entity", entityType).increment();
+    request.abortWith(Response.ok(body, MediaType.APPLICATION_JSON_TYPE).build());
+  }
+
+  @Override
+  public void filter(ContainerRequestContext request, ContainerResponseContext response) {
+    RequestCoalescer.Flight flight = (RequestCoalescer.Flight) request.getProperty(FLIGHT_PROPERTY);
+    if (flight != null && response.getStatus() != 200) {
+      request.removeProperty(FLIGHT_PROPERTY);
+      coalescer.abandon(flight);
+    }
+  }
+
+  @Override
+  public void aroundWriteTo(WriterInterceptorContext context) throws IOException {
+    RequestCoalescer.Flight flight = (RequestCoalescer.Flight) context.getProperty(FLIGHT_PROPERTY);
+    if (flight == null) {
+      context.proceed();
+      return;
+    }
+
+    OutputStream out = context.getOutputStream();
+    ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    context.setOutputStream(buffer);
+    try {
+      context.proceed();
+    } catch (IOException | RuntimeException e) {
+      coalescer.abandon(flight);
+      throw e;
+    } finally {
+      context.setOutputStream(out);
+    }
+    byte[] body = buffer.toByteArray();
+    coalescer.complete(flight, body);
+    out.write(body);
+  }
+}
@@ -0,0 +1,138 @@
+package com.fulfilment.application.monolith.coalescing;
+
+import com.fulfilment.application.monolith.events.ChangeEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Single-flight loads of serialized entities: the first request for a key leads and loads it,
+ * requests for the same key meanwhile wait for its bytes instead of loading their own. With a
+ * {@code coalescing.ttl}, the bytes are also kept that long for the requests after it. Committed
+ * changes drop the entity, and the loads in flight for it, so a read after a write loads afresh.
+ */
+@ApplicationScoped
+public class RequestCoalescer {
+
+  /** A load of one key, completed with the serialized entity or abandoned. */
+  public static final class Flight {
+    final String key;
+
+    // changes seen before the load started
+    final long generation;
+
+    final CompletableFuture<byte[]> body = new CompletableFuture<>();
+
+    Flight(String key, long generation) {
+      this.key = key;
+      this.generation = generation;
+    }
+  }
+
+  @ConfigProperty(name = "coalescing.ttl", defaultValue = "0s")
+  Duration ttl;
+
+  @ConfigProperty(name = "coalescing.maximum-size", defaultValue = "10000")
+  long maximumSize;
+
+  @ConfigProperty(name = "coalescing.wait-timeout", defaultValue = "5s")
+  Duration waitTimeout;
+
+  private final Map<String, Flight> inFlight = new ConcurrentHashMap<>();
+
+  // bumped on every change, so a load racing with a change is not kept
+  private final AtomicLong generation = new AtomicLong();
+
+  // null without a ttl
+  private Cache<String, byte[]> recent;
+
+  @PostConstruct
+  void init() {
+    if (!ttl.isZero()) {
+      recent = Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(ttl).build();
+    }
+  }
+
+  public static String key(String entityType, String id) {
+    return entityType + ":" + id;
+  }
+
+  /** The bytes kept for {@code key} within the ttl, or null. */
+  public byte[] recent(String key) {
+    return recent != null ? recent.getIfPresent(key) : null;
+  }
+
+  /**
+   * Starts a load of {@code key}, which the caller then has to {@link #complete} or {@link
+   * #abandon}, or returns null when another request is loading it already.
+   */
+  public Flight lead(String key) {
+    Flight flight = new Flight(key, generation.get());
+    return inFlight.putIfAbsent(key, flight) == null ? flight : null;
+  }
+
+  /**
+   * The bytes of the load of {@code key} in flight, or null when there is none, it was abandoned,
+   * or it took longer than {@code coalescing.wait-timeout}; the caller then loads it itself.
+   */
+  public byte[] await(String key) {
+    Flight flight = inFlight.get(key);
+    if (flight == null) {
+      return recent(key);
+    }
+    try {
+      return flight.body.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      // let the next request lead, in case this load never ends
+      inFlight.remove(key, flight);
+      return null;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return null;
+    } catch (ExecutionException e) {
+      return null;
+    }
+  }
+
+  public void complete(Flight flight, byte[] body) {
+    if (recent != null && generation.get() == flight.generation) {
+      recent.put(flight.key, body);
+    }
+    inFlight.remove(flight.key, flight);
+    flight.body.complete(body);
+  }
+
+  public void abandon(Flight flight) {
+    inFlight.remove(flight.key, flight);
+    flight.body.complete(null);
+  }
+
+  void onChange(@Observes ChangeEvent event) {
+    generation.incrementAndGet();
+    if (ChangeEvent.WAREHOUSE.equals(event.entityType)) {
+      // warehouse events carry the business unit code, not the id the endpoint is read by
+      String prefix = key(ChangeEvent.WAREHOUSE, "");
+      inFlight.keySet().removeIf(key -> key.startsWith(prefix));
+      if (recent != null) {
+        recent.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+      }
+      return;
+    }
+    String key = key(event.entityType, event.entityId);
+    inFlight.remove(key);
+    if (recent != null) {
+      recent.invalidate(key);
+    }
+  }
+}
@@ -0,0 +1,123 @@
+package com.fulfilment.application.monolith.compaction;
+
+import com.fulfilment.application.monolith.products.Product;
+import com.fulfilment.application.monolith.products.StockSlot;
+import com.fulfilment.application.monolith.stores.Store;
+import com.fulfilment.application.monolith.warehouses.adapters.database.StoreWarehouseProduct;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.query.NativeQuery;
+import org.jboss.logging.Logger;
+
+/**
+ * Physically purges products and stores that were deleted more than {@code
+ * compaction.grace-period} ago, together with their fulfilment assignments and the reservation
+ * slots of the products. It runs on the {@code compaction.cron} schedule, meant for quiet periods,
+ * in transactions of {@code compaction.batch-size} rows with a pause in between, and claims rows
+ * with SKIP LOCKED so it never waits on user traffic.
+ */
+@ApplicationScoped
+public class TombstoneCompactor {
+
+  private static final Logger LOGGER = Logger.getLogger(TombstoneCompactor.class.getName());
+
+  @Inject EntityManager entityManager;
+
+  @ConfigProperty(name = "compaction.grace-period", defaultValue = "1h")
+  Duration gracePeriod;
+
+  @ConfigProperty(name = "compaction.batch-size", defaultValue = "100")
+  int batchSize;
+
+  @ConfigProperty(name = "compaction.pause-between-batches", defaultValue = "200ms")
+  Duration pauseBetweenBatches;
+
+  @ConfigProperty(name = "compaction.max-batches-per-run", defaultValue = "1000")
+  int maxBatchesPerRun;
+
+  @Scheduled(
+      cron = "${compaction.cron:0 */10 1-4 * * ?}",
+      concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+  void scheduledCompaction() {
+    int purged = compact();
+    if (purged > 0) {
+      LOGGER.infof("Purged %d tombstoned products and stores", purged);
+    }
+  }
+
+  /** Purges the tombstones that are past the grace period, returns how many rows were purged. */
+  public int compact() {
+    LocalDateTime deletedBefore = LocalDateTime.now().minus(gracePeriod);
+    int purged = 0;
+    int batches = 0;
+    for (String table : List.of("product", "store")) {
+      int batch;
+      do {
+        if (batches++ > 0) {
+          pause();
+        }
+        batch = QuarkusTransaction.requiringNew().call(() -> purgeBatch(table, deletedBefore));
+        purged += batch;
+      } while (batch == batchSize && batches < maxBatchesPerRun);
+    }
+    return purged;
+  }
+
+  // table is one of the two literals above, never user input
+  private int purgeBatch(String table, LocalDateTime deletedBefore) {
+    @SuppressWarnings("unchecked")
+    List<Number> ids =
+        entityManager
+            .createNativeQuery(
+                "SELECT id FROM "
+                    + table
+                    + " WHERE deletedAt IS NOT NULL AND deletedAt < ?1"
+                    + " ORDER BY id LIMIT ?2 FOR UPDATE SKIP LOCKED")
+            .setParameter(1, deletedBefore)
+            .setParameter(2, batchSize)
+            .getResultList();
+    if (ids.isEmpty()) {
+      return 0;
+    }
+
+    List<Long> idList = ids.stream().map(Number::longValue).toList();
+    entityManager
+        .createNativeQuery("DELETE FROM StoreWarehouseProduct WHERE " + table + "_id IN (?1)")
+        .setParameter(1, idList)
+        .unwrap(NativeQuery.class)
+        .addSynchronizedEntityClass(StoreWarehouseProduct.class)
+        .executeUpdate();
+    if (table.equals("product")) {
+      entityManager
+          .createNativeQuery("DELETE FROM product_stock_slot WHERE productId IN (?1)")
+          .setParameter(1, idList)
+          .unwrap(NativeQuery.class)
+          .addSynchronizedEntityClass(StockSlot.class)
+          .executeUpdate();
+    }
+    entityManager
+        .createNativeQuery("DELETE FROM " + table + " WHERE id IN (?1)")
+        .setParameter(1, idList)
+        .unwrap(NativeQuery.class)
+        .addSynchronizedEntityClass(table.equals("product") ? Product.class : Store.class)
+        .executeUpdate();
+    return idList.size();
+  }
+
+  private void pause() {
+    try {
+      TimeUnit.MILLISECONDS.sleep(pauseBetweenBatches.toMillis());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Compaction was interrupted", e);
+    }
+  }
+}
@@ -0,0 +1,135 @@
+package com.fulfilment.application.monolith.errors;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.ExceptionMapper;
+import jakarta.ws.rs.ext.Provider;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+/**
+ * Maps every exception escaping a resource to a JSON body of its {@code exceptionType}, {@code
+ * code} and {@code error} message:
+ *
+ * <ul>
+ *   <li>a {@link WebApplicationException}, as thrown for domain and validation errors, keeps its
+ *       status and message,
+ *   <li>an {@link IllegalArgumentException} is a 422 with its message,
+ *   <li>a database constraint violation anywhere in the cause chain is a 409,
+ *   <li>anything else is a 500 that does not expose its message.
+ * </ul>
+ *
+ * Bodies are written as strings rather than through Jackson, and the bodies that do not depend on
+ * the message are built once per exception type. Client errors are logged at debug without a stack
+ * trace; server errors are counted in {@code http.server.errors}, tagged with the exception type,
+ * and logged with at most {@code errors.stack-traces-per-minute} stack traces per type.
+ */
+@Provider
+public class ErrorMapper implements ExceptionMapper<Exception> {
+
+  public static final String METRIC = "http.server.errors";
+
+  private static final Logger LOGGER = Logger.getLogger(ErrorMapper.class.getName());
+
+  static final String CONFLICT_MESSAGE = "The change conflicts with existing data.";
+
+  static final String INTERNAL_ERROR_MESSAGE = "Internal server error.";
+
+  // causes of wrapped exceptions are only searched this deep for a constraint violation
+  private static final int MAX_CAUSE_DEPTH = 8;
+
+  private static final ClassValue<String> TYPE_PREFIXES =
+      new ClassValue<>() {
+        @Override
+        protected String computeValue(Class<?> type) {
+          return "{\"exceptionType\":\"" + quote(type.getName()) + "\",\"code\":";
+        }
+      };
+
+  private static final ClassValue<String> CONFLICT_BODIES =
+      new ClassValue<>() {
+        @Override
+        protected String computeValue(Class<?> type) {
+          return body(type, 409, CONFLICT_MESSAGE);
+        }
+      };
+
+  private static final ClassValue<String> INTERNAL_ERROR_BODIES =
+      new ClassValue<>() {
+        @Override
+        protected String computeValue(Class<?> type) {
+          return body(type, 500, INTERNAL_ERROR_MESSAGE);
+        }
+      };
+
+  final MeterRegistry meterRegistry;
+
+  private final int stackTracesPerMinute;
+
+  final ServerErrorLog serverErrors = new ServerErrorLog();
+
+  @Inject
+  public ErrorMapper(
+      MeterRegistry meterRegistry,
+      @ConfigProperty(name = "errors.stack-traces-per-minute", defaultValue = "10")
+          int stackTracesPerMinute) {
+    this.meterRegistry = meterRegistry;
+    this.stackTracesPerMinute = stackTracesPerMinute;
+  }
+
+  @Override
+  public Response toResponse(Exception exception) {
+    int code;
+    String body;
+    if (exception instanceof WebApplicationException) {
+      code = ((WebApplicationException) exception).getResponse().getStatus();
+      body = body(exception.getClass(), code, exception.getMessage());
+    } else if (exception instanceof IllegalArgumentException) {
+      code = 422;
+      body = body(exception.getClass(), code, exception.getMessage());
+    } else if (isConstraintViolation(exception)) {
+      code = 409;
+      body = CONFLICT_BODIES.get(exception.getClass());
+    } else {
+      code = 500;
+      body = INTERNAL_ERROR_BODIES.get(exception.getClass());
+    }
+
+    if (code >= 500) {
+      meterRegistry.counter(METRIC, "exception", exception.getClass().getName()).increment();
+      serverErrors.log(LOGGER, exception, code, stackTracesPerMinute);
+    } else {
+      LOGGER.debugf("Request failed with %d: %s", code, exception);
+    }
+
+    return Response.status(code).type(MediaType.APPLICATION_JSON_TYPE).entity(body).build();
+  }
+
+  static boolean isConstraintViolation(Throwable exception) {
+    Throwable cause = exception;
+    for (int depth = 0; cause != null && depth < MAX_CAUSE_DEPTH; depth++) {
+      if (cause instanceof org.hibernate.exception.ConstraintViolationException) {
+        return true;
+      }
+      cause = cause.getCause();
+    }
+    return false;
+  }
+
+  /** The JSON error body of an exception type, for responses built without an exception. */
+  public static String body(Class<?> type, int code, String message) {
+    String prefix = TYPE_PREFIXES.get(type);
+    if (message == null) {
+      return prefix + code + "}";
+    }
+    return prefix + code + ",\"error\":\"" + quote(message) + "\"}";
+  }
+
+  private static String quote(String text) {
+    return new String(JsonStringEncoder.getInstance().quoteAsString(text));
+  }
+}
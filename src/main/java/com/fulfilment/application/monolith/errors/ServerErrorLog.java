@@ -0,0 +1,71 @@
+package com.fulfilment.application.monolith.errors;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.jboss.logging.Logger;
+
+/**
+ * Logs server errors with a stack trace for at most the given number per exception type and minute.
+ * The rest are logged on one line, so a burst of the same failure costs no more than a log line
+ * each.
+ */
+class ServerErrorLog {
+
+  private static final long WINDOW_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+  private static class TypeCounter {
+    long windowStart;
+    int tracesInWindow;
+    long suppressedInWindow;
+  }
+
+  private final Map<Class<?>, TypeCounter> counters = new ConcurrentHashMap<>();
+
+  void log(Logger logger, Throwable exception, int code, int stackTracesPerMinute) {
+    TypeCounter counter = counters.computeIfAbsent(exception.getClass(), type -> newCounter());
+
+    boolean withTrace;
+    long suppressed;
+    synchronized (counter) {
+      long now = System.nanoTime();
+      if (now - counter.windowStart >= WINDOW_NANOS) {
+        counter.windowStart = now;
+        counter.tracesInWindow = 0;
+        counter.suppressedInWindow = 0;
+      }
+      withTrace = counter.tracesInWindow < stackTracesPerMinute;
+      if (withTrace) {
+        counter.tracesInWindow++;
+      } else {
+        counter.suppressedInWindow++;
+      }
+      suppressed = counter.suppressedInWindow;
+    }
+
+    if (withTrace) {
+      logger.errorf(exception, "Failed to handle request with %d", code);
+    } else {
+      logger.errorf(
+          "Failed to handle request with %d: %s (%d stack traces of %s suppressed this minute)",
+          code, exception, suppressed, exception.getClass().getName());
+    }
+  }
+
+  private static TypeCounter newCounter() {
+    TypeCounter counter = new TypeCounter();
+    counter.windowStart = System.nanoTime();
+    return counter;
+  }
+
+  /** Stack traces logged in the current minute for {@code type}, for tests. */
+  int tracesInWindow(Class<?> type) {
+    TypeCounter counter = counters.get(type);
+    if (counter == null) {
+      return 0;
+    }
+    synchronized (counter) {
+      return counter.tracesInWindow;
+    }
+  }
+}
@@ -0,0 +1,55 @@
+package com.fulfilment.application.monolith.events;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.RollbackException;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.SystemException;
+import jakarta.transaction.TransactionManager;
+
+/**
+ * Runs actions once the current transaction has committed, or right away without one. The actions
+ * are registered as plain rather than interposed synchronizations, so they run after the
+ * interposed one of the connection pool has given the transaction's connection back: an action
+ * needing a connection of its own, such as the legacy store ledger, does not hold one while it
+ * waits for another.
+ */
+@ApplicationScoped
+public class AfterCommit {
+
+  @Inject TransactionManager transactionManager;
+
+  public void run(Runnable action) {
+    try {
+      if (transactionManager.getStatus() != Status.STATUS_ACTIVE) {
+        action.run();
+        return;
+      }
+
+      transactionManager
+          .getTransaction()
+          .registerSynchronization(new AfterCommitSynchronization(action));
+    } catch (RollbackException | SystemException e) {
+      throw new IllegalStateException("Could not register an action to run after commit", e);
+    }
+  }
+
+  private static class AfterCommitSynchronization implements Synchronization {
+    private final Runnable action;
+
+    AfterCommitSynchronization(Runnable action) {
+      this.action = action;
+    }
+
+    @Override
+    public void beforeCompletion() {}
+
+    @Override
+    public void afterCompletion(int status) {
+      if (status == Status.STATUS_COMMITTED) {
+        action.run();
+      }
+    }
+  }
+}
@@ -0,0 +1,42 @@
+package com.fulfilment.application.monolith.events;
+
+import java.time.Instant;
+
+/** A committed change of a store, product or warehouse. */
+public class ChangeEvent {
+
+  public enum Action {
+    CREATED,
+    UPDATED,
+    DELETED,
+    ARCHIVED
+  }
+
+  public static final String STORE = "store";
+  public static final String PRODUCT = "product";
+  public static final String WAREHOUSE = "warehouse";
+
+  // assigned when the event is committed, strictly increasing without gaps
+  public long sequence;
+
+  public String entityType;
+
+  // numeric id for stores and products, business unit code for warehouses
+  public String entityId;
+
+  public Action action;
+
+  // state of the entity after the change, null for deletes
+  public Object payload;
+
+  public Instant committedAt;
+
+  public ChangeEvent() {}
+
+  public ChangeEvent(String entityType, String entityId, Action action, Object payload) {
+    this.entityType = entityType;
+    this.entityId = entityId;
+    this.action = action;
+    this.payload = payload;
+  }
+}
@@ -0,0 +1,212 @@
+package com.fulfilment.application.monolith.events;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+/**
+ * Numbers committed change events and keeps the most recent {@code changes.buffer-size} of them
+ * in a ring buffer, so clients can resume from the last sequence number they saw. A transaction
+ * takes a ticket for its events before it commits, while it still holds the locks of the rows it
+ * changed ({@link #reserve()}), so two changes of one row get their tickets in commit order. The
+ * events are numbered in ticket order once every earlier ticket has been committed or cancelled,
+ * which keeps the sequence in commit order per row and without gaps. Only numbering and buffering
+ * happen under the log's lock. The CDI event is then fired on the thread that numbered the event,
+ * so concurrent commits reach the observers concurrently and not necessarily in sequence order.
+ * Subscribers get the events in sequence order, delivered by whichever committing thread finds
+ * them waiting. An observer or subscriber that fails is logged and skipped.
+ */
+@ApplicationScoped
+public class ChangeEventLog {
+
+  private static final Logger LOGGER = Logger.getLogger(ChangeEventLog.class.getName());
+
+  @ConfigProperty(name = "changes.buffer-size", defaultValue = "1024")
+  int bufferSize;
+
+  @Inject Event<ChangeEvent> committedEvents;
+
+  private static class Subscription {
+    final Consumer<ChangeEvent> subscriber;
+
+    // the sequence the subscriber resumed from, it gets no event up to it
+    final long after;
+
+    Subscription(Consumer<ChangeEvent> subscriber, long after) {
+      this.subscriber = subscriber;
+      this.after = after;
+    }
+  }
+
+  private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+  // appended in sequence order under the log's lock, drained under the delivery lock
+  private final Queue<ChangeEvent> undelivered = new ConcurrentLinkedQueue<>();
+
+  private final ReentrantLock deliveryLock = new ReentrantLock();
+
+  // the last sequence handed to the subscribers, guarded by the delivery lock
+  private long deliveredSequence;
+
+  private ChangeEvent[] ring;
+
+  private long lastSequence;
+
+  // the last ticket handed out and the last one numbered, guarded by the log's lock
+  private long lastTicket;
+
+  private long numberedTicket;
+
+  // tickets settled before an earlier one, empty when cancelled, guarded by the log's lock
+  private final Map<Long, Optional<ChangeEvent>> settled = new HashMap<>();
+
+  @PostConstruct
+  void init() {
+    ring = new ChangeEvent[bufferSize];
+  }
+
+  /**
+   * Takes the ticket that orders an event among the others. Taken while the transaction still holds
+   * its row locks, it has to be settled by {@link #append(long, ChangeEvent)} or {@link
+   * #cancel(long)}; later events wait for it.
+   */
+  public synchronized long reserve() {
+    return ++lastTicket;
+  }
+
+  /** Appends an event committed outside of a transaction, after all those ticketed so far. */
+  public void append(ChangeEvent event) {
+    append(reserve(), event);
+  }
+
+  /** Appends the committed event of {@code ticket}, numbered once the earlier tickets settle. */
+  public void append(long ticket, ChangeEvent event) {
+    settle(ticket, Optional.of(event));
+  }
+
+  /** Gives up the ticket of an event whose transaction rolled back. */
+  public void cancel(long ticket) {
+    settle(ticket, Optional.empty());
+  }
+
+  private void settle(long ticket, Optional<ChangeEvent> settledEvent) {
+    List<ChangeEvent> numbered = new ArrayList<>();
+    synchronized (this) {
+      settled.put(ticket, settledEvent);
+      Optional<ChangeEvent> next;
+      while ((next = settled.remove(numberedTicket + 1)) != null) {
+        numberedTicket++;
+        next.ifPresent(
+            event -> {
+              event.sequence = ++lastSequence;
+              event.committedAt = Instant.now();
+              ring[(int) (event.sequence % ring.length)] = event;
+              undelivered.add(event);
+              numbered.add(event);
+            });
+      }
+    }
+
+    for (ChangeEvent event : numbered) {
+      try {
+        committedEvents.fire(event);
+      } catch (RuntimeException e) {
+        LOGGER.errorf(e, "An observer failed on change event %d", event.sequence);
+      }
+    }
+    deliver();
+  }
+
+  // whoever gets the lock delivers every waiting event; rechecks after unlocking, so an event
+  // added while another thread was delivering is not left behind
+  private void deliver() {
+    while (!undelivered.isEmpty() && deliveryLock.tryLock()) {
+      try {
+        ChangeEvent event;
+        while ((event = undelivered.poll()) != null) {
+          deliveredSequence = event.sequence;
+          for (Subscription subscription : subscriptions) {
+            if (event.sequence > subscription.after) {
+              notify(subscription.subscriber, event);
+            }
+          }
+        }
+      } finally {
+        deliveryLock.unlock();
+      }
+    }
+  }
+
+  private static void notify(Consumer<ChangeEvent> subscriber, ChangeEvent event) {
+    try {
+      subscriber.accept(event);
+    } catch (RuntimeException e) {
+      LOGGER.errorf(e, "A subscriber failed on change event %d", event.sequence);
+    }
+  }
+
+  public synchronized long lastSequence() {
+    return lastSequence;
+  }
+
+  /** Oldest sequence number that can still be replayed. */
+  public synchronized long oldestSequence() {
+    return Math.max(1, lastSequence - ring.length + 1);
+  }
+
+  /** Whether every event after {@code sequence} is still in the buffer. */
+  public synchronized boolean canResumeFrom(long sequence) {
+    return sequence >= oldestSequence() - 1 && sequence <= lastSequence;
+  }
+
+  /** The buffered events after {@code sequence}, oldest first. */
+  public List<ChangeEvent> since(long sequence) {
+    return between(sequence, Long.MAX_VALUE);
+  }
+
+  private synchronized List<ChangeEvent> between(long after, long upTo) {
+    long from = Math.max(after + 1, oldestSequence());
+    long to = Math.min(upTo, lastSequence);
+    List<ChangeEvent> events = new ArrayList<>((int) Math.max(0, to - from + 1));
+    for (long s = from; s <= to; s++) {
+      events.add(ring[(int) (s % ring.length)]);
+    }
+    return events;
+  }
+
+  /**
+   * Replays the buffered events after {@code sequence} to the subscriber and then registers it for
+   * live events, without a gap or duplicate in between.
+   */
+  public void subscribe(long sequence, Consumer<ChangeEvent> subscriber) {
+    deliveryLock.lock();
+    try {
+      // later events are still waiting for delivery and reach the subscriber that way
+      for (ChangeEvent event : between(sequence, deliveredSequence)) {
+        notify(subscriber, event);
+      }
+      subscriptions.add(new Subscription(subscriber, sequence));
+    } finally {
+      deliveryLock.unlock();
+    }
+    deliver();
+  }
+
+  public void unsubscribe(Consumer<ChangeEvent> subscriber) {
+    subscriptions.removeIf(subscription -> subscription.subscriber == subscriber);
+  }
+}
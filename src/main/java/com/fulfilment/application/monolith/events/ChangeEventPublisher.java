@@ -0,0 +1,82 @@
+package com.fulfilment.application.monolith.events;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.RollbackException;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.SystemException;
+import jakarta.transaction.TransactionManager;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Publishes change events once, and only if, the surrounding transaction commits. The events of a
+ * transaction take their tickets from the change event log right before it commits, after flushing
+ * its changes, so while it holds the locks of every row it changed: the events of two transactions
+ * changing the same row are numbered in the order the transactions committed.
+ */
+@ApplicationScoped
+public class ChangeEventPublisher {
+
+  private static final Object EVENTS_KEY = new Object();
+
+  @Inject TransactionManager transactionManager;
+
+  @Inject TransactionSynchronizationRegistry transactionSynchronizationRegistry;
+
+  @Inject EntityManager entityManager;
+
+  @Inject ChangeEventLog changeEventLog;
+
+  public void publish(
+      String entityType, Object entityId, ChangeEvent.Action action, Object payload) {
+    ChangeEvent event = new ChangeEvent(entityType, String.valueOf(entityId), action, payload);
+    try {
+      if (transactionManager.getStatus() != Status.STATUS_ACTIVE) {
+        changeEventLog.append(event);
+        return;
+      }
+
+      TransactionEvents events =
+          (TransactionEvents) transactionSynchronizationRegistry.getResource(EVENTS_KEY);
+      if (events == null) {
+        events = new TransactionEvents();
+        transactionManager.getTransaction().registerSynchronization(events);
+        transactionSynchronizationRegistry.putResource(EVENTS_KEY, events);
+      }
+      events.events.add(event);
+    } catch (RollbackException | SystemException e) {
+      throw new IllegalStateException("Could not register a change event to publish", e);
+    }
+  }
+
+  // a plain synchronization, so its beforeCompletion runs ahead of the interposed one flushing the
+  // persistence context and has to flush it itself
+  private class TransactionEvents implements Synchronization {
+    final List<ChangeEvent> events = new ArrayList<>();
+
+    final List<Long> tickets = new ArrayList<>();
+
+    @Override
+    public void beforeCompletion() {
+      entityManager.flush();
+      for (int i = 0; i < events.size(); i++) {
+        tickets.add(changeEventLog.reserve());
+      }
+    }
+
+    @Override
+    public void afterCompletion(int status) {
+      for (int i = 0; i < tickets.size(); i++) {
+        if (status == Status.STATUS_COMMITTED) {
+          changeEventLog.append(tickets.get(i), events.get(i));
+        } else {
+          changeEventLog.cancel(tickets.get(i));
+        }
+      }
+    }
+  }
+}
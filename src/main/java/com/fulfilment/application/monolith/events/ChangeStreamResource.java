@@ -0,0 +1,102 @@
+package com.fulfilment.application.monolith.events;
+
+import com.fulfilment.application.monolith.admission.Admission;
+import com.fulfilment.application.monolith.admission.AdmissionPriority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.sse.OutboundSseEvent;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Pushes committed store, product and warehouse changes, so clients no longer have to poll the
+ * collection endpoints. A client that reconnects with the last sequence it saw (Last-Event-ID or
+ * {@code since}) gets the buffered events it missed; when those are no longer buffered it gets a
+ * {@code reset} event and has to reload the collections.
+ */
+@Path("changes")
+@Admission(AdmissionPriority.EXEMPT)
+@ApplicationScoped
+@Produces("application/json")
+public class ChangeStreamResource {
+
+  @Inject ChangeEventLog changeEventLog;
+
+  @GET
+  public List<ChangeEvent> since(@QueryParam("since") Long since) {
+    long sequence = since != null ? since : 0;
+    if (!changeEventLog.canResumeFrom(sequence)) {
+      throw new WebApplicationException(
+          "Changes after sequence " + sequence + " are no longer available.", 410);
+    }
+    return changeEventLog.since(sequence);
+  }
+
+  @GET
+  @Path("stream")
+  @Produces(MediaType.SERVER_SENT_EVENTS)
+  public void stream(
+      @Context SseEventSink sink,
+      @Context Sse sse,
+      @HeaderParam("Last-Event-ID") Long lastEventId,
+      @QueryParam("since") Long since) {
+    Long resumeFrom = lastEventId != null ? lastEventId : since;
+    long sequence = resumeFrom != null ? resumeFrom : changeEventLog.lastSequence();
+
+    if (!changeEventLog.canResumeFrom(sequence)) {
+      sink.send(
+          sse.newEventBuilder()
+              .name("reset")
+              .id(String.valueOf(changeEventLog.lastSequence()))
+              .data(String.class, "Changes after sequence " + sequence + " are not available.")
+              .build());
+      sequence = changeEventLog.lastSequence();
+    }
+
+    changeEventLog.subscribe(sequence, new Subscriber(sink, sse));
+  }
+
+  private class Subscriber implements Consumer<ChangeEvent> {
+    private final SseEventSink sink;
+    private final Sse sse;
+
+    Subscriber(SseEventSink sink, Sse sse) {
+      this.sink = sink;
+      this.sse = sse;
+    }
+
+    @Override
+    public void accept(ChangeEvent event) {
+      if (sink.isClosed()) {
+        changeEventLog.unsubscribe(this);
+        return;
+      }
+
+      OutboundSseEvent sseEvent =
+          sse.newEventBuilder()
+              .id(String.valueOf(event.sequence))
+              .name(event.entityType + "." + event.action.name().toLowerCase())
+              .mediaType(MediaType.APPLICATION_JSON_TYPE)
+              .data(ChangeEvent.class, event)
+              .build();
+      sink.send(sseEvent)
+          .whenComplete(
+              (ignored, failure) -> {
+                if (failure != null) {
+                  changeEventLog.unsubscribe(this);
+                  sink.close();
+                }
+              });
+    }
+  }
+}
@@ -0,0 +1,108 @@
+package com.fulfilment.application.monolith.events;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.ws.rs.core.EntityTag;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Cheap validators for collections and single entities, advanced by every committed change event:
+ * the sequence number of the last change, which makes the ETag. Entities that have not changed
+ * since startup share the startup version. The versions of at most {@code
+ * changes.versions.maximum-entities} entities are kept; once one is evicted, the entities of its
+ * type without a version of their own get the newest evicted one, so no client is told that a copy
+ * older than it is still current.
+ *
+ * <p>The versions only follow the changes committed by this instance, so they are only correct for
+ * a single instance serving the catalog: a change committed by another instance, or by writes that
+ * bypass the change events such as manual SQL, leaves them as they were until this instance
+ * publishes its next change of that entity or collection, or restarts. There is no Last-Modified:
+ * unlike the tags, which name the instance that issued them, a date would be honoured by every
+ * other instance as well.
+ */
+@ApplicationScoped
+public class ChangeVersions {
+
+  public static class Version {
+    public final long sequence;
+
+    private final String instanceId;
+
+    Version(long sequence, String instanceId) {
+      this.sequence = sequence;
+      this.instanceId = instanceId;
+    }
+
+    public EntityTag entityTag() {
+      return new EntityTag(instanceId + "-" + sequence);
+    }
+  }
+
+  @ConfigProperty(name = "changes.versions.maximum-entities", defaultValue = "100000")
+  long maximumEntities;
+
+  // sequences restart with the application, so tags carry the instance that issued them
+  private final String instanceId = UUID.randomUUID().toString().substring(0, 8);
+
+  private final Version initial = new Version(0, instanceId);
+
+  private final Map<String, Version> collections = new ConcurrentHashMap<>();
+
+  // the newest version evicted from entities, by entity type
+  private final Map<String, Version> evicted = new ConcurrentHashMap<>();
+
+  private Cache<String, Version> entities;
+
+  @PostConstruct
+  void init() {
+    entities =
+        Caffeine.newBuilder()
+            .maximumSize(maximumEntities)
+            // evicts on the writing thread, so the fallback is in place once the write returns
+            .executor(Runnable::run)
+            .evictionListener(
+                (String key, Version version, RemovalCause cause) ->
+                    evicted.merge(
+                        key.substring(0, key.indexOf(':')), version, ChangeVersions::newer))
+            .build();
+  }
+
+  public Version ofCollection(String entityType) {
+    return collections.getOrDefault(entityType, initial);
+  }
+
+  public Version ofEntity(String entityType, String entityId) {
+    Version version = entities.getIfPresent(entityType + ":" + entityId);
+    return version != null ? version : evicted.getOrDefault(entityType, initial);
+  }
+
+  void onChange(@Observes ChangeEvent event) {
+    collections.compute(event.entityType, (key, current) -> next(current, event));
+    entities
+        .asMap()
+        .compute(
+            event.entityType + ":" + event.entityId,
+            (key, current) ->
+                next(current != null ? current : evicted.get(event.entityType), event));
+  }
+
+  private Version next(Version current, ChangeEvent event) {
+    Version previous = current != null ? current : initial;
+    if (event.sequence < previous.sequence) {
+      // a change committed together with the current one, and observed after it
+      return previous;
+    }
+    return new Version(event.sequence, instanceId);
+  }
+
+  private static Version newer(Version a, Version b) {
+    return a.sequence >= b.sequence ? a : b;
+  }
+}
@@ -0,0 +1,21 @@
+package com.fulfilment.application.monolith.events;
+
+import jakarta.ws.rs.NameBinding;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a GET endpoint whose response only changes with the change events of {@link #value()}.
+ * With an {@code id} path parameter it serves that entity, otherwise the whole collection. See
+ * {@link ConditionalGetFilter}.
+ */
+@NameBinding
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConditionalGet {
+
+  /** The entity type, as in {@link ChangeEvent#entityType}. Only left empty on the filter. */
+  String value() default "";
+}
@@ -0,0 +1,62 @@
+package com.fulfilment.application.monolith.events;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.Provider;
+
+/**
+ * Answers If-None-Match of {@link ConditionalGet} endpoints with a 304 before the resource method
+ * runs, so neither the database query nor the JSON serialization happens. Other responses get the
+ * ETag of the version seen before the method ran, so a change committed meanwhile makes the next
+ * request fetch again rather than being missed. If-Modified-Since is not honoured: the versions are
+ * those of this instance only, see {@link ChangeVersions}.
+ */
+@Provider
+@ConditionalGet
+public class ConditionalGetFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+  private static final String VERSION_PROPERTY = ConditionalGetFilter.class.getName() + ".version";
+
+  @Inject ChangeVersions changeVersions;
+
+  @Context ResourceInfo resourceInfo;
+
+  @Override
+  public void filter(ContainerRequestContext request) {
+    if (!HttpMethod.GET.equals(request.getMethod())) {
+      return;
+    }
+
+    String entityType =
+        resourceInfo.getResourceMethod().getAnnotation(ConditionalGet.class).value();
+    String id = request.getUriInfo().getPathParameters().getFirst("id");
+    ChangeVersions.Version version =
+        id == null
+            ? changeVersions.ofCollection(entityType)
+            : changeVersions.ofEntity(entityType, id);
+    request.setProperty(VERSION_PROPERTY, version);
+
+    Response.ResponseBuilder notModified =
+        request.getRequest().evaluatePreconditions(version.entityTag());
+    if (notModified != null) {
+      request.abortWith(notModified.build());
+    }
+  }
+
+  @Override
+  public void filter(ContainerRequestContext request, ContainerResponseContext response) {
+    ChangeVersions.Version version = (ChangeVersions.Version) request.getProperty(VERSION_PROPERTY);
+    if (version == null || (response.getStatus() != 200 && response.getStatus() != 304)) {
+      return;
+    }
+    response.getHeaders().putSingle(HttpHeaders.ETAG, version.entityTag());
+  }
+}
@@ -0,0 +1,32 @@
+package com.fulfilment.application.monolith.events;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+
+/**
+ * Tells the change events of an entity that are newer than the last one seen from those that
+ * arrive late. The change event log fires its events on the committing threads, so two changes of
+ * one entity committed together can reach an observer out of sequence order; an observer applying
+ * the state of the payload skips the late one. The sequences are only kept for a minute, well past
+ * any such race, and for a bounded number of entities.
+ */
+public class LatestChanges {
+
+  private final Cache<String, Long> sequences =
+      Caffeine.newBuilder().maximumSize(100_000).expireAfterWrite(Duration.ofMinutes(1)).build();
+
+  /** Whether {@code event} is the newest change of its entity seen so far, recording it if so. */
+  public boolean isLatest(ChangeEvent event) {
+    boolean[] latest = new boolean[1];
+    sequences
+        .asMap()
+        .compute(
+            event.entityType + ":" + event.entityId,
+            (key, last) -> {
+              latest[0] = last == null || last < event.sequence;
+              return latest[0] ? event.sequence : last;
+            });
+    return latest[0];
+  }
+}
@@ -0,0 +1,163 @@
+package com.fulfilment.application.monolith.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+
+/**
+ * Streams the rows of a projection query straight to the response as CSV or NDJSON. Rows are read
+ * through a forward-only cursor of {@code export.fetch-size} rows and the persistence context is
+ * cleared after every chunk, so memory use does not grow with the size of the catalog.
+ */
+@ApplicationScoped
+public class CatalogExporter {
+
+  public enum Format {
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    final String mediaType;
+    final String extension;
+
+    Format(String mediaType, String extension) {
+      this.mediaType = mediaType;
+      this.extension = extension;
+    }
+  }
+
+  @Inject EntityManager entityManager;
+
+  @Inject ObjectMapper objectMapper;
+
+  @ConfigProperty(name = "export.fetch-size", defaultValue = "500")
+  int fetchSize;
+
+  @ConfigProperty(name = "export.transaction-timeout", defaultValue = "3600")
+  int transactionTimeoutSeconds;
+
+  /**
+   * @param name base name of the exported file
+   * @param query projection selecting {@code columns}, in that order
+   * @param format {@code csv} or {@code ndjson}
+   * @param acceptEncoding the request's Accept-Encoding, the export is gzipped if it allows gzip
+   */
+  public Response export(
+      String name, String query, List<String> columns, String format, String acceptEncoding) {
+    Format exportFormat = parseFormat(format);
+    boolean gzip =
+        acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+
+    StreamingOutput body =
+        output -> {
+          OutputStream stream = gzip ? new GZIPOutputStream(output) : output;
+          Writer writer =
+              new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8));
+          QuarkusTransaction.requiringNew()
+              .timeout(transactionTimeoutSeconds)
+              .run(() -> writeRows(writer, exportFormat, query, columns));
+          writer.flush();
+          if (gzip) {
+            ((GZIPOutputStream) stream).finish();
+          }
+        };
+
+    Response.ResponseBuilder response =
+        Response.ok(body, exportFormat.mediaType + "; charset=UTF-8")
+            .header(
+                "Content-Disposition",
+                "attachment; filename=\"" + name + "." + exportFormat.extension + "\"");
+    if (gzip) {
+      response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+    }
+    return response.build();
+  }
+
+  private void writeRows(Writer writer, Format format, String query, List<String> columns) {
+    Session session = entityManager.unwrap(Session.class);
+    try (ScrollableResults<Object[]> rows =
+        session
+            .createQuery(query, Object[].class)
+            .setReadOnly(true)
+            .setFetchSize(fetchSize)
+            .scroll(ScrollMode.FORWARD_ONLY)) {
+      if (format == Format.CSV) {
+        writeCsvLine(writer, columns.toArray());
+      }
+      long count = 0;
+      while (rows.next()) {
+        Object[] row = rows.get();
+        if (format == Format.CSV) {
+          writeCsvLine(writer, row);
+        } else {
+          Map<String, Object> json = new LinkedHashMap<>();
+          for (int i = 0; i < columns.size(); i++) {
+            json.put(columns.get(i), row[i]);
+          }
+          writer.write(objectMapper.writeValueAsString(json));
+          writer.write('\n');
+        }
+        if (++count % fetchSize == 0) {
+          session.clear();
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static void writeCsvLine(Writer writer, Object[] values) throws IOException {
+    for (int i = 0; i < values.length; i++) {
+      if (i > 0) {
+        writer.write(',');
+      }
+      if (values[i] instanceof BigDecimal) {
+        writer.write(((BigDecimal) values[i]).toPlainString());
+      } else if (values[i] != null) {
+        writer.write(csvValue(values[i].toString()));
+      }
+    }
+    writer.write("\r\n");
+  }
+
+  static String csvValue(String value) {
+    if (value.indexOf(',') < 0
+        && value.indexOf('"') < 0
+        && value.indexOf('\n') < 0
+        && value.indexOf('\r') < 0) {
+      return value;
+    }
+    return '"' + value.replace("\"", "\"\"") + '"';
+  }
+
+  private static Format parseFormat(String format) {
+    try {
+      return Format.valueOf(format.toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException | NullPointerException e) {
+      throw new WebApplicationException(
+          "Export format " + format + " is not supported, use csv or ndjson.", 422);
+    }
+  }
+}
@@ -0,0 +1,79 @@
+package com.fulfilment.application.monolith.lookup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter of names. {@link #mightContain(String)} never misses a name that was
+ * put, and is wrong about a name that was not put with roughly the false positive rate it was
+ * sized for. Safe for concurrent use.
+ */
+public class NameBloomFilter {
+
+  private final AtomicLongArray words;
+
+  private final long bits;
+
+  private final int hashes;
+
+  NameBloomFilter(long bits, int hashes) {
+    this.words = new AtomicLongArray((int) Math.max(1, (bits + 63) / 64));
+    this.bits = words.length() * 64L;
+    this.hashes = hashes;
+  }
+
+  /** Sized for {@code expectedNames} names at the given false positive rate. */
+  public static NameBloomFilter create(long expectedNames, double falsePositiveRate) {
+    long n = Math.max(1, expectedNames);
+    long bits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+    int hashes = Math.max(1, (int) Math.round((double) bits / n * Math.log(2)));
+    return new NameBloomFilter(Math.min(bits, Integer.MAX_VALUE * 64L), hashes);
+  }
+
+  public void put(String name) {
+    long hash1 = hash(name);
+    long hash2 = mix(hash1);
+    for (int i = 0; i < hashes; i++) {
+      long bit = Math.floorMod(hash1 + i * hash2, bits);
+      int word = (int) (bit >>> 6);
+      long mask = 1L << bit;
+      long current;
+      while (((current = words.get(word)) & mask) == 0
+          && !words.compareAndSet(word, current, current | mask)) {
+        // lost a race with another put on the same word, retry
+      }
+    }
+  }
+
+  public boolean mightContain(String name) {
+    long hash1 = hash(name);
+    long hash2 = mix(hash1);
+    for (int i = 0; i < hashes; i++) {
+      long bit = Math.floorMod(hash1 + i * hash2, bits);
+      if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // 64-bit FNV-1a over the UTF-8 bytes
+  private static long hash(String name) {
+    long hash = 0xcbf29ce484222325L;
+    for (byte b : name.getBytes(StandardCharsets.UTF_8)) {
+      hash ^= b & 0xff;
+      hash *= 0x100000001b3L;
+    }
+    return mix(hash);
+  }
+
+  // murmur3 finalizer, the second hash is forced odd so it never degenerates to a single bit
+  private static long mix(long value) {
+    value ^= value >>> 33;
+    value *= 0xff51afd7ed558ccdL;
+    value ^= value >>> 33;
+    value *= 0xc4ceb9fe1a85ec53L;
+    value ^= value >>> 33;
+    return value | 1;
+  }
+}
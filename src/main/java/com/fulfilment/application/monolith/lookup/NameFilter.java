@@ -0,0 +1,58 @@
+package com.fulfilment.application.monolith.lookup;
+
+import java.util.function.Consumer;
+
+/**
+ * Bloom filter of the names in use by one entity type, so creates can skip the name lookup for
+ * names that are definitely new. Names are only ever added, so it is rebuilt from the database now
+ * and then to drop renamed and deleted names and to resize. Until it is first built every name
+ * might exist.
+ */
+public class NameFilter {
+
+  private final double falsePositiveRate;
+
+  private volatile NameBloomFilter current;
+
+  // filled by a rebuild in progress, names added meanwhile go into both
+  private NameBloomFilter building;
+
+  public NameFilter(double falsePositiveRate) {
+    this.falsePositiveRate = falsePositiveRate;
+  }
+
+  public boolean mightExist(String name) {
+    NameBloomFilter filter = current;
+    return filter == null || filter.mightContain(name);
+  }
+
+  public synchronized void add(String name) {
+    if (current != null) {
+      current.put(name);
+    }
+    if (building != null) {
+      building.put(name);
+    }
+  }
+
+  /**
+   * Replaces the filter with one sized for {@code expectedNames} and filled with the names passed
+   * to the consumer by {@code names}.
+   */
+  public void rebuild(long expectedNames, Consumer<Consumer<String>> names) {
+    NameBloomFilter filter = NameBloomFilter.create(expectedNames, falsePositiveRate);
+    synchronized (this) {
+      building = filter;
+    }
+    try {
+      names.accept(filter::put);
+      synchronized (this) {
+        current = filter;
+      }
+    } finally {
+      synchronized (this) {
+        building = null;
+      }
+    }
+  }
+}
@@ -0,0 +1,103 @@
+package com.fulfilment.application.monolith.lookup;
+
+import com.fulfilment.application.monolith.events.ChangeEvent;
+import com.fulfilment.application.monolith.products.Product;
+import com.fulfilment.application.monolith.stores.Store;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+/**
+ * Name filters of stores and products, built at startup, fed by their committed changes and
+ * rebuilt every {@code lookup.name-filter.rebuild-interval}.
+ */
+@ApplicationScoped
+public class NameFilters {
+
+  private static final Logger LOGGER = Logger.getLogger(NameFilters.class.getName());
+
+  @ConfigProperty(name = "lookup.name-filter.minimum-size", defaultValue = "100000")
+  long minimumSize;
+
+  @ConfigProperty(name = "lookup.name-filter.false-positive-rate", defaultValue = "0.01")
+  double falsePositiveRate;
+
+  @Inject EntityManager entityManager;
+
+  private NameFilter stores;
+
+  private NameFilter products;
+
+  @PostConstruct
+  void init() {
+    stores = new NameFilter(falsePositiveRate);
+    products = new NameFilter(falsePositiveRate);
+  }
+
+  public NameFilter stores() {
+    return stores;
+  }
+
+  public NameFilter products() {
+    return products;
+  }
+
+  void onStart(@Observes StartupEvent event) {
+    rebuild();
+  }
+
+  @Scheduled(
+      every = "${lookup.name-filter.rebuild-interval:1h}",
+      delayed = "${lookup.name-filter.rebuild-interval:1h}",
+      concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+  void scheduledRebuild() {
+    try {
+      rebuild();
+    } catch (RuntimeException e) {
+      // the current filters stay valid, they only grow less selective
+      LOGGER.warn("Failed to rebuild the name filters", e);
+    }
+  }
+
+  public void rebuild() {
+    QuarkusTransaction.requiringNew()
+        .run(
+            () -> {
+              rebuild(stores, "Store");
+              rebuild(products, "Product");
+            });
+  }
+
+  // sized for twice the current names, so it stays selective while names are added
+  private void rebuild(NameFilter filter, String entity) {
+    long count =
+        entityManager
+            .createQuery(
+                "select count(e) from " + entity + " e where e.name is not null", Long.class)
+            .getSingleResult();
+    filter.rebuild(
+        Math.max(minimumSize, 2 * count),
+        names ->
+            entityManager
+                .createQuery(
+                    "select e.name from " + entity + " e where e.name is not null", String.class)
+                .setHint("org.hibernate.fetchSize", 1000)
+                .getResultStream()
+                .forEach(names));
+  }
+
+  void onChange(@Observes ChangeEvent event) {
+    if (event.payload instanceof Store && ((Store) event.payload).name != null) {
+      stores.add(((Store) event.payload).name);
+    } else if (event.payload instanceof Product && ((Product) event.payload).name != null) {
+      products.add(((Product) event.payload).name);
+    }
+  }
+}
@@ -0,0 +1,79 @@
+package com.fulfilment.application.monolith.lookup;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Caches which id a unique name belongs to, and a separate, bounded set of names known not to
+ * exist. Only ids are cached, the entity itself comes from the second-level cache, so stock and
+ * other field changes never make a lookup stale. Renames, creates and deletes are reported
+ * through {@link #changed(Long, String)}.
+ */
+public class NameLookupCache {
+
+  private final Cache<String, Long> idsByName;
+
+  // reverse mapping, to drop the old name of a renamed or deleted entity
+  private final Cache<Long, String> namesById;
+
+  private final Cache<String, Boolean> missingNames;
+
+  // bumped on every change, so a load racing with a change is not cached
+  private final AtomicLong generation = new AtomicLong();
+
+  public NameLookupCache(long maximumSize, long maximumMisses, Duration missExpiry) {
+    this.idsByName = Caffeine.newBuilder().maximumSize(maximumSize).build();
+    this.namesById = Caffeine.newBuilder().maximumSize(maximumSize).build();
+    this.missingNames =
+        Caffeine.newBuilder().maximumSize(maximumMisses).expireAfterWrite(missExpiry).build();
+  }
+
+  /** The id of the entity named {@code name}, or null when there is none. */
+  public Long idOf(String name, Function<String, Long> loader) {
+    Long id = idsByName.getIfPresent(name);
+    if (id != null || missingNames.getIfPresent(name) != null) {
+      return id;
+    }
+
+    long loadedAt = generation.get();
+    id = loader.apply(name);
+    if (generation.get() == loadedAt) {
+      if (id != null) {
+        idsByName.put(name, id);
+        namesById.put(id, name);
+      } else {
+        missingNames.put(name, Boolean.TRUE);
+      }
+    }
+    return id;
+  }
+
+  /** Reports that the entity with {@code id} is now named {@code name}, null when deleted. */
+  public void changed(Long id, String name) {
+    String previous = namesById.getIfPresent(id);
+    if (previous != null && previous.equals(name)) {
+      return;
+    }
+
+    generation.incrementAndGet();
+    if (previous != null) {
+      idsByName.invalidate(previous);
+      namesById.invalidate(id);
+    }
+    if (name != null) {
+      missingNames.invalidate(name);
+    }
+  }
+
+  public void evict(String name, Long id) {
+    generation.incrementAndGet();
+    idsByName.invalidate(name);
+    if (id != null && Objects.equals(namesById.getIfPresent(id), name)) {
+      namesById.invalidate(id);
+    }
+  }
+}
@@ -0,0 +1,52 @@
+package com.fulfilment.application.monolith.lookup;
+
+import com.fulfilment.application.monolith.events.ChangeEvent;
+import com.fulfilment.application.monolith.products.Product;
+import com.fulfilment.application.monolith.stores.Store;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import java.time.Duration;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/** Name lookup caches of stores and products, invalidated by their committed changes. */
+@ApplicationScoped
+public class NameLookupCaches {
+
+  @ConfigProperty(name = "lookup.by-name.maximum-size", defaultValue = "10000")
+  long maximumSize;
+
+  @ConfigProperty(name = "lookup.by-name.maximum-misses", defaultValue = "10000")
+  long maximumMisses;
+
+  @ConfigProperty(name = "lookup.by-name.miss-expiry", defaultValue = "60s")
+  Duration missExpiry;
+
+  private NameLookupCache stores;
+
+  private NameLookupCache products;
+
+  @PostConstruct
+  void init() {
+    stores = new NameLookupCache(maximumSize, maximumMisses, missExpiry);
+    products = new NameLookupCache(maximumSize, maximumMisses, missExpiry);
+  }
+
+  public NameLookupCache stores() {
+    return stores;
+  }
+
+  public NameLookupCache products() {
+    return products;
+  }
+
+  void onChange(@Observes ChangeEvent event) {
+    if (ChangeEvent.STORE.equals(event.entityType)) {
+      String name = event.payload instanceof Store ? ((Store) event.payload).name : null;
+      stores.changed(Long.valueOf(event.entityId), name);
+    } else if (ChangeEvent.PRODUCT.equals(event.entityType)) {
+      String name = event.payload instanceof Product ? ((Product) event.payload).name : null;
+      products.changed(Long.valueOf(event.entityId), name);
+    }
+  }
+}
@@ -0,0 +1,16 @@
+package com.fulfilment.application.monolith.metrics;
+
+import jakarta.interceptor.InterceptorBinding;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Counts the {@code RuleViolationException}s thrown by a bean's methods per rule, see {@link
+ * RuleViolationCounter}.
+ */
+@InterceptorBinding
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CountRuleViolations {}
@@ -0,0 +1,18 @@
+package com.fulfilment.application.monolith.metrics;
+
+import jakarta.enterprise.context.RequestScoped;
+
+/** Number of SQL statements prepared while handling the current request. */
+@RequestScoped
+public class RequestSqlStatements {
+
+  private int count;
+
+  void increment() {
+    count++;
+  }
+
+  public int count() {
+    return count;
+  }
+}
@@ -0,0 +1,33 @@
+package com.fulfilment.application.monolith.metrics;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.RuleViolationException;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+
+/**
+ * Increments {@code validation.failures}, tagged with the rule, for every rule violation thrown by
+ * a {@link CountRuleViolations} bean. The domain classes throwing them stay free of metrics.
+ */
+@CountRuleViolations
+@Interceptor
+@Priority(Interceptor.Priority.APPLICATION)
+public class RuleViolationCounter {
+
+  public static final String METRIC = "validation.failures";
+
+  @Inject MeterRegistry meterRegistry;
+
+  @AroundInvoke
+  Object count(InvocationContext context) throws Exception {
+    try {
+      return context.proceed();
+    } catch (RuleViolationException e) {
+      meterRegistry.counter(METRIC, "rule", e.rule).increment();
+      throw e;
+    }
+  }
+}
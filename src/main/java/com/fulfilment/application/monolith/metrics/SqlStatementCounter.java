@@ -0,0 +1,26 @@
+package com.fulfilment.application.monolith.metrics;
+
+import io.quarkus.arc.Arc;
+import io.quarkus.hibernate.orm.PersistenceUnitExtension;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on behalf of a request. Statements of background
+ * work, which runs without a request context, are not counted.
+ */
+@PersistenceUnitExtension
+@ApplicationScoped
+public class SqlStatementCounter implements StatementInspector {
+
+  @Inject RequestSqlStatements requestSqlStatements;
+
+  @Override
+  public String inspect(String sql) {
+    if (Arc.container().requestContext().isActive()) {
+      requestSqlStatements.increment();
+    }
+    return sql;
+  }
+}
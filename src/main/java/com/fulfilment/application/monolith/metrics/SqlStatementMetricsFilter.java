@@ -0,0 +1,53 @@
+package com.fulfilment.application.monolith.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.ext.Provider;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records the number of SQL statements of each request in {@code http.server.sql.statements},
+ * tagged with the resource method that handled it, so endpoints issuing more queries than they
+ * should stand out.
+ */
+@Provider
+public class SqlStatementMetricsFilter implements ContainerResponseFilter {
+
+  public static final String METRIC = "http.server.sql.statements";
+
+  @Inject MeterRegistry meterRegistry;
+
+  @Inject RequestSqlStatements requestSqlStatements;
+
+  @Context ResourceInfo resourceInfo;
+
+  private final Map<Method, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+  @Override
+  public void filter(ContainerRequestContext request, ContainerResponseContext response) {
+    Method method = resourceInfo.getResourceMethod();
+    if (method == null) {
+      return;
+    }
+    summaries
+        .computeIfAbsent(method, m -> summary(resourceInfo.getResourceClass(), m))
+        .record(requestSqlStatements.count());
+  }
+
+  private DistributionSummary summary(Class<?> resourceClass, Method method) {
+    String endpoint = resourceClass.getSimpleName() + "." + method.getName();
+    return DistributionSummary.builder(METRIC)
+        .description("SQL statements prepared per request")
+        .tag("endpoint", endpoint)
+        .publishPercentileHistogram()
+        .register(meterRegistry);
+  }
+}
@@ -0,0 +1,35 @@
+package com.fulfilment.application.monolith.nativeimage;
+
+import com.fulfilment.application.monolith.alerts.LowStockAlert;
+import com.fulfilment.application.monolith.events.ChangeEvent;
+import com.fulfilment.application.monolith.products.Product;
+import com.fulfilment.application.monolith.products.StockReservation;
+import com.fulfilment.application.monolith.stores.Store;
+import com.fulfilment.application.monolith.warehouses.adapters.database.DbWarehouse;
+import com.fulfilment.application.monolith.warehouses.adapters.database.StoreWarehouseProduct;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+/**
+ * Types Jackson serializes in the native image that the extensions cannot see as REST parameters
+ * or return types: change event payloads are typed {@code Object}, Server-Sent Events are written
+ * through {@code Sse}, and entities are returned in a {@code Response}. The generated {@code
+ * com.warehouse.api} beans and the entities are registered by the REST and ORM extensions too,
+ * they are listed so that the native build does not depend on how a resource declares them.
+ */
+@RegisterForReflection(
+    targets = {
+      com.warehouse.api.beans.Warehouse.class,
+      Warehouse.class,
+      ChangeEvent.class,
+      LowStockAlert.class,
+      Store.class,
+      Product.class,
+      StockReservation.class,
+      DbWarehouse.class,
+      StoreWarehouseProduct.class
+    })
+public final class ReflectionRegistrations {
+
+  private ReflectionRegistrations() {}
+}
@@ -1,16 +1,21 @@
 package com.fulfilment.application.monolith.products;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.quarkus.hibernate.orm.panache.PanacheEntity;
 import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import org.hibernate.annotations.SQLRestriction;
 
+// names are unique among live products only, see the partial index in import.sql
 @Entity
 @Cacheable
+@SQLRestriction("deletedAt is null")
 public class Product extends PanacheEntity {
 
-  @Column(length = 40, unique = true)
+  @Column(length = 40)
   public String name;
 
   @Column(nullable = true)
@@ -19,8 +24,12 @@ public class Product extends PanacheEntity {
   @Column(precision = 10, scale = 2, nullable = true)
   public BigDecimal price;
 
+  // leaves out the stock handed to the reservation slots until the sweep returns it, see StockSlots
   public int stock;
 
+  // tombstone of a deleted product, until the compactor purges the row
+  @JsonIgnore public LocalDateTime deletedAt;
+
   public Product() {}
 
   public Product(String name) {
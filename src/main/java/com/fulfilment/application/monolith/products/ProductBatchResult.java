@@ -0,0 +1,47 @@
+package com.fulfilment.application.monolith.products;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ProductBatchResult {
+
+  public static class Outcome {
+    // position of the patch in the request
+    public int index;
+
+    public Long id;
+
+    public String name;
+
+    public int status;
+
+    public String error;
+
+    public Outcome() {}
+
+    Outcome(int index, ProductPatch patch, int status, String error) {
+      this.index = index;
+      if (patch != null) {
+        this.id = patch.id;
+        this.name = patch.name;
+      }
+      this.status = status;
+      this.error = error;
+    }
+  }
+
+  public int updated;
+
+  public int failed;
+
+  public List<Outcome> outcomes = new ArrayList<>();
+
+  void add(Outcome outcome) {
+    outcomes.add(outcome);
+    if (outcome.status == 200) {
+      updated++;
+    } else {
+      failed++;
+    }
+  }
+}
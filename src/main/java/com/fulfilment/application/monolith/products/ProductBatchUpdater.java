@@ -0,0 +1,129 @@
+package com.fulfilment.application.monolith.products;
+
+import com.fulfilment.application.monolith.events.ChangeEvent;
+import com.fulfilment.application.monolith.events.ChangeEventPublisher;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+/**
+ * Applies product patches in chunks of {@code product.batch.chunk-size}, each in its own
+ * transaction. The products of a chunk are loaded with one query per key type and changed in place,
+ * so the flush sends their UPDATEs in JDBC batches. A chunk that fails to commit only fails its own
+ * patches.
+ */
+@ApplicationScoped
+public class ProductBatchUpdater {
+
+  private static final Logger LOGGER = Logger.getLogger(ProductBatchUpdater.class.getName());
+
+  @Inject ProductRepository productRepository;
+
+  @Inject ChangeEventPublisher changeEventPublisher;
+
+  @Inject StockSlots stockSlots;
+
+  @ConfigProperty(name = "product.batch.chunk-size", defaultValue = "500")
+  int chunkSize;
+
+  public ProductBatchResult apply(List<ProductPatch> patches) {
+    ProductBatchResult result = new ProductBatchResult();
+    for (int from = 0; from < patches.size(); from += chunkSize) {
+      int offset = from;
+      List<ProductPatch> chunk = patches.subList(from, Math.min(from + chunkSize, patches.size()));
+      try {
+        QuarkusTransaction.requiringNew()
+            .call(() -> applyChunk(offset, chunk))
+            .forEach(result::add);
+      } catch (RuntimeException e) {
+        LOGGER.warnf(e, "Failed to apply product patches %d to %d", from, from + chunk.size() - 1);
+        for (int i = 0; i < chunk.size(); i++) {
+          result.add(
+              new ProductBatchResult.Outcome(
+                  offset + i, chunk.get(i), 500, "The batch chunk could not be committed."));
+        }
+      }
+    }
+    return result;
+  }
+
+  private List<ProductBatchResult.Outcome> applyChunk(int offset, List<ProductPatch> chunk) {
+    List<Long> ids = new ArrayList<>();
+    List<String> names = new ArrayList<>();
+    for (ProductPatch patch : chunk) {
+      if (patch == null) {
+        continue;
+      }
+      if (patch.id != null) {
+        ids.add(patch.id);
+      } else if (patch.name != null) {
+        names.add(patch.name);
+      }
+    }
+
+    Map<Long, Product> byId = new HashMap<>();
+    Map<String, Product> byName = new HashMap<>();
+    if (!ids.isEmpty()) {
+      productRepository.list("id in ?1", ids).forEach(product -> byId.put(product.id, product));
+    }
+    if (!names.isEmpty()) {
+      productRepository
+          .list("name in ?1", names)
+          .forEach(product -> byName.put(product.name, product));
+    }
+
+    List<ProductBatchResult.Outcome> outcomes = new ArrayList<>(chunk.size());
+    Map<Long, Product> changed = new HashMap<>();
+    // products whose stock is overwritten, their reservation slots are discarded in id order
+    Map<Long, Product> restocked = new TreeMap<>();
+    for (int i = 0; i < chunk.size(); i++) {
+      ProductPatch patch = chunk.get(i);
+      if (patch == null) {
+        outcomes.add(new ProductBatchResult.Outcome(offset + i, null, 422, "Patch was null."));
+        continue;
+      }
+      if (patch.id == null && patch.name == null) {
+        outcomes.add(
+            new ProductBatchResult.Outcome(offset + i, patch, 422, "Neither id nor name was set."));
+        continue;
+      }
+
+      Product product = patch.id != null ? byId.get(patch.id) : byName.get(patch.name);
+      if (product == null) {
+        outcomes.add(
+            new ProductBatchResult.Outcome(offset + i, patch, 404, "Product does not exist."));
+        continue;
+      }
+
+      if (patch.description != null) {
+        product.description = patch.description;
+      }
+      if (patch.price != null) {
+        product.price = patch.price;
+      }
+      if (patch.stock != null) {
+        product.stock = patch.stock;
+        restocked.put(product.id, product);
+      }
+      changed.put(product.id, product);
+      ProductBatchResult.Outcome outcome =
+          new ProductBatchResult.Outcome(offset + i, patch, 200, null);
+      outcome.id = product.id;
+      outcomes.add(outcome);
+    }
+
+    restocked.values().forEach(stockSlots::discard);
+    for (Product product : changed.values()) {
+      changeEventPublisher.publish(
+          ChangeEvent.PRODUCT, product.id, ChangeEvent.Action.UPDATED, product);
+    }
+    return outcomes;
+  }
+}
@@ -0,0 +1,47 @@
+package com.fulfilment.application.monolith.products;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in the product listing, which is ordered by name and then id. It is handed to clients as
+ * an opaque token, so the next page can be read with a keyset condition instead of an offset.
+ */
+public class ProductCursor {
+
+  public final String name;
+
+  public final Long id;
+
+  public ProductCursor(String name, Long id) {
+    this.name = name;
+    this.id = id;
+  }
+
+  public String encode() {
+    String position = name == null ? String.valueOf(id) : id + ":" + name;
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(position.getBytes(StandardCharsets.UTF_8));
+  }
+
+  public static ProductCursor decode(String token) {
+    String position;
+    try {
+      position = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Cursor " + token + " is not valid.", e);
+    }
+
+    int separator = position.indexOf(':');
+    try {
+      if (separator < 0) {
+        return new ProductCursor(null, Long.valueOf(position));
+      }
+      return new ProductCursor(
+          position.substring(separator + 1), Long.valueOf(position.substring(0, separator)));
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Cursor " + token + " is not valid.", e);
+    }
+  }
+}
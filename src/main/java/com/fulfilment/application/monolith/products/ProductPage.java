@@ -0,0 +1,16 @@
+package com.fulfilment.application.monolith.products;
+
+import java.util.List;
+
+/** One page of the product listing, and where the next page starts if there is one. */
+public class ProductPage<T> {
+
+  public final List<T> items;
+
+  public final ProductCursor next;
+
+  public ProductPage(List<T> items, ProductCursor next) {
+    this.items = items;
+    this.next = next;
+  }
+}
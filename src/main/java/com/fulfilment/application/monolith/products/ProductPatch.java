@@ -0,0 +1,27 @@
+package com.fulfilment.application.monolith.products;
+
+import java.math.BigDecimal;
+
+/**
+ * Partial update of one product, identified by its id or, when no id is given, by its name. Fields
+ * left null are not changed.
+ */
+public class ProductPatch {
+
+  public Long id;
+
+  public String name;
+
+  public String description;
+
+  public BigDecimal price;
+
+  public Integer stock;
+
+  public ProductPatch() {}
+
+  public ProductPatch(Long id, String name) {
+    this.id = id;
+    this.name = name;
+  }
+}
@@ -2,6 +2,132 @@ package com.fulfilment.application.monolith.products;
 
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @ApplicationScoped
-public class ProductRepository implements PanacheRepository<Product> {}
+public class ProductRepository implements PanacheRepository<Product> {
+
+  /** Fields a product listing can be narrowed down to, in the order they are rendered. */
+  public static final List<String> FIELDS = List.of("id", "name", "description", "price", "stock");
+
+  /**
+   * Like the default, but also treats tombstoned products as missing: queries exclude them, a
+   * second-level cache hit does not.
+   */
+  @Override
+  public Product findById(Long id) {
+    Product product = getEntityManager().find(Product.class, id);
+    return product != null && product.deletedAt == null ? product : null;
+  }
+
+  public Long findIdByName(String name) {
+    return getEntityManager()
+        .createQuery("select p.id from Product p where p.name = ?1", Long.class)
+        .setParameter(1, name)
+        .getResultStream()
+        .findFirst()
+        .orElse(null);
+  }
+
+  /**
+   * Products after {@code after} in (name, id) order. At most {@code limit} are returned, unless
+   * {@code limit} is null.
+   */
+  public ProductPage<Product> listPage(ProductCursor after, Integer limit) {
+    TypedQuery<Product> query =
+        getEntityManager()
+            .createQuery(
+                "select p from Product p" + keysetCondition(after) + " order by p.name, p.id",
+                Product.class);
+    List<Product> products = page(query, after, limit).getResultList();
+
+    ProductCursor next = null;
+    if (limit != null && products.size() > limit) {
+      products = products.subList(0, limit);
+      Product last = products.get(limit - 1);
+      next = new ProductCursor(last.name, last.id);
+    }
+    return new ProductPage<>(products, next);
+  }
+
+  /**
+   * Like {@link #listPage(ProductCursor, Integer)}, but only reads the given {@link #FIELDS} from
+   * the database, and returns them by field name.
+   */
+  public ProductPage<Map<String, Object>> listFields(
+      Set<String> fields, ProductCursor after, Integer limit) {
+    // name and id are always read, they are needed for the cursor of the next page
+    Set<String> columns = new LinkedHashSet<>(fields);
+    columns.add("name");
+    columns.add("id");
+    String select =
+        columns.stream()
+            .map(field -> "p." + field + " as " + field)
+            .collect(Collectors.joining(", "));
+
+    TypedQuery<Tuple> query =
+        getEntityManager()
+            .createQuery(
+                "select "
+                    + select
+                    + " from Product p"
+                    + keysetCondition(after)
+                    + " order by p.name, p.id",
+                Tuple.class);
+    List<Tuple> tuples = page(query, after, limit).getResultList();
+
+    ProductCursor next = null;
+    if (limit != null && tuples.size() > limit) {
+      tuples = tuples.subList(0, limit);
+      Tuple last = tuples.get(limit - 1);
+      next = new ProductCursor(last.get("name", String.class), last.get("id", Long.class));
+    }
+
+    List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+    for (Tuple tuple : tuples) {
+      Map<String, Object> row = new LinkedHashMap<>();
+      for (String field : FIELDS) {
+        if (fields.contains(field)) {
+          row.put(field, tuple.get(field));
+        }
+      }
+      rows.add(row);
+    }
+    return new ProductPage<>(rows, next);
+  }
+
+  // null names sort last, like they do in PostgreSQL
+  private static String keysetCondition(ProductCursor after) {
+    if (after == null) {
+      return "";
+    }
+    if (after.name == null) {
+      return " where p.name is null and p.id > :afterId";
+    }
+    return " where p.name > :afterName"
+        + " or (p.name = :afterName and p.id > :afterId)"
+        + " or p.name is null";
+  }
+
+  private static <T> TypedQuery<T> page(TypedQuery<T> query, ProductCursor after, Integer limit) {
+    if (after != null) {
+      query.setParameter("afterId", after.id);
+      if (after.name != null) {
+        query.setParameter("afterName", after.name);
+      }
+    }
+    if (limit != null) {
+      // one more than asked for tells whether there is a next page
+      query.setMaxResults(limit + 1);
+    }
+    return query;
+  }
+}
@@ -1,24 +1,40 @@
 package com.fulfilment.application.monolith.products;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fulfilment.application.monolith.coalescing.Coalesced;
+import com.fulfilment.application.monolith.events.ChangeEvent;
+import com.fulfilment.application.monolith.events.ChangeEventPublisher;
+import com.fulfilment.application.monolith.events.ConditionalGet;
+import com.fulfilment.application.monolith.export.CatalogExporter;
+import com.fulfilment.application.monolith.lookup.NameFilters;
+import com.fulfilment.application.monolith.lookup.NameLookupCache;
+import com.fulfilment.application.monolith.lookup.NameLookupCaches;
+import com.fulfilment.application.monolith.querycache.QueryCacheRegions;
 import io.quarkus.panache.common.Sort;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.DefaultValue;
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.PATCH;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.Response;
-import jakarta.ws.rs.ext.ExceptionMapper;
-import jakarta.ws.rs.ext.Provider;
+import jakarta.ws.rs.core.UriInfo;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
 import java.util.List;
-import org.jboss.logging.Logger;
+import java.util.Set;
 
 @Path("product")
 @ApplicationScoped
@@ -28,15 +44,101 @@ public class ProductResource {
 
   @Inject ProductRepository productRepository;
 
-  private static final Logger LOGGER = Logger.getLogger(ProductResource.class.getName());
+  @Inject ChangeEventPublisher changeEventPublisher;
 
+  @Inject NameLookupCaches nameLookupCaches;
+
+  @Inject NameFilters nameFilters;
+
+  @Inject ProductSearchIndex productSearchIndex;
+
+  @Inject ProductBatchUpdater productBatchUpdater;
+
+  @Inject StockReservationService stockReservationService;
+
+  @Inject StockSlots stockSlots;
+
+  @Inject CatalogExporter catalogExporter;
+
+  private static final int MAX_PAGE_SIZE = 500;
+
+  /**
+   * Lists all products by name. With {@code fields} only the given fields are read and returned,
+   * and with {@code limit} the listing is paged: the {@code Link} header of a full page points to
+   * the next one, which starts after the opaque {@code after} cursor.
+   */
   @GET
-  public List<Product> get() {
-    return productRepository.listAll(Sort.by("name"));
+  @ConditionalGet(ChangeEvent.PRODUCT)
+  public Response get(
+      @QueryParam("fields") String fields,
+      @QueryParam("limit") Integer limit,
+      @QueryParam("after") String after,
+      @Context UriInfo uriInfo) {
+    if (fields == null && limit == null && after == null) {
+      List<Product> products =
+          QueryCacheRegions.cached(
+                  productRepository.findAll(Sort.by("name")), QueryCacheRegions.PRODUCTS_BY_NAME)
+              .list();
+      return Response.ok(products).build();
+    }
+
+    if (limit != null && (limit < 1 || limit > MAX_PAGE_SIZE)) {
+      throw new WebApplicationException("Limit must be between 1 and " + MAX_PAGE_SIZE + ".", 422);
+    }
+    ProductCursor cursor;
+    try {
+      cursor = after != null ? ProductCursor.decode(after) : null;
+    } catch (IllegalArgumentException e) {
+      throw new WebApplicationException(e.getMessage(), 422);
+    }
+
+    ProductPage<?> page =
+        fields != null
+            ? productRepository.listFields(parseFields(fields), cursor, limit)
+            : productRepository.listPage(cursor, limit);
+
+    Response.ResponseBuilder response = Response.ok(page.items);
+    if (page.next != null) {
+      URI next =
+          uriInfo.getRequestUriBuilder().replaceQueryParam("after", page.next.encode()).build();
+      response.link(next, "next");
+    }
+    return response.build();
+  }
+
+  private static Set<String> parseFields(String fields) {
+    Set<String> selected = new LinkedHashSet<>();
+    for (String field : fields.split(",")) {
+      String trimmed = field.trim();
+      if (!ProductRepository.FIELDS.contains(trimmed)) {
+        throw new WebApplicationException(
+            "Unknown field " + trimmed + ", expected any of " + ProductRepository.FIELDS + ".",
+            422);
+      }
+      selected.add(trimmed);
+    }
+    return selected;
+  }
+
+  /** Streams all products as {@code format} csv or ndjson, gzipped if the client accepts it. */
+  @GET
+  @Path("export")
+  @Produces({"text/csv", "application/x-ndjson"})
+  public Response export(
+      @QueryParam("format") @DefaultValue("ndjson") String format,
+      @HeaderParam(HttpHeaders.ACCEPT_ENCODING) String acceptEncoding) {
+    return catalogExporter.export(
+        "products",
+        "select p.id, p.name, p.description, p.price, p.stock from Product p order by p.id",
+        ProductRepository.FIELDS,
+        format,
+        acceptEncoding);
   }
 
   @GET
   @Path("{id}")
+  @ConditionalGet(ChangeEvent.PRODUCT)
+  @Coalesced(ChangeEvent.PRODUCT)
   public Product getSingle(Long id) {
     Product entity = productRepository.findById(id);
     if (entity == null) {
@@ -45,14 +147,58 @@ public class ProductResource {
     return entity;
   }
 
+  @GET
+  @Path("search")
+  public ProductSearchResult search(
+      @QueryParam("q") String query,
+      @QueryParam("minPrice") BigDecimal minPrice,
+      @QueryParam("maxPrice") BigDecimal maxPrice,
+      @QueryParam("minStock") Integer minStock,
+      @QueryParam("maxStock") Integer maxStock,
+      @QueryParam("page") @DefaultValue("0") int page,
+      @QueryParam("size") @DefaultValue("20") int size) {
+    if (page < 0 || size < 1 || size > 100) {
+      throw new WebApplicationException("Page must be >= 0 and size between 1 and 100.", 422);
+    }
+    return productSearchIndex.search(query, minPrice, maxPrice, minStock, maxStock, page, size);
+  }
+
+  @GET
+  @Path("by-name/{name}")
+  public Product getByName(String name) {
+    NameLookupCache productNames = nameLookupCaches.products();
+    Long id = productNames.idOf(name, productRepository::findIdByName);
+    Product entity = id != null ? productRepository.findById(id) : null;
+
+    if (entity != null && !name.equals(entity.name)) {
+      // the cached id is stale, the product was renamed in the meantime
+      productNames.evict(name, id);
+      id = productNames.idOf(name, productRepository::findIdByName);
+      entity = id != null ? productRepository.findById(id) : null;
+    }
+    if (entity == null) {
+      throw new WebApplicationException("Product with name " + name + " does not exist.", 404);
+    }
+    return entity;
+  }
+
   @POST
   @Transactional
   public Response create(Product product) {
     if (product.id != null) {
       throw new WebApplicationException("Id was invalidly set on request.", 422);
     }
+    // only names the filter might know need the lookup, new names go straight to the insert
+    if (product.name != null
+        && nameFilters.products().mightExist(product.name)
+        && productRepository.findIdByName(product.name) != null) {
+      throw new WebApplicationException(
+          "Product with name " + product.name + " already exists.", 409);
+    }
 
     productRepository.persist(product);
+    changeEventPublisher.publish(
+        ChangeEvent.PRODUCT, product.id, ChangeEvent.Action.CREATED, product);
     return Response.ok(product).status(201).build();
   }
 
@@ -74,12 +220,52 @@ public class ProductResource {
     entity.description = product.description;
     entity.price = product.price;
     entity.stock = product.stock;
+    // the stock is overwritten, so what the reservation slots held is no longer there
+    stockSlots.discard(entity);
 
     productRepository.persist(entity);
+    changeEventPublisher.publish(ChangeEvent.PRODUCT, id, ChangeEvent.Action.UPDATED, entity);
 
     return entity;
   }
 
+  @PATCH
+  @Path("batch")
+  public ProductBatchResult patchBatch(List<ProductPatch> patches) {
+    if (patches == null || patches.isEmpty()) {
+      throw new WebApplicationException("No product patches were sent.", 422);
+    }
+    return productBatchUpdater.apply(patches);
+  }
+
+  @POST
+  @Path("{id}/reservations")
+  public Response reserve(Long id, StockReservation reservation) {
+    if (reservation == null) {
+      throw new WebApplicationException("Reservation was not set on request.", 422);
+    }
+    StockReservation reserved = stockReservationService.reserve(id, reservation.quantity);
+    return Response.ok(reserved).status(201).build();
+  }
+
+  @GET
+  @Path("reservations/{reservationId}")
+  public StockReservation getReservation(Long reservationId) {
+    return stockReservationService.findReservation(reservationId);
+  }
+
+  @POST
+  @Path("reservations/{reservationId}/commit")
+  public StockReservation commitReservation(Long reservationId) {
+    return stockReservationService.commit(reservationId);
+  }
+
+  @POST
+  @Path("reservations/{reservationId}/release")
+  public StockReservation releaseReservation(Long reservationId) {
+    return stockReservationService.release(reservationId);
+  }
+
   @DELETE
   @Path("{id}")
   @Transactional
@@ -88,33 +274,10 @@ public class ProductResource {
     if (entity == null) {
       throw new WebApplicationException("Product with id of " + id + " does not exist.", 404);
     }
-    productRepository.delete(entity);
+    // tombstone only, the row and its assignments are purged later by the compactor
+    entity.deletedAt = LocalDateTime.now();
+    stockSlots.discard(entity);
+    changeEventPublisher.publish(ChangeEvent.PRODUCT, id, ChangeEvent.Action.DELETED, null);
     return Response.status(204).build();
   }
-
-  @Provider
-  public static class ErrorMapper implements ExceptionMapper<Exception> {
-
-    @Inject ObjectMapper objectMapper;
-
-    @Override
-    public Response toResponse(Exception exception) {
-      LOGGER.error("Failed to handle request", exception);
-
-      int code = 500;
-      if (exception instanceof WebApplicationException) {
-        code = ((WebApplicationException) exception).getResponse().getStatus();
-      }
-
-      ObjectNode exceptionJson = objectMapper.createObjectNode();
-      exceptionJson.put("exceptionType", exception.getClass().getName());
-      exceptionJson.put("code", code);
-
-      if (exception.getMessage() != null) {
-        exceptionJson.put("error", exception.getMessage());
-      }
-
-      return Response.status(code).entity(exceptionJson).build();
-    }
-  }
 }
@@ -0,0 +1,37 @@
+package com.fulfilment.application.monolith.products;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+
+public class ProductSearchHit {
+
+  // best score first, then by name and id so pages are stable
+  static final Comparator<ProductSearchHit> RANKING =
+      Comparator.comparingDouble((ProductSearchHit hit) -> hit.score)
+          .reversed()
+          .thenComparing(hit -> hit.name, Comparator.nullsLast(Comparator.naturalOrder()))
+          .thenComparing(hit -> hit.id);
+
+  public Long id;
+
+  public String name;
+
+  public String description;
+
+  public BigDecimal price;
+
+  public int stock;
+
+  public double score;
+
+  public ProductSearchHit() {}
+
+  ProductSearchHit(ProductSearchIndex.IndexedProduct product, double score) {
+    this.id = product.id;
+    this.name = product.name;
+    this.description = product.description;
+    this.price = product.price;
+    this.stock = product.stock;
+    this.score = score;
+  }
+}
@@ -0,0 +1,293 @@
+package com.fulfilment.application.monolith.products;
+
+import com.fulfilment.application.monolith.events.ChangeEvent;
+import com.fulfilment.application.monolith.events.LatestChanges;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over product names and descriptions. It is built from the database
+ * at startup and kept up to date from committed product change events, so searches never touch
+ * the database. A query term matches a whole token, or every token it prefixes when it ends with
+ * {@code *}; all terms have to match. Matches in the name weigh more than in the description, and
+ * exact matches more than prefix matches.
+ */
+@ApplicationScoped
+public class ProductSearchIndex {
+
+  private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+  private static final double NAME_WEIGHT = 2;
+  private static final double DESCRIPTION_WEIGHT = 1;
+  private static final double PREFIX_WEIGHT = 0.5;
+
+  static class IndexedProduct {
+    final Long id;
+    final String name;
+    final String description;
+    final BigDecimal price;
+    final int stock;
+    final Set<String> nameTokens;
+    final Set<String> descriptionTokens;
+
+    IndexedProduct(Product product) {
+      this.id = product.id;
+      this.name = product.name;
+      this.description = product.description;
+      this.price = product.price;
+      this.stock = product.stock;
+      this.nameTokens = tokenize(product.name);
+      this.descriptionTokens = tokenize(product.description);
+    }
+  }
+
+  @Inject ProductRepository productRepository;
+
+  private final LatestChanges latestChanges = new LatestChanges();
+
+  private final Map<Long, IndexedProduct> products = new ConcurrentHashMap<>();
+
+  private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+
+  // sorted view of the posting keys, for prefix queries
+  private final NavigableSet<String> terms = new ConcurrentSkipListSet<>();
+
+  void onStart(@Observes StartupEvent event) {
+    QuarkusTransaction.requiringNew()
+        .run(() -> productRepository.streamAll().forEach(this::index));
+  }
+
+  // changes of one product committed together may arrive out of order, the later one wins
+  synchronized void onChange(@Observes ChangeEvent event) {
+    if (!ChangeEvent.PRODUCT.equals(event.entityType) || !latestChanges.isLatest(event)) {
+      return;
+    }
+    if (event.payload instanceof Product) {
+      index((Product) event.payload);
+    } else {
+      remove(Long.valueOf(event.entityId));
+    }
+  }
+
+  // updates are applied one at a time, only searches run concurrently
+  synchronized void index(Product product) {
+    remove(product.id);
+
+    IndexedProduct indexed = new IndexedProduct(product);
+    products.put(indexed.id, indexed);
+    for (String token : indexed.nameTokens) {
+      addPosting(token, indexed.id);
+    }
+    for (String token : indexed.descriptionTokens) {
+      addPosting(token, indexed.id);
+    }
+  }
+
+  synchronized void remove(Long id) {
+    IndexedProduct indexed = products.remove(id);
+    if (indexed == null) {
+      return;
+    }
+    for (String token : indexed.nameTokens) {
+      removePosting(token, id);
+    }
+    for (String token : indexed.descriptionTokens) {
+      removePosting(token, id);
+    }
+  }
+
+  public ProductSearchResult search(
+      String query,
+      BigDecimal minPrice,
+      BigDecimal maxPrice,
+      Integer minStock,
+      Integer maxStock,
+      int page,
+      int size) {
+    List<String> queryTerms = parseQuery(query);
+
+    // top (page + 1) * size hits, worst on top so it can be evicted; none when the page starts past
+    // every product, where only the total is counted
+    long offset = (long) page * size;
+    int wanted = offset >= products.size() ? 0 : (int) Math.min(offset + size, products.size());
+    Comparator<ProductSearchHit> ranking = ProductSearchHit.RANKING;
+    PriorityQueue<ProductSearchHit> top =
+        new PriorityQueue<>(Math.min(wanted + 1, 1024), ranking.reversed());
+    long total = 0;
+
+    for (Long id : candidates(queryTerms)) {
+      IndexedProduct product = products.get(id);
+      if (product == null || !matchesFilters(product, minPrice, maxPrice, minStock, maxStock)) {
+        continue;
+      }
+
+      double score = 0;
+      boolean allTermsMatch = true;
+      for (String term : queryTerms) {
+        double termScore = score(product, term);
+        if (termScore == 0) {
+          allTermsMatch = false;
+          break;
+        }
+        score += termScore;
+      }
+      if (!allTermsMatch) {
+        continue;
+      }
+
+      total++;
+      if (wanted == 0) {
+        continue;
+      }
+      top.add(new ProductSearchHit(product, score));
+      if (top.size() > wanted) {
+        top.poll();
+      }
+    }
+
+    List<ProductSearchHit> ranked = new ArrayList<>(top);
+    ranked.sort(ranking);
+    int from = (int) Math.min(offset, ranked.size());
+    return new ProductSearchResult(total, page, size, ranked.subList(from, ranked.size()));
+  }
+
+  private Set<Long> candidates(List<String> queryTerms) {
+    if (queryTerms.isEmpty()) {
+      return products.keySet();
+    }
+
+    // the rarest term narrows the candidates the most, the others are checked per product
+    Set<Long> smallest = null;
+    for (String term : queryTerms) {
+      Set<Long> ids = idsFor(term);
+      if (smallest == null || ids.size() < smallest.size()) {
+        smallest = ids;
+      }
+      if (smallest.isEmpty()) {
+        break;
+      }
+    }
+    return smallest;
+  }
+
+  private Set<Long> idsFor(String term) {
+    if (!term.endsWith("*")) {
+      return postings.getOrDefault(term, Collections.emptySet());
+    }
+
+    String prefix = term.substring(0, term.length() - 1);
+    Set<Long> ids = new HashSet<>();
+    for (String token : terms.subSet(prefix, true, prefix + Character.MAX_VALUE, true)) {
+      ids.addAll(postings.getOrDefault(token, Collections.emptySet()));
+    }
+    return ids;
+  }
+
+  private static double score(IndexedProduct product, String term) {
+    if (!term.endsWith("*")) {
+      return (product.nameTokens.contains(term) ? NAME_WEIGHT : 0)
+          + (product.descriptionTokens.contains(term) ? DESCRIPTION_WEIGHT : 0);
+    }
+
+    String prefix = term.substring(0, term.length() - 1);
+    return PREFIX_WEIGHT
+        * ((anyStartsWith(product.nameTokens, prefix) ? NAME_WEIGHT : 0)
+            + (anyStartsWith(product.descriptionTokens, prefix) ? DESCRIPTION_WEIGHT : 0));
+  }
+
+  private static boolean anyStartsWith(Set<String> tokens, String prefix) {
+    for (String token : tokens) {
+      if (token.startsWith(prefix)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean matchesFilters(
+      IndexedProduct product,
+      BigDecimal minPrice,
+      BigDecimal maxPrice,
+      Integer minStock,
+      Integer maxStock) {
+    if (minPrice != null && (product.price == null || product.price.compareTo(minPrice) < 0)) {
+      return false;
+    }
+    if (maxPrice != null && (product.price == null || product.price.compareTo(maxPrice) > 0)) {
+      return false;
+    }
+    if (minStock != null && product.stock < minStock) {
+      return false;
+    }
+    return maxStock == null || product.stock <= maxStock;
+  }
+
+  private void addPosting(String token, Long id) {
+    postings.computeIfAbsent(token, t -> ConcurrentHashMap.newKeySet()).add(id);
+    terms.add(token);
+  }
+
+  private void removePosting(String token, Long id) {
+    Set<Long> ids = postings.get(token);
+    if (ids == null) {
+      return;
+    }
+    ids.remove(id);
+    if (ids.isEmpty()) {
+      postings.remove(token);
+      terms.remove(token);
+    }
+  }
+
+  // splits the query like the indexed text, keeping a trailing * that marks a prefix term
+  static List<String> parseQuery(String query) {
+    List<String> queryTerms = new ArrayList<>();
+    if (query == null) {
+      return queryTerms;
+    }
+    for (String word : query.toLowerCase(Locale.ROOT).split("\\s+")) {
+      boolean prefix = word.endsWith("*");
+      String[] tokens = TOKEN_SEPARATOR.split(word);
+      for (int i = 0; i < tokens.length; i++) {
+        if (!tokens[i].isEmpty()) {
+          queryTerms.add(prefix && i == tokens.length - 1 ? tokens[i] + "*" : tokens[i]);
+        }
+      }
+    }
+    return queryTerms;
+  }
+
+  static Set<String> tokenize(String text) {
+    if (text == null || text.isBlank()) {
+      return Collections.emptySet();
+    }
+    Set<String> tokens = new HashSet<>();
+    for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+      if (!token.isEmpty()) {
+        tokens.add(token);
+      }
+    }
+    return tokens;
+  }
+
+  int size() {
+    return products.size();
+  }
+}
@@ -0,0 +1,24 @@
+package com.fulfilment.application.monolith.products;
+
+import java.util.List;
+
+public class ProductSearchResult {
+
+  // number of products matching the query and filters, across all pages
+  public long total;
+
+  public int page;
+
+  public int size;
+
+  public List<ProductSearchHit> hits;
+
+  public ProductSearchResult() {}
+
+  public ProductSearchResult(long total, int page, int size, List<ProductSearchHit> hits) {
+    this.total = total;
+    this.page = page;
+    this.size = size;
+    this.hits = hits;
+  }
+}
@@ -0,0 +1,44 @@
+package com.fulfilment.application.monolith.products;
+
+import io.quarkus.hibernate.orm.panache.PanacheEntity;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * Stock of a product held for an order. The stock is taken from the product when it is reserved,
+ * and given back when the reservation is released or expires before it is committed.
+ */
+@Entity
+@Table(
+    name = "product_stock_reservation",
+    indexes = @Index(name = "ix_stock_reservation_status_expiry", columnList = "status, expiresAt"))
+public class StockReservation extends PanacheEntity {
+
+  public enum Status {
+    RESERVED,
+    COMMITTED,
+    RELEASED,
+    EXPIRED
+  }
+
+  public Long productId;
+
+  public int quantity;
+
+  @Enumerated(EnumType.STRING)
+  public Status status;
+
+  public LocalDateTime createdAt;
+
+  public LocalDateTime expiresAt;
+
+  public StockReservation() {}
+
+  public StockReservation(int quantity) {
+    this.quantity = quantity;
+  }
+}
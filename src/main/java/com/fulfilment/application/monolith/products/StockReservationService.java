@@ -0,0 +1,233 @@
+package com.fulfilment.application.monolith.products;
+
+import com.fulfilment.application.monolith.events.ChangeEvent;
+import com.fulfilment.application.monolith.events.ChangeEventPublisher;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.LockModeType;
+import jakarta.transaction.Transactional;
+import jakarta.ws.rs.WebApplicationException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+/**
+ * Reserves product stock with a single guarded decrement, so concurrent orders can never sell the
+ * same unit twice. The decrement is taken from one of the product's {@link StockSlots}, so
+ * concurrent reservations of a hot product spread over their rows instead of queueing on the
+ * product's; only refilling a slot locks the product row. Released and expired reservations give
+ * their stock back to a slot. The stock in the slots is left out of {@link Product#stock} until the
+ * background sweep returns it, every {@code product.reservations.sweep-interval}, together with
+ * expiring the reservations that were neither committed nor released within {@code
+ * product.reservations.ttl}.
+ */
+@ApplicationScoped
+public class StockReservationService {
+
+  private static final Logger LOGGER = Logger.getLogger(StockReservationService.class.getName());
+
+  @Inject ProductRepository productRepository;
+
+  @Inject StockSlots stockSlots;
+
+  @Inject ChangeEventPublisher changeEventPublisher;
+
+  @ConfigProperty(name = "product.reservations.ttl", defaultValue = "15m")
+  Duration ttl;
+
+  @ConfigProperty(name = "product.reservations.sweep-batch-size", defaultValue = "500")
+  int sweepBatchSize;
+
+  public StockReservation reserve(Long productId, int quantity) {
+    if (quantity < 1) {
+      throw new WebApplicationException("Reserved quantity must be at least 1.", 422);
+    }
+
+    // an attempt the slots cannot serve is rolled back before the product row is locked: the
+    // guarded decrements leave the slots they waited on locked, and a refill holding the product
+    // row may be waiting on one of them
+    try {
+      return QuarkusTransaction.requiringNew().call(() -> reserveFromSlots(productId, quantity));
+    } catch (SlotsExhaustedException e) {
+      return QuarkusTransaction.requiringNew().call(() -> reserveFromProduct(productId, quantity));
+    }
+  }
+
+  // rolls the attempt on the slots back
+  private static class SlotsExhaustedException extends RuntimeException {
+    SlotsExhaustedException() {
+      super(null, null, false, false);
+    }
+  }
+
+  private StockReservation reserveFromSlots(Long productId, int quantity) {
+    StockReservation reservation = persistReservation(productId, quantity);
+    if (!stockSlots.take(productId, quantity)) {
+      throw new SlotsExhaustedException();
+    }
+    return reservation;
+  }
+
+  private StockReservation reserveFromProduct(Long productId, int quantity) {
+    StockReservation reservation = persistReservation(productId, quantity);
+    Product product = findProductForUpdate(productId);
+    if (!stockSlots.takeFromProduct(product, quantity)) {
+      throw new WebApplicationException(
+          "Product " + productId + " does not have " + quantity + " in stock.", 409);
+    }
+    publishStockChange(product);
+    return reservation;
+  }
+
+  // inserted before any stock is locked, and rolled back with the rest if there is no stock
+  private StockReservation persistReservation(Long productId, int quantity) {
+    StockReservation reservation = new StockReservation(quantity);
+    reservation.productId = productId;
+    reservation.status = StockReservation.Status.RESERVED;
+    reservation.createdAt = LocalDateTime.now();
+    reservation.expiresAt = reservation.createdAt.plus(ttl);
+    reservation.persistAndFlush();
+    return reservation;
+  }
+
+  /** Makes the reservation final. Committing it again has no effect. */
+  @Transactional
+  public StockReservation commit(Long reservationId) {
+    StockReservation reservation = findReservationForUpdate(reservationId);
+    switch (reservation.status) {
+      case RESERVED -> {
+        if (reservation.expiresAt.isBefore(LocalDateTime.now())) {
+          // overdue, the sweep gives its stock back
+          throw new WebApplicationException("Reservation " + reservationId + " expired.", 409);
+        }
+        reservation.status = StockReservation.Status.COMMITTED;
+      }
+      case COMMITTED -> {}
+      default -> throw new WebApplicationException(
+          "Reservation "
+              + reservationId
+              + " can no longer be committed, it is "
+              + reservation.status
+              + ".",
+          409);
+    }
+    return reservation;
+  }
+
+  /** Gives the reserved stock back. Releasing it again has no effect. */
+  @Transactional
+  public StockReservation release(Long reservationId) {
+    StockReservation reservation = findReservationForUpdate(reservationId);
+    switch (reservation.status) {
+      case RESERVED -> {
+        reservation.status = StockReservation.Status.RELEASED;
+        restock(reservation.productId, reservation.quantity);
+      }
+      case RELEASED, EXPIRED -> {}
+      default -> throw new WebApplicationException(
+          "Reservation " + reservationId + " was already committed.", 409);
+    }
+    return reservation;
+  }
+
+  @Transactional
+  public StockReservation findReservation(Long reservationId) {
+    StockReservation reservation = StockReservation.findById(reservationId);
+    if (reservation == null) {
+      throw new WebApplicationException(
+          "Reservation with id of " + reservationId + " does not exist.", 404);
+    }
+    return reservation;
+  }
+
+  @Scheduled(
+      every = "${product.reservations.sweep-interval:10s}",
+      concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+  public void expireOverdue() {
+    int expired;
+    do {
+      expired = QuarkusTransaction.requiringNew().call(this::expireOverdueBatch);
+      if (expired > 0) {
+        LOGGER.infof("Expired %d stock reservations", expired);
+      }
+    } while (expired == sweepBatchSize);
+
+    int returned;
+    do {
+      returned = QuarkusTransaction.requiringNew().call(this::returnSlotStockBatch);
+    } while (returned == sweepBatchSize);
+  }
+
+  private int expireOverdueBatch() {
+    // skip rows a concurrent commit or release holds, they are picked up by the next sweep
+    List<StockReservation> overdue =
+        StockReservation.getEntityManager()
+            .createQuery(
+                "from StockReservation where status = ?1 and expiresAt < ?2 order by id",
+                StockReservation.class)
+            .setParameter(1, StockReservation.Status.RESERVED)
+            .setParameter(2, LocalDateTime.now())
+            .setMaxResults(sweepBatchSize)
+            .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+            .setHint("jakarta.persistence.lock.timeout", -2)
+            .getResultList();
+
+    // give the stock back with one update per product, in id order to avoid deadlocks
+    Map<Long, Integer> restocks = new TreeMap<>();
+    for (StockReservation reservation : overdue) {
+      reservation.status = StockReservation.Status.EXPIRED;
+      restocks.merge(reservation.productId, reservation.quantity, Integer::sum);
+    }
+    restocks.forEach(this::restock);
+    return overdue.size();
+  }
+
+  private void restock(Long productId, int quantity) {
+    stockSlots.add(productId, quantity);
+  }
+
+  // gives the stock of the slots back to their products, in id order to avoid deadlocks
+  private int returnSlotStockBatch() {
+    List<Long> productIds = stockSlots.productsWithStock(sweepBatchSize);
+    for (Long productId : productIds) {
+      Product product = productRepository.findById(productId, LockModeType.PESSIMISTIC_WRITE);
+      if (product == null || product.deletedAt != null) {
+        StockSlot.delete("productId", productId);
+        continue;
+      }
+      product.stock += stockSlots.drain(productId);
+      publishStockChange(product);
+    }
+    return productIds.size();
+  }
+
+  private StockReservation findReservationForUpdate(Long reservationId) {
+    StockReservation reservation =
+        StockReservation.findById(reservationId, LockModeType.PESSIMISTIC_WRITE);
+    if (reservation == null) {
+      throw new WebApplicationException(
+          "Reservation with id of " + reservationId + " does not exist.", 404);
+    }
+    return reservation;
+  }
+
+  private Product findProductForUpdate(Long productId) {
+    Product product = productRepository.findById(productId, LockModeType.PESSIMISTIC_WRITE);
+    if (product == null || product.deletedAt != null) {
+      throw new WebApplicationException(
+          "Product with id of " + productId + " does not exist.", 404);
+    }
+    return product;
+  }
+
+  private void publishStockChange(Product product) {
+    changeEventPublisher.publish(
+        ChangeEvent.PRODUCT, product.id, ChangeEvent.Action.UPDATED, product);
+  }
+}
@@ -0,0 +1,42 @@
+package com.fulfilment.application.monolith.products;
+
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Part of a product's stock handed out for reservations, so concurrent reservations of one product
+ * decrement different rows instead of queueing on the product's. The stock in the slots is not in
+ * {@link Product#stock} until it is given back, see {@link StockSlots}.
+ */
+@Entity
+@Table(name = "product_stock_slot")
+@IdClass(StockSlot.Key.class)
+public class StockSlot extends PanacheEntityBase {
+
+  @Id public Long productId;
+
+  @Id public int slot;
+
+  public int stock;
+
+  public static class Key implements Serializable {
+    public Long productId;
+
+    public int slot;
+
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof Key key && Objects.equals(productId, key.productId) && slot == key.slot;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(productId, slot);
+    }
+  }
+}
@@ -0,0 +1,133 @@
+package com.fulfilment.application.monolith.products;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.query.NativeQuery;
+
+/**
+ * The reservation slots of products, {@code product.reservations.slots} rows per product. A
+ * reservation takes its stock from one slot with a guarded decrement, so it only locks that slot;
+ * the product row is only locked to refill a slot, which moves up to {@code
+ * product.reservations.slot-refill} units out of the product's stock. Every writer that locks both
+ * locks the product row first, so they never deadlock; a reservation the slots cannot serve is
+ * rolled back and retried against the product.
+ */
+@ApplicationScoped
+public class StockSlots {
+
+  @Inject EntityManager entityManager;
+
+  @ConfigProperty(name = "product.reservations.slots", defaultValue = "8")
+  int slots;
+
+  @ConfigProperty(name = "product.reservations.slot-refill", defaultValue = "20")
+  int slotRefill;
+
+  /**
+   * Takes {@code quantity} out of one of the product's slots, starting at a random one of those
+   * that seem to hold it. Whether one did.
+   */
+  public boolean take(Long productId, int quantity) {
+    List<Integer> candidates =
+        new ArrayList<>(
+            entityManager
+                .createQuery(
+                    "select s.slot from StockSlot s where s.productId = ?1 and s.stock >= ?2",
+                    Integer.class)
+                .setParameter(1, productId)
+                .setParameter(2, quantity)
+                .getResultList());
+    while (!candidates.isEmpty()) {
+      int slot = candidates.remove(ThreadLocalRandom.current().nextInt(candidates.size()));
+      // a concurrent reservation may have emptied it since, the guard then leaves it alone
+      int updated =
+          StockSlot.update(
+              "stock = stock - ?1 where productId = ?2 and slot = ?3 and stock >= ?1",
+              quantity,
+              productId,
+              slot);
+      if (updated == 1) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Takes {@code quantity} out of the stock of a product whose row is locked, and refills a slot
+   * with up to {@code product.reservations.slot-refill} more. When the product's own stock falls
+   * short, its slots are emptied into it first, as they may hold the rest between them. Whether
+   * there was enough.
+   */
+  public boolean takeFromProduct(Product product, int quantity) {
+    if (product.stock < quantity) {
+      product.stock += drain(product.id);
+      if (product.stock < quantity) {
+        return false;
+      }
+    }
+    int refill = Math.min(product.stock - quantity, slotRefill);
+    product.stock -= quantity + refill;
+    if (refill > 0) {
+      add(product.id, refill);
+    }
+    return true;
+  }
+
+  /** Adds {@code quantity} to a random slot of the product, creating the slot if needed. */
+  public void add(Long productId, int quantity) {
+    entityManager
+        .createNativeQuery(
+            "INSERT INTO product_stock_slot (productId, slot, stock) VALUES (?1, ?2, ?3)"
+                + " ON CONFLICT (productId, slot)"
+                + " DO UPDATE SET stock = product_stock_slot.stock + excluded.stock")
+        .setParameter(1, productId)
+        .setParameter(2, ThreadLocalRandom.current().nextInt(slots))
+        .setParameter(3, quantity)
+        .unwrap(NativeQuery.class)
+        .addSynchronizedEntityClass(StockSlot.class)
+        .executeUpdate();
+  }
+
+  /** Empties the product's slots, returns the stock they held. Needs the product row locked. */
+  public int drain(Long productId) {
+    @SuppressWarnings("unchecked")
+    List<Number> stocks =
+        entityManager
+            .createNativeQuery(
+                "SELECT stock FROM product_stock_slot WHERE productId = ?1 AND stock > 0"
+                    + " FOR UPDATE")
+            .setParameter(1, productId)
+            .getResultList();
+    if (stocks.isEmpty()) {
+      return 0;
+    }
+    StockSlot.update("stock = 0 where productId = ?1 and stock > 0", productId);
+    return stocks.stream().mapToInt(Number::intValue).sum();
+  }
+
+  /**
+   * Drops the stock of the product's slots, as its stock was overwritten or it was deleted. Locks
+   * the product row first.
+   */
+  public void discard(Product product) {
+    entityManager.lock(product, LockModeType.PESSIMISTIC_WRITE);
+    StockSlot.update("stock = 0 where productId = ?1 and stock > 0", product.id);
+  }
+
+  /** Products with stock in their slots, in id order. */
+  public List<Long> productsWithStock(int limit) {
+    return entityManager
+        .createQuery(
+            "select distinct s.productId from StockSlot s where s.stock > 0 order by s.productId",
+            Long.class)
+        .setMaxResults(limit)
+        .getResultList();
+  }
+}
@@ -0,0 +1,24 @@
+package com.fulfilment.application.monolith.querycache;
+
+/** Statistics of one query cache region since startup. */
+public class QueryCacheRegionStats {
+
+  public String region;
+
+  public long hits;
+
+  // includes results found stale after a write to one of their tables
+  public long misses;
+
+  public long puts;
+
+  // hits and misses over all lookups, 0 before the first one
+  public double hitRatio;
+
+  public double missRatio;
+
+  public long entries;
+
+  // entries put that are no longer held: evicted for size, expired, or replaced after a write
+  public long evictions;
+}
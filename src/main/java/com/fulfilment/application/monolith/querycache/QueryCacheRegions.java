@@ -0,0 +1,40 @@
+package com.fulfilment.application.monolith.querycache;
+
+import io.quarkus.hibernate.orm.panache.PanacheQuery;
+import java.util.List;
+import org.hibernate.jpa.HibernateHints;
+
+/**
+ * The query cache regions of the hot listing and lookup queries. A cached query keeps the ids of
+ * its results, the entities themselves come from the second-level cache. Hibernate invalidates a
+ * region's results when a transaction writes one of the tables they were read from, so entries
+ * never outlive a committed change; the size and idle expiry of each region are configured with
+ * {@code quarkus.hibernate-orm.cache."<region>".*}.
+ */
+public final class QueryCacheRegions {
+
+  /** Active warehouses: {@code archivedAt is null}. */
+  public static final String ACTIVE_WAREHOUSES = "query.warehouse.active";
+
+  /** Active warehouse by business unit code, including codes that have none. */
+  public static final String WAREHOUSE_BY_BUSINESS_UNIT_CODE =
+      "query.warehouse.by-business-unit-code";
+
+  /** All stores by name. */
+  public static final String STORES_BY_NAME = "query.store.all-by-name";
+
+  /** All products by name. */
+  public static final String PRODUCTS_BY_NAME = "query.product.all-by-name";
+
+  public static final List<String> ALL =
+      List.of(ACTIVE_WAREHOUSES, WAREHOUSE_BY_BUSINESS_UNIT_CODE, STORES_BY_NAME, PRODUCTS_BY_NAME);
+
+  private QueryCacheRegions() {}
+
+  /** Caches the results of {@code query} in {@code region}. */
+  public static <Entity> PanacheQuery<Entity> cached(PanacheQuery<Entity> query, String region) {
+    return query
+        .withHint(HibernateHints.HINT_CACHEABLE, true)
+        .withHint(HibernateHints.HINT_CACHE_REGION, region);
+  }
+}
@@ -0,0 +1,53 @@
+package com.fulfilment.application.monolith.querycache;
+
+import com.fulfilment.application.monolith.admission.Admission;
+import com.fulfilment.application.monolith.admission.AdmissionPriority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+
+@Path("admin/query-cache")
+@Admission(AdmissionPriority.EXEMPT)
+@ApplicationScoped
+@Produces("application/json")
+public class QueryCacheResource {
+
+  @Inject SessionFactory sessionFactory;
+
+  /** Hits, misses and evictions per query cache region. */
+  @GET
+  public List<QueryCacheRegionStats> regions() {
+    Statistics statistics = sessionFactory.getStatistics();
+    List<QueryCacheRegionStats> regions = new ArrayList<>(QueryCacheRegions.ALL.size());
+    for (String region : QueryCacheRegions.ALL) {
+      QueryCacheRegionStats stats = new QueryCacheRegionStats();
+      stats.region = region;
+      // regions are built on their first query; build it here, as Hibernate remembers a region
+      // without statistics for good and then fails the queries that later create it
+      sessionFactory.getCache().unwrap(CacheImplementor.class).getQueryResultsCache(region);
+      CacheRegionStatistics regionStatistics = statistics.getQueryRegionStatistics(region);
+      if (regionStatistics != null) {
+        stats.hits = regionStatistics.getHitCount();
+        stats.misses = regionStatistics.getMissCount();
+        stats.puts = regionStatistics.getPutCount();
+        stats.entries = regionStatistics.getElementCountInMemory();
+        stats.evictions = Math.max(0, stats.puts - stats.entries);
+      }
+      long lookups = stats.hits + stats.misses;
+      if (lookups > 0) {
+        stats.hitRatio = (double) stats.hits / lookups;
+        stats.missRatio = (double) stats.misses / lookups;
+      }
+      regions.add(stats);
+    }
+    return regions;
+  }
+}
@@ -0,0 +1,171 @@
+package com.fulfilment.application.monolith.ratelimit;
+
+import com.fulfilment.application.monolith.errors.ErrorMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.net.SocketAddress;
+import jakarta.annotation.PostConstruct;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.container.PreMatching;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.Provider;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Limits the requests of each client to the routes of {@code rate-limit.routes}, with a {@link
+ * TokenBucket} per client and route. Clients are told apart by their {@code X-API-Key} header, or
+ * else by their address. Keys are not authenticated, they only keep the clients sharing an address
+ * apart, so the requests with a key are also limited per address, to {@code
+ * rate-limit.keys-per-address} times the route's limit across all their keys; a client making up a
+ * new key for every request gets no more than that. Requests over either limit are answered with a
+ * 429 and Retry-After before anything else runs. Limited routes also get the RateLimit-Limit,
+ * RateLimit-Remaining and RateLimit-Reset headers of the IETF draft. The buckets are bounded by
+ * {@code rate-limit.maximum-buckets}, the ones of clients rarely and least recently seen being
+ * evicted first; an evicted bucket starts full again. Rejected requests are counted in {@code
+ * http.server.requests.rate-limited}, tagged with the route.
+ */
+@Provider
+@PreMatching
+public class RateLimitFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+  public static final String METRIC = "http.server.requests.rate-limited";
+
+  public static final String API_KEY_HEADER = "X-API-Key";
+
+  static final String MESSAGE = "Too many requests, retry later.";
+
+  private static final String BODY = ErrorMapper.body(WebApplicationException.class, 429, MESSAGE);
+
+  private static final String LIMIT_PROPERTY = RateLimitFilter.class.getName() + ".limit";
+
+  private static final String BUCKET_PROPERTY = RateLimitFilter.class.getName() + ".bucket";
+
+  @ConfigProperty(name = "rate-limit.enabled", defaultValue = "true")
+  boolean enabled;
+
+  @ConfigProperty(
+      name = "rate-limit.routes",
+      defaultValue = "POST /warehouse=10/20,POST /store=10/20")
+  List<String> routes;
+
+  @ConfigProperty(name = "rate-limit.maximum-buckets", defaultValue = "100000")
+  long maximumBuckets;
+
+  // 0 trusts the keys, as behind a gateway that authenticates them
+  @ConfigProperty(name = "rate-limit.keys-per-address", defaultValue = "5")
+  int keysPerAddress;
+
+  @Inject MeterRegistry meterRegistry;
+
+  @Context HttpServerRequest httpRequest;
+
+  private List<RouteLimit> limits;
+
+  // the limit of all the keys of one address, by route limit
+  private Map<RouteLimit, RouteLimit> addressLimits;
+
+  private Cache<String, TokenBucket> buckets;
+
+  @PostConstruct
+  void init() {
+    limits = RouteLimit.parse(routes);
+    addressLimits = new IdentityHashMap<>();
+    for (RouteLimit limit : limits) {
+      addressLimits.put(limit, limit.times(Math.max(1, keysPerAddress)));
+    }
+    buckets = Caffeine.newBuilder().maximumSize(maximumBuckets).build();
+  }
+
+  @Override
+  public void filter(ContainerRequestContext request) {
+    if (!enabled) {
+      return;
+    }
+    RouteLimit limit = limitOf(request.getMethod(), request.getUriInfo().getPath());
+    if (limit == null) {
+      return;
+    }
+
+    long now = System.nanoTime();
+    String apiKey = request.getHeaderString(API_KEY_HEADER);
+    String address = address();
+    boolean keyed = apiKey != null && !apiKey.isBlank();
+    TokenBucket bucket = bucket(limit, keyed ? "key:" + apiKey : "address:" + address, now);
+    boolean allowed = bucket.tryAcquire(now);
+    if (allowed && keyed && keysPerAddress > 0) {
+      RouteLimit addressLimit = addressLimits.get(limit);
+      TokenBucket addressBucket = bucket(addressLimit, "keys-of:" + address, now);
+      if (!addressBucket.tryAcquire(now)) {
+        // the headers of the rejection are those of the limit that was hit
+        limit = addressLimit;
+        bucket = addressBucket;
+        allowed = false;
+      }
+    }
+    request.setProperty(LIMIT_PROPERTY, limit);
+    request.setProperty(BUCKET_PROPERTY, bucket);
+    if (allowed) {
+      return;
+    }
+
+    meterRegistry.counter(METRIC, "route", limit.route).increment();
+    request.abortWith(
+        Response.status(429)
+            .header(HttpHeaders.RETRY_AFTER, seconds(bucket.nanosUntilNextToken(now)))
+            .type(MediaType.APPLICATION_JSON_TYPE)
+            .entity(BODY)
+            .build());
+  }
+
+  @Override
+  public void filter(ContainerRequestContext request, ContainerResponseContext response) {
+    RouteLimit limit = (RouteLimit) request.getProperty(LIMIT_PROPERTY);
+    if (limit == null) {
+      return;
+    }
+    TokenBucket bucket = (TokenBucket) request.getProperty(BUCKET_PROPERTY);
+    long now = System.nanoTime();
+    MultivaluedMap<String, Object> headers = response.getHeaders();
+    headers.putSingle("RateLimit-Limit", limit.burst);
+    headers.putSingle("RateLimit-Remaining", bucket.remaining(now));
+    headers.putSingle("RateLimit-Reset", seconds(bucket.nanosUntilFull(now)));
+  }
+
+  private TokenBucket bucket(RouteLimit limit, String client, long now) {
+    return buckets.get(
+        limit.route + " " + client, k -> new TokenBucket(limit.rate, limit.burst, now));
+  }
+
+  private RouteLimit limitOf(String method, String path) {
+    for (RouteLimit limit : limits) {
+      if (limit.matches(method, path)) {
+        return limit;
+      }
+    }
+    return null;
+  }
+
+  private String address() {
+    // the forwarded address behind a proxy, with quarkus.http.proxy.proxy-address-forwarding
+    SocketAddress address = httpRequest.remoteAddress();
+    return address != null ? address.hostAddress() : "unknown";
+  }
+
+  private static long seconds(long nanos) {
+    return (nanos + 999_999_999L) / 1_000_000_000L;
+  }
+}
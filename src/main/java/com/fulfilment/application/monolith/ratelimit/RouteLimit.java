@@ -0,0 +1,89 @@
+package com.fulfilment.application.monolith.ratelimit;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The rate limit of one route, configured as {@code METHOD /path=rate/burst}: {@code rate} requests
+ * a second per client, and bursts of up to {@code burst}. The path is matched exactly, except that
+ * a {@code *} segment matches any one segment, as in {@code PATCH /product/*}.
+ */
+public class RouteLimit {
+
+  public final String route;
+
+  public final double rate;
+
+  public final int burst;
+
+  private final String method;
+
+  private final String[] segments;
+
+  RouteLimit(String route, String method, String[] segments, double rate, int burst) {
+    this.route = route;
+    this.method = method;
+    this.segments = segments;
+    this.rate = rate;
+    this.burst = burst;
+  }
+
+  public static List<RouteLimit> parse(List<String> routes) {
+    List<RouteLimit> limits = new ArrayList<>(routes.size());
+    for (String entry : routes) {
+      int equals = entry.lastIndexOf('=');
+      int slash = entry.lastIndexOf('/');
+      int space = entry.indexOf(' ');
+      if (equals < 0 || slash < equals || space < 0 || space > equals) {
+        throw new IllegalArgumentException(
+            "Rate limit '" + entry + "' is not of the form METHOD /path=rate/burst");
+      }
+      String route = entry.substring(0, equals).trim();
+      double rate = Double.parseDouble(entry.substring(equals + 1, slash).trim());
+      int burst = Integer.parseInt(entry.substring(slash + 1).trim());
+      if (rate <= 0 || burst < 1) {
+        throw new IllegalArgumentException(
+            "Rate limit '" + entry + "' needs a positive rate and a burst of at least 1");
+      }
+      limits.add(
+          new RouteLimit(
+              route,
+              entry.substring(0, space).trim(),
+              segments(entry.substring(space + 1, equals)),
+              rate,
+              burst));
+    }
+    return limits;
+  }
+
+  /** The same route with {@code factor} times the rate and burst. */
+  public RouteLimit times(int factor) {
+    return new RouteLimit(route, method, segments, rate * factor, burst * factor);
+  }
+
+  public boolean matches(String requestMethod, String path) {
+    if (!method.equals(requestMethod)) {
+      return false;
+    }
+    String[] requestSegments = segments(path);
+    if (requestSegments.length != segments.length) {
+      return false;
+    }
+    for (int i = 0; i < segments.length; i++) {
+      if (!segments[i].equals("*") && !segments[i].equals(requestSegments[i])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static String[] segments(String path) {
+    String trimmed = path.trim();
+    int start = trimmed.startsWith("/") ? 1 : 0;
+    int end = trimmed.length();
+    if (end > start && trimmed.endsWith("/")) {
+      end--;
+    }
+    return start >= end ? new String[0] : trimmed.substring(start, end).split("/");
+  }
+}
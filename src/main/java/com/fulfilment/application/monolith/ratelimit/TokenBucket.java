@@ -0,0 +1,54 @@
+package com.fulfilment.application.monolith.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A token bucket of {@code burst} tokens refilled at {@code rate} tokens a second, without locks.
+ * Rather than a token count and the time of the last refill, it keeps the single time at which the
+ * bucket will be full again (the generic cell rate algorithm), so taking a token is one
+ * compare-and-set. Times are {@link System#nanoTime()} values.
+ */
+public class TokenBucket {
+
+  private final long nanosPerToken;
+
+  // how far the full time may run ahead of now, burst tokens' worth
+  private final long capacityNanos;
+
+  private final AtomicLong fullAt;
+
+  public TokenBucket(double rate, int burst, long nowNanos) {
+    this.nanosPerToken = Math.max(1, Math.round(1_000_000_000L / rate));
+    this.capacityNanos = nanosPerToken * burst;
+    this.fullAt = new AtomicLong(nowNanos);
+  }
+
+  /** Takes a token if there is one. */
+  public boolean tryAcquire(long nowNanos) {
+    while (true) {
+      long current = fullAt.get();
+      long next = Math.max(current, nowNanos) + nanosPerToken;
+      if (next - nowNanos > capacityNanos) {
+        return false;
+      }
+      if (fullAt.compareAndSet(current, next)) {
+        return true;
+      }
+    }
+  }
+
+  /** The tokens left. */
+  public long remaining(long nowNanos) {
+    return (capacityNanos - nanosUntilFull(nowNanos)) / nanosPerToken;
+  }
+
+  /** The time until the bucket is full again, 0 when it is. */
+  public long nanosUntilFull(long nowNanos) {
+    return Math.max(0, fullAt.get() - nowNanos);
+  }
+
+  /** The time until the next token, 0 when there is one. */
+  public long nanosUntilNextToken(long nowNanos) {
+    return Math.max(0, nanosUntilFull(nowNanos) + nanosPerToken - capacityNanos);
+  }
+}
@@ -0,0 +1,194 @@
+package com.fulfilment.application.monolith.stores;
+
+import io.quarkus.hibernate.orm.panache.Panache;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.LockModeType;
+import jakarta.transaction.Transactional;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.query.NativeQuery;
+
+/**
+ * Locally persisted record of what was sent to the legacy store manager. Next to an entry per
+ * store it keeps an XOR digest per bucket of {@code store.reconciliation.range-size} ids, so the
+ * reconciliation only has to look at individual entries of the ranges that differ. Changing the
+ * range size requires truncating both ledger tables and resending everything once.
+ */
+@ApplicationScoped
+public class LegacyStoreLedger {
+
+  public static class RangeDiff {
+    public boolean differs;
+    // stores without a ledger entry, which may never have been created on the legacy system
+    public List<Store> toCreate = new ArrayList<>();
+    public List<Store> toResend = new ArrayList<>();
+    public int pruned;
+  }
+
+  @ConfigProperty(name = "store.reconciliation.range-size", defaultValue = "256")
+  long rangeSize;
+
+  public static long fingerprint(Long storeId, String name, int quantityProductsInStock) {
+    try {
+      MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+      byte[] hash =
+          sha256.digest(
+              (storeId + "|" + name + "|" + quantityProductsInStock)
+                  .getBytes(StandardCharsets.UTF_8));
+      return ByteBuffer.wrap(hash).getLong();
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  long bucketOf(Long storeId) {
+    return Math.floorDiv(storeId, rangeSize);
+  }
+
+  /** Records that {@code sent} was sent to the legacy system as the state of store {@code id}. */
+  @Transactional(Transactional.TxType.REQUIRES_NEW)
+  public void record(Long storeId, Store sent) {
+    long fingerprint = fingerprint(storeId, sent.name, sent.quantityProductsInStock);
+
+    LegacyStoreLedgerEntry entry =
+        LegacyStoreLedgerEntry.findById(storeId, LockModeType.PESSIMISTIC_WRITE);
+    long previous = 0;
+    if (entry == null) {
+      entry = new LegacyStoreLedgerEntry();
+      entry.storeId = storeId;
+      entry.persist();
+    } else {
+      previous = entry.fingerprint;
+    }
+    entry.fingerprint = fingerprint;
+    entry.sentAt = LocalDateTime.now();
+
+    xorIntoRange(bucketOf(storeId), previous ^ fingerprint);
+  }
+
+  @Transactional
+  public LegacyStoreLedgerEntry find(Long storeId) {
+    return LegacyStoreLedgerEntry.findById(storeId);
+  }
+
+  /** First and last bucket holding either stores or ledger entries, or null when both are empty. */
+  @Transactional
+  public long[] bucketBounds() {
+    Object[] stores =
+        Panache.getEntityManager()
+            .createQuery("select min(s.id), max(s.id) from Store s", Object[].class)
+            .getSingleResult();
+    Object[] ledger =
+        Panache.getEntityManager()
+            .createQuery(
+                "select min(l.storeId), max(l.storeId) from LegacyStoreLedgerEntry l",
+                Object[].class)
+            .getSingleResult();
+
+    Long min = minOf((Long) stores[0], (Long) ledger[0]);
+    Long max = maxOf((Long) stores[1], (Long) ledger[1]);
+    if (min == null) {
+      return null;
+    }
+    return new long[] {bucketOf(min), bucketOf(max)};
+  }
+
+  /**
+   * Compares the stores of a bucket with the ledger. Only when the range digests differ are the
+   * individual entries loaded, to find the stores to resend and the entries of deleted stores.
+   */
+  @Transactional
+  public RangeDiff diff(long bucket) {
+    long from = bucket * rangeSize;
+    long to = from + rangeSize;
+
+    List<Object[]> rows =
+        Panache.getEntityManager()
+            .createQuery(
+                "select s.id, s.name, s.quantityProductsInStock from Store s"
+                    + " where s.id >= ?1 and s.id < ?2 order by s.id",
+                Object[].class)
+            .setParameter(1, from)
+            .setParameter(2, to)
+            .getResultList();
+
+    long storeDigest = 0;
+    long[] fingerprints = new long[rows.size()];
+    for (int i = 0; i < rows.size(); i++) {
+      Object[] row = rows.get(i);
+      fingerprints[i] = fingerprint((Long) row[0], (String) row[1], (Integer) row[2]);
+      storeDigest ^= fingerprints[i];
+    }
+
+    LegacyStoreLedgerRange range = LegacyStoreLedgerRange.findById(bucket);
+    long ledgerDigest = range != null ? range.digest : 0;
+
+    RangeDiff diff = new RangeDiff();
+    if (storeDigest == ledgerDigest) {
+      return diff;
+    }
+    diff.differs = true;
+
+    Map<Long, LegacyStoreLedgerEntry> entries = new HashMap<>();
+    LegacyStoreLedgerEntry.<LegacyStoreLedgerEntry>list(
+            "storeId >= ?1 and storeId < ?2", from, to)
+        .forEach(entry -> entries.put(entry.storeId, entry));
+
+    for (int i = 0; i < rows.size(); i++) {
+      Object[] row = rows.get(i);
+      LegacyStoreLedgerEntry entry = entries.remove((Long) row[0]);
+      if (entry == null || entry.fingerprint != fingerprints[i]) {
+        Store store = new Store((String) row[1]);
+        store.id = (Long) row[0];
+        store.quantityProductsInStock = (Integer) row[2];
+        (entry == null ? diff.toCreate : diff.toResend).add(store);
+      }
+    }
+
+    // whatever is left was sent for stores that no longer exist
+    for (LegacyStoreLedgerEntry orphan : entries.values()) {
+      xorIntoRange(bucket, orphan.fingerprint);
+      orphan.delete();
+      diff.pruned++;
+    }
+    return diff;
+  }
+
+  private void xorIntoRange(long bucket, long delta) {
+    if (delta == 0) {
+      return;
+    }
+    Panache.getEntityManager()
+        .createNativeQuery(
+            "INSERT INTO legacy_store_ledger_range (bucket, digest) VALUES (?1, ?2)"
+                + " ON CONFLICT (bucket) DO UPDATE"
+                + " SET digest = legacy_store_ledger_range.digest # EXCLUDED.digest")
+        .setParameter(1, bucket)
+        .setParameter(2, delta)
+        .unwrap(NativeQuery.class)
+        .addSynchronizedEntityClass(LegacyStoreLedgerRange.class)
+        .executeUpdate();
+  }
+
+  private static Long minOf(Long a, Long b) {
+    if (a == null) {
+      return b;
+    }
+    return b == null ? a : Math.min(a, b);
+  }
+
+  private static Long maxOf(Long a, Long b) {
+    if (a == null) {
+      return b;
+    }
+    return b == null ? a : Math.max(a, b);
+  }
+}
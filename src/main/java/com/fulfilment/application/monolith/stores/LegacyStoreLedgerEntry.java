@@ -0,0 +1,19 @@
+package com.fulfilment.application.monolith.stores;
+
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+
+/** What was last sent to the legacy store manager for a store. */
+@Entity
+@Table(name = "legacy_store_ledger")
+public class LegacyStoreLedgerEntry extends PanacheEntityBase {
+
+  @Id public Long storeId;
+
+  public long fingerprint;
+
+  public LocalDateTime sentAt;
+}
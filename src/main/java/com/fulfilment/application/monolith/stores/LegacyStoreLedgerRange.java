@@ -0,0 +1,19 @@
+package com.fulfilment.application.monolith.stores;
+
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * XOR of the ledger fingerprints of all stores whose id falls in the bucket, so a whole id range
+ * can be compared against the store table without reading its ledger entries.
+ */
+@Entity
+@Table(name = "legacy_store_ledger_range")
+public class LegacyStoreLedgerRange extends PanacheEntityBase {
+
+  @Id public Long bucket;
+
+  public long digest;
+}
@@ -1,17 +1,27 @@
 package com.fulfilment.application.monolith.stores;
 
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.opentelemetry.instrumentation.annotations.WithSpan;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
 import java.nio.file.Files;
 import java.nio.file.Path;
 
 @ApplicationScoped
 public class LegacyStoreManagerGateway {
 
+  @Inject MeterRegistry meterRegistry;
+
+  @Timed(value = "legacy.gateway", histogram = true)
+  @WithSpan
   public void createStoreOnLegacySystem(Store store) {
     // just to emulate as this would send this to a legacy system, let's write a temp file with the
     writeToFile(store);
   }
 
+  @Timed(value = "legacy.gateway", histogram = true)
+  @WithSpan
   public void updateStoreOnLegacySystem(Store store) {
     // just to emulate as this would send this to a legacy system, let's write a temp file with the
     writeToFile(store);
@@ -45,6 +55,10 @@ public class LegacyStoreManagerGateway {
       System.out.println("Temporary file deleted.");
 
     } catch (Exception e) {
+      // the failure is swallowed, so it would not show up in the timer's exception tag
+      meterRegistry
+          .counter("legacy.gateway.errors", "exception", e.getClass().getSimpleName())
+          .increment();
       e.printStackTrace();
     }
   }
@@ -0,0 +1,109 @@
+package com.fulfilment.application.monolith.stores;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+/**
+ * Runs the calls to the legacy store manager either on the calling (request) thread or, in {@code
+ * async} mode, on {@code store.legacy-sync.threads} single-threaded lanes so request threads are
+ * not held while the legacy system is written to. The syncs of a store always run on the same
+ * lane, so the legacy system gets the updates of a store in the order they were committed. When a
+ * lane's queue is full the caller waits for room, which throttles writers instead of dropping syncs
+ * or letting them overtake the queued ones.
+ */
+@ApplicationScoped
+public class LegacySyncDispatcher {
+
+  public enum Mode {
+    BLOCKING,
+    ASYNC
+  }
+
+  private static final Logger LOGGER = Logger.getLogger(LegacySyncDispatcher.class.getName());
+
+  @ConfigProperty(name = "store.legacy-sync.mode", defaultValue = "blocking")
+  Mode mode;
+
+  @ConfigProperty(name = "store.legacy-sync.threads", defaultValue = "2")
+  int threads;
+
+  @ConfigProperty(name = "store.legacy-sync.queue-size", defaultValue = "1000")
+  int queueSize;
+
+  private ThreadPoolExecutor[] lanes;
+
+  @PostConstruct
+  void start() {
+    if (mode != Mode.ASYNC) {
+      return;
+    }
+
+    lanes = new ThreadPoolExecutor[threads];
+    for (int i = 0; i < threads; i++) {
+      String name = "legacy-store-sync-" + (i + 1);
+      lanes[i] =
+          new ThreadPoolExecutor(
+              1,
+              1,
+              0,
+              TimeUnit.MILLISECONDS,
+              new ArrayBlockingQueue<>(Math.max(1, queueSize / threads)),
+              runnable -> {
+                Thread thread = new Thread(runnable, name);
+                thread.setDaemon(true);
+                return thread;
+              },
+              LegacySyncDispatcher::awaitRoom);
+    }
+  }
+
+  /** Runs a sync of the store {@code storeId}, after its syncs dispatched before. */
+  public void dispatch(Long storeId, Runnable sync) {
+    if (lanes == null) {
+      sync.run();
+      return;
+    }
+
+    ThreadPoolExecutor lane = lanes[Math.floorMod(storeId.hashCode(), lanes.length)];
+    lane.execute(
+        () -> {
+          try {
+            sync.run();
+          } catch (RuntimeException e) {
+            LOGGER.error("Failed to sync store to the legacy system", e);
+          }
+        });
+  }
+
+  private static void awaitRoom(Runnable sync, ThreadPoolExecutor lane) {
+    if (lane.isShutdown()) {
+      throw new RejectedExecutionException("The legacy store sync is stopped");
+    }
+    try {
+      lane.getQueue().put(sync);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RejectedExecutionException("Interrupted while waiting for the legacy store sync");
+    }
+  }
+
+  @PreDestroy
+  void stop() throws InterruptedException {
+    if (lanes == null) {
+      return;
+    }
+    for (ThreadPoolExecutor lane : lanes) {
+      lane.shutdown();
+    }
+    for (ThreadPoolExecutor lane : lanes) {
+      lane.awaitTermination(10, TimeUnit.SECONDS);
+    }
+  }
+}
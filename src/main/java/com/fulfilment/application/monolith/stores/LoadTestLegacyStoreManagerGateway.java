@@ -0,0 +1,53 @@
+package com.fulfilment.application.monolith.stores;
+
+import io.micrometer.core.annotation.Timed;
+import io.opentelemetry.instrumentation.annotations.WithSpan;
+import io.quarkus.arc.profile.IfBuildProfile;
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Alternative;
+import java.time.Duration;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * The legacy store manager of load test builds ({@code -Ploadtest}), which gives each call the
+ * round trip of {@code legacy-store-manager.latency} so the legacy sync modes can be compared under
+ * load. It only exists in builds of the {@code loadtest} profile.
+ */
+@ApplicationScoped
+@Alternative
+@Priority(1)
+@IfBuildProfile("loadtest")
+public class LoadTestLegacyStoreManagerGateway extends LegacyStoreManagerGateway {
+
+  @ConfigProperty(name = "legacy-store-manager.latency", defaultValue = "0ms")
+  Duration latency;
+
+  @Override
+  @Timed(value = "legacy.gateway", histogram = true)
+  @WithSpan
+  public void createStoreOnLegacySystem(Store store) {
+    roundTrip();
+    super.createStoreOnLegacySystem(store);
+  }
+
+  @Override
+  @Timed(value = "legacy.gateway", histogram = true)
+  @WithSpan
+  public void updateStoreOnLegacySystem(Store store) {
+    roundTrip();
+    super.updateStoreOnLegacySystem(store);
+  }
+
+  private void roundTrip() {
+    if (latency.isZero()) {
+      return;
+    }
+    try {
+      Thread.sleep(latency.toMillis());
+    } catch (InterruptedException e) {
+      // shutting down, the call itself still goes ahead
+      Thread.currentThread().interrupt();
+    }
+  }
+}
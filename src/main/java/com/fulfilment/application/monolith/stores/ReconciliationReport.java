@@ -0,0 +1,21 @@
+package com.fulfilment.application.monolith.stores;
+
+public class ReconciliationReport {
+
+  public long rangesChecked;
+
+  public long rangesDiffering;
+
+  public long storesResent;
+
+  public long ledgerEntriesPruned;
+
+  synchronized void add(LegacyStoreLedger.RangeDiff diff, long resent) {
+    rangesChecked++;
+    if (diff.differs) {
+      rangesDiffering++;
+    }
+    storesResent += resent;
+    ledgerEntriesPruned += diff.pruned;
+  }
+}
@@ -0,0 +1,17 @@
+package com.fulfilment.application.monolith.stores;
+
+public class StockAdjustment {
+
+  // only used by the batch endpoint, the single endpoint takes the store id from the path
+  public Long storeId;
+
+  // signed amount to add to quantityProductsInStock
+  public int delta;
+
+  public StockAdjustment() {}
+
+  public StockAdjustment(Long storeId, int delta) {
+    this.storeId = storeId;
+    this.delta = delta;
+  }
+}
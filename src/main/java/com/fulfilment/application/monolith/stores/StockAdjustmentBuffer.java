@@ -0,0 +1,127 @@
+package com.fulfilment.application.monolith.stores;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.WebApplicationException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.jboss.logging.Logger;
+
+/**
+ * Aggregates high-frequency stock deltas in memory per store and applies them on every flush.
+ * Restocks and withdrawals are summed separately, restocks being applied first; withdrawals then
+ * take as much as the stock covers, and only the rest is dropped. Dropped stock is counted in
+ * {@code store.stock-adjustments.dropped}, tagged with the reason. A store's entry is taken out of
+ * the buffer as a whole when it is flushed, so stores no longer adjusted do not stay in it.
+ */
+@ApplicationScoped
+public class StockAdjustmentBuffer {
+
+  public static final String DROPPED_METRIC = "store.stock-adjustments.dropped";
+
+  private static final Logger LOGGER = Logger.getLogger(StockAdjustmentBuffer.class.getName());
+
+  private static class Pending {
+    final AtomicLong restocks = new AtomicLong();
+    final AtomicLong withdrawals = new AtomicLong();
+  }
+
+  @Inject StoreService storeService;
+
+  @Inject MeterRegistry meterRegistry;
+
+  private final Map<Long, Pending> pending = new ConcurrentHashMap<>();
+
+  public void add(Long storeId, int delta) {
+    add(storeId, delta >= 0 ? delta : 0, delta < 0 ? -(long) delta : 0);
+  }
+
+  // within compute, so a flush taking the entry out cannot lose a delta added meanwhile
+  private void add(Long storeId, long restocks, long withdrawals) {
+    pending.compute(
+        storeId,
+        (id, deltas) -> {
+          Pending updated = deltas != null ? deltas : new Pending();
+          updated.restocks.addAndGet(restocks);
+          updated.withdrawals.addAndGet(withdrawals);
+          return updated;
+        });
+  }
+
+  public long pendingDelta(Long storeId) {
+    Pending deltas = pending.get(storeId);
+    return deltas != null ? deltas.restocks.get() - deltas.withdrawals.get() : 0;
+  }
+
+  @Scheduled(
+      every = "${store.stock-adjustments.flush-interval:1s}",
+      concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+  public void flush() {
+    for (Long storeId : pending.keySet()) {
+      Pending deltas = pending.remove(storeId);
+      if (deltas != null) {
+        restock(storeId, deltas.restocks.get());
+        withdraw(storeId, deltas.withdrawals.get());
+      }
+    }
+  }
+
+  private void restock(Long storeId, long quantity) {
+    if (quantity == 0) {
+      return;
+    }
+    try {
+      storeService.adjustStock(storeId, Math.toIntExact(quantity));
+    } catch (WebApplicationException | ArithmeticException e) {
+      // the restock can never be applied (unknown store, overflow), retrying would not help
+      drop(storeId, quantity, reasonOf(e), e.getMessage());
+    } catch (RuntimeException e) {
+      // keep it for the next flush, e.g. when the database is temporarily unavailable
+      add(storeId, quantity, 0);
+      LOGGER.errorf(e, "Failed to flush buffered restock for store %d", storeId);
+    }
+  }
+
+  private void withdraw(Long storeId, long quantity) {
+    if (quantity == 0) {
+      return;
+    }
+    try {
+      // anything past Integer.MAX_VALUE is more than any stock, and dropped anyway
+      int withdrawn =
+          storeService.withdrawUpTo(storeId, (int) Math.min(quantity, Integer.MAX_VALUE));
+      if (withdrawn < quantity) {
+        drop(storeId, quantity - withdrawn, "negative-stock", "not enough stock");
+      }
+    } catch (WebApplicationException e) {
+      drop(storeId, quantity, reasonOf(e), e.getMessage());
+    } catch (RuntimeException e) {
+      add(storeId, 0, quantity);
+      LOGGER.errorf(e, "Failed to flush buffered withdrawal for store %d", storeId);
+    }
+  }
+
+  private void drop(Long storeId, long quantity, String reason, String message) {
+    meterRegistry.counter(DROPPED_METRIC, "reason", reason).increment(quantity);
+    LOGGER.warnf(
+        "Dropping %d units of buffered stock adjustments for store %d (%s): %s",
+        quantity, storeId, reason, message);
+  }
+
+  private static String reasonOf(RuntimeException e) {
+    if (e instanceof ArithmeticException) {
+      return "overflow";
+    }
+    int status = ((WebApplicationException) e).getResponse().getStatus();
+    return status == 404 ? "unknown-store" : status == 409 ? "negative-stock" : "rejected";
+  }
+
+  void onStop(@Observes ShutdownEvent event) {
+    flush();
+  }
+}
@@ -1,19 +1,27 @@
 package com.fulfilment.application.monolith.stores;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.quarkus.hibernate.orm.panache.PanacheEntity;
 import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import java.time.LocalDateTime;
+import org.hibernate.annotations.SQLRestriction;
 
+// names are unique among live stores only, see the partial index in import.sql
 @Entity
 @Cacheable
+@SQLRestriction("deletedAt is null")
 public class Store extends PanacheEntity {
 
-  @Column(length = 40, unique = true)
+  @Column(length = 40)
   public String name;
 
   public int quantityProductsInStock;
 
+  // tombstone of a deleted store, until the compactor purges the row
+  @JsonIgnore public LocalDateTime deletedAt;
+
   public Store() {}
 
   public Store(String name) {
@@ -0,0 +1,136 @@
+package com.fulfilment.application.monolith.stores;
+
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.WebApplicationException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+/**
+ * Detects drift between the store table and what was sent to the legacy system, and resends only
+ * the stores of id ranges whose digest differs from the ledger. Stores without a ledger entry are
+ * created on the legacy system rather than updated. Each worker holds at most one range in memory,
+ * and resends are throttled to {@code store.reconciliation.max-resends-per-second}, 0 meaning
+ * unthrottled.
+ */
+@ApplicationScoped
+public class StoreReconciliationJob {
+
+  private static final Logger LOGGER = Logger.getLogger(StoreReconciliationJob.class.getName());
+
+  @Inject LegacyStoreLedger ledger;
+
+  @Inject LegacyStoreManagerGateway legacyStoreManagerGateway;
+
+  @ConfigProperty(name = "store.reconciliation.parallelism", defaultValue = "2")
+  int parallelism;
+
+  @ConfigProperty(name = "store.reconciliation.max-resends-per-second", defaultValue = "200")
+  int maxResendsPerSecond;
+
+  private final AtomicBoolean running = new AtomicBoolean();
+
+  private final Object throttleLock = new Object();
+
+  private long nextResendAt = System.nanoTime();
+
+  @Scheduled(
+      cron = "${store.reconciliation.cron:off}",
+      concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+  void scheduledReconcile() {
+    ReconciliationReport report = reconcile();
+    LOGGER.infof(
+        "Store reconciliation checked %d ranges, %d differed, %d stores resent",
+        report.rangesChecked, report.rangesDiffering, report.storesResent);
+  }
+
+  public ReconciliationReport reconcile() {
+    if (!running.compareAndSet(false, true)) {
+      throw new WebApplicationException("A store reconciliation is already running.", 409);
+    }
+
+    try {
+      ReconciliationReport report = new ReconciliationReport();
+      long[] bounds = ledger.bucketBounds();
+      if (bounds == null) {
+        return report;
+      }
+
+      AtomicLong nextBucket = new AtomicLong(bounds[0]);
+      ExecutorService workers = Executors.newFixedThreadPool(parallelism);
+      try {
+        List<Future<?>> futures = new ArrayList<>(parallelism);
+        for (int i = 0; i < parallelism; i++) {
+          futures.add(
+              workers.submit(
+                  () -> {
+                    long bucket;
+                    while ((bucket = nextBucket.getAndIncrement()) <= bounds[1]) {
+                      reconcileRange(bucket, report);
+                    }
+                  }));
+        }
+        for (Future<?> worker : futures) {
+          worker.get();
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Store reconciliation was interrupted", e);
+      } catch (ExecutionException e) {
+        throw new IllegalStateException("Store reconciliation failed", e.getCause());
+      } finally {
+        workers.shutdownNow();
+      }
+      return report;
+    } finally {
+      running.set(false);
+    }
+  }
+
+  private void reconcileRange(long bucket, ReconciliationReport report) {
+    LegacyStoreLedger.RangeDiff diff = ledger.diff(bucket);
+    for (Store store : diff.toCreate) {
+      throttle();
+      legacyStoreManagerGateway.createStoreOnLegacySystem(store);
+      ledger.record(store.id, store);
+    }
+    for (Store store : diff.toResend) {
+      throttle();
+      legacyStoreManagerGateway.updateStoreOnLegacySystem(store);
+      ledger.record(store.id, store);
+    }
+    report.add(diff, diff.toCreate.size() + diff.toResend.size());
+  }
+
+  void throttle() {
+    if (maxResendsPerSecond <= 0) {
+      return;
+    }
+
+    long waitNanos;
+    synchronized (throttleLock) {
+      long now = System.nanoTime();
+      long slot = Math.max(now, nextResendAt);
+      nextResendAt = slot + TimeUnit.SECONDS.toNanos(1) / maxResendsPerSecond;
+      waitNanos = slot - now;
+    }
+    if (waitNanos > 0) {
+      try {
+        TimeUnit.NANOSECONDS.sleep(waitNanos);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Store reconciliation was interrupted", e);
+      }
+    }
+  }
+}
@@ -1,25 +1,28 @@
 package com.fulfilment.application.monolith.stores;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fulfilment.application.monolith.coalescing.Coalesced;
+import com.fulfilment.application.monolith.events.ChangeEvent;
+import com.fulfilment.application.monolith.events.ConditionalGet;
+import com.fulfilment.application.monolith.export.CatalogExporter;
 import io.quarkus.panache.common.Sort;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.DefaultValue;
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
 import jakarta.ws.rs.PATCH;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.Response;
-import jakarta.ws.rs.ext.ExceptionMapper;
-import jakarta.ws.rs.ext.Provider;
 import java.util.List;
-import org.jboss.logging.Logger;
 
 @Path("store")
 @ApplicationScoped
@@ -29,19 +32,47 @@ public class StoreResource {
 
   @Inject StoreService storeService;
 
-  private static final Logger LOGGER = Logger.getLogger(StoreResource.class.getName());
+  @Inject StockAdjustmentBuffer stockAdjustmentBuffer;
+
+  @Inject StoreReconciliationJob storeReconciliationJob;
+
+  @Inject CatalogExporter catalogExporter;
 
   @GET
+  @ConditionalGet(ChangeEvent.STORE)
   public List<Store> get() {
     return storeService.listAll();
   }
 
+  /** Streams all stores as {@code format} csv or ndjson, gzipped if the client accepts it. */
+  @GET
+  @Path("export")
+  @Produces({"text/csv", "application/x-ndjson"})
+  public Response export(
+      @QueryParam("format") @DefaultValue("ndjson") String format,
+      @HeaderParam(HttpHeaders.ACCEPT_ENCODING) String acceptEncoding) {
+    return catalogExporter.export(
+        "stores",
+        "select s.id, s.name, s.quantityProductsInStock from Store s order by s.id",
+        List.of("id", "name", "quantityProductsInStock"),
+        format,
+        acceptEncoding);
+  }
+
   @GET
   @Path("{id}")
+  @ConditionalGet(ChangeEvent.STORE)
+  @Coalesced(ChangeEvent.STORE)
   public Store getSingle(Long id) {
     return storeService.findByIdOrThrow(id);
   }
 
+  @GET
+  @Path("by-name/{name}")
+  public Store getByName(String name) {
+    return storeService.findByNameOrThrow(name);
+  }
+
   @POST
   public Response create(Store store) {
     Store created = storeService.create(store);
@@ -61,36 +92,40 @@ public class StoreResource {
     return storeService.patch(id, updatedStore);
   }
 
-  @DELETE
-  @Path("{id}")
-  public Response delete(Long id) {
-    storeService.delete(id);
-    return Response.status(204).build();
-  }
-
-  @Provider
-  public static class ErrorMapper implements ExceptionMapper<Exception> {
-
-    @Inject ObjectMapper objectMapper;
+  @POST
+  @Path("{id}/stock-adjustments")
+  public Response adjustStock(
+      Long id, @QueryParam("buffered") boolean buffered, StockAdjustment adjustment) {
+    if (adjustment == null) {
+      throw new WebApplicationException("Stock adjustment was not set on request.", 422);
+    }
 
-    @Override
-    public Response toResponse(Exception exception) {
-      LOGGER.error("Failed to handle request", exception);
+    if (buffered) {
+      // validates the store exists, the delta itself is applied on the next flush
+      storeService.findByIdOrThrow(id);
+      stockAdjustmentBuffer.add(id, adjustment.delta);
+      return Response.status(202).build();
+    }
 
-      int code = 500;
-      if (exception instanceof WebApplicationException) {
-        code = ((WebApplicationException) exception).getResponse().getStatus();
-      }
+    return Response.ok(storeService.adjustStock(id, adjustment.delta)).build();
+  }
 
-      ObjectNode exceptionJson = objectMapper.createObjectNode();
-      exceptionJson.put("exceptionType", exception.getClass().getName());
-      exceptionJson.put("code", code);
+  @POST
+  @Path("stock-adjustments")
+  public List<Store> adjustStock(List<StockAdjustment> adjustments) {
+    return storeService.adjustStock(adjustments);
+  }
 
-      if (exception.getMessage() != null) {
-        exceptionJson.put("error", exception.getMessage());
-      }
+  @POST
+  @Path("reconciliation")
+  public ReconciliationReport reconcile() {
+    return storeReconciliationJob.reconcile();
+  }
 
-      return Response.status(code).entity(exceptionJson).build();
-    }
+  @DELETE
+  @Path("{id}")
+  public Response delete(Long id) {
+    storeService.delete(id);
+    return Response.status(204).build();
   }
 }
@@ -1,44 +1,108 @@
 package com.fulfilment.application.monolith.stores;
 
+import com.fulfilment.application.monolith.events.AfterCommit;
+import com.fulfilment.application.monolith.events.ChangeEvent;
+import com.fulfilment.application.monolith.events.ChangeEventPublisher;
+import com.fulfilment.application.monolith.lookup.NameFilters;
+import com.fulfilment.application.monolith.lookup.NameLookupCache;
+import com.fulfilment.application.monolith.lookup.NameLookupCaches;
+import com.fulfilment.application.monolith.querycache.QueryCacheRegions;
 import io.quarkus.panache.common.Sort;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
-import jakarta.transaction.Synchronization;
+import jakarta.persistence.LockModeType;
 import jakarta.transaction.Transactional;
-import jakarta.transaction.TransactionSynchronizationRegistry;
-import jakarta.transaction.Status;
 import jakarta.ws.rs.WebApplicationException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.jboss.logging.Logger;
 
 @ApplicationScoped
 public class StoreService {
 
+  private static final Logger LOGGER = Logger.getLogger(StoreService.class.getName());
+
   @Inject LegacyStoreManagerGateway legacyStoreManagerGateway;
 
-  @Inject TransactionSynchronizationRegistry transactionSynchronizationRegistry;
+  @Inject LegacySyncDispatcher legacySyncDispatcher;
+
+  @Inject LegacyStoreLedger legacyStoreLedger;
+
+  @Inject AfterCommit afterCommit;
+
+  @Inject ChangeEventPublisher changeEventPublisher;
+
+  @Inject NameLookupCaches nameLookupCaches;
+
+  @Inject NameFilters nameFilters;
 
   @Transactional
   public List<Store> listAll() {
-    return Store.listAll(Sort.by("name"));
+    return QueryCacheRegions.cached(
+            Store.<Store>findAll(Sort.by("name")), QueryCacheRegions.STORES_BY_NAME)
+        .list();
   }
 
   @Transactional
   public Store findByIdOrThrow(Long id) {
-    Store entity = Store.findById(id);
+    Store entity = findLive(id);
     if (entity == null) {
       throw new WebApplicationException("Store with id of " + id + " does not exist.", 404);
     }
     return entity;
   }
 
+  @Transactional
+  public Store findByNameOrThrow(String name) {
+    NameLookupCache storeNames = nameLookupCaches.stores();
+    Long id = storeNames.idOf(name, this::findIdByName);
+    Store entity = id != null ? findLive(id) : null;
+
+    if (entity != null && !name.equals(entity.name)) {
+      // the cached id is stale, the store was renamed in the meantime
+      storeNames.evict(name, id);
+      id = storeNames.idOf(name, this::findIdByName);
+      entity = id != null ? findLive(id) : null;
+    }
+    if (entity == null) {
+      throw new WebApplicationException("Store with name " + name + " does not exist.", 404);
+    }
+    return entity;
+  }
+
+  // queries exclude tombstoned stores, a second-level cache hit does not
+  private static Store findLive(Long id) {
+    Store entity = Store.findById(id);
+    return entity != null && entity.deletedAt == null ? entity : null;
+  }
+
+  private Long findIdByName(String name) {
+    return Store.getEntityManager()
+        .createQuery("select s.id from Store s where s.name = ?1", Long.class)
+        .setParameter(1, name)
+        .getResultStream()
+        .findFirst()
+        .orElse(null);
+  }
+
   @Transactional
   public Store create(Store store) {
     if (store.id != null) {
       throw new WebApplicationException("Id was invalidly set on request.", 422);
     }
+    // only names the filter might know need the lookup, new names go straight to the insert
+    if (store.name != null
+        && nameFilters.stores().mightExist(store.name)
+        && findIdByName(store.name) != null) {
+      throw new WebApplicationException("Store with name " + store.name + " already exists.", 409);
+    }
 
     store.persist();
-    runAfterCommit(() -> legacyStoreManagerGateway.createStoreOnLegacySystem(store));
+    syncAfterCommit(store.id, store, true);
+    changeEventPublisher.publish(ChangeEvent.STORE, store.id, ChangeEvent.Action.CREATED, store);
     return store;
   }
 
@@ -53,7 +117,8 @@ public class StoreService {
     entity.name = updatedStore.name;
     entity.quantityProductsInStock = updatedStore.quantityProductsInStock;
 
-    runAfterCommit(() -> legacyStoreManagerGateway.updateStoreOnLegacySystem(updatedStore));
+    syncAfterCommit(entity.id, updatedStore, false);
+    changeEventPublisher.publish(ChangeEvent.STORE, id, ChangeEvent.Action.UPDATED, entity);
     return entity;
   }
 
@@ -73,37 +138,117 @@ public class StoreService {
       entity.quantityProductsInStock = updatedStore.quantityProductsInStock;
     }
 
-    runAfterCommit(() -> legacyStoreManagerGateway.updateStoreOnLegacySystem(updatedStore));
+    syncAfterCommit(entity.id, updatedStore, false);
+    changeEventPublisher.publish(ChangeEvent.STORE, id, ChangeEvent.Action.UPDATED, entity);
     return entity;
   }
 
   @Transactional
-  public void delete(Long id) {
+  public Store adjustStock(Long id, int delta) {
+    applyStockDelta(id, delta);
+
     Store entity = findByIdOrThrow(id);
-    entity.delete();
+    syncAfterCommit(entity.id, entity, false);
+    changeEventPublisher.publish(ChangeEvent.STORE, id, ChangeEvent.Action.UPDATED, entity);
+    return entity;
   }
 
-  private void runAfterCommit(Runnable action) {
-    transactionSynchronizationRegistry.registerInterposedSynchronization(
-        new AfterCommitSynchronization(action));
+  /**
+   * Withdraws as much of {@code quantity} as the store has in stock, and returns how much that was.
+   */
+  @Transactional
+  public int withdrawUpTo(Long id, int quantity) {
+    Store entity = Store.findById(id, LockModeType.PESSIMISTIC_WRITE);
+    if (entity == null || entity.deletedAt != null) {
+      throw new WebApplicationException("Store with id of " + id + " does not exist.", 404);
+    }
+    int withdrawn = Math.min(quantity, entity.quantityProductsInStock);
+    if (withdrawn > 0) {
+      entity.quantityProductsInStock -= withdrawn;
+      syncAfterCommit(entity.id, entity, false);
+      changeEventPublisher.publish(ChangeEvent.STORE, id, ChangeEvent.Action.UPDATED, entity);
+    }
+    return withdrawn;
   }
 
-  private static class AfterCommitSynchronization implements Synchronization {
-    private final Runnable action;
+  @Transactional
+  public List<Store> adjustStock(List<StockAdjustment> adjustments) {
+    if (adjustments == null || adjustments.isEmpty()) {
+      throw new WebApplicationException("Stock adjustments were not set on request.", 422);
+    }
 
-    AfterCommitSynchronization(Runnable action) {
-      this.action = action;
+    // Net the deltas per store so every store is updated once, in id order to avoid deadlocks
+    Map<Long, Integer> netDeltas = new TreeMap<>();
+    for (StockAdjustment adjustment : adjustments) {
+      if (adjustment == null || adjustment.storeId == null) {
+        throw new WebApplicationException("Store id was not set on stock adjustment.", 422);
+      }
+      try {
+        netDeltas.merge(adjustment.storeId, adjustment.delta, Math::addExact);
+      } catch (ArithmeticException e) {
+        throw new WebApplicationException(
+            "Stock adjustments for store " + adjustment.storeId + " overflow.", 422);
+      }
     }
 
-    @Override
-    public void beforeCompletion() {}
+    List<Store> adjusted = new ArrayList<>(netDeltas.size());
+    for (Map.Entry<Long, Integer> netDelta : netDeltas.entrySet()) {
+      applyStockDelta(netDelta.getKey(), netDelta.getValue());
+    }
+    for (Long id : netDeltas.keySet()) {
+      Store entity = findByIdOrThrow(id);
+      syncAfterCommit(entity.id, entity, false);
+      changeEventPublisher.publish(ChangeEvent.STORE, id, ChangeEvent.Action.UPDATED, entity);
+      adjusted.add(entity);
+    }
+    return adjusted;
+  }
 
-    @Override
-    public void afterCompletion(int status) {
-      if (status == Status.STATUS_COMMITTED) {
-        action.run();
-      }
+  @Transactional
+  public void delete(Long id) {
+    Store entity = findByIdOrThrow(id);
+    // tombstone only, the row and its assignments are purged later by the compactor
+    entity.deletedAt = LocalDateTime.now();
+    changeEventPublisher.publish(ChangeEvent.STORE, id, ChangeEvent.Action.DELETED, null);
+  }
+
+  private void applyStockDelta(Long id, int delta) {
+    // Single guarded statement, so concurrent adjustments can neither be lost nor go below zero
+    int updated =
+        Store.update(
+            "quantityProductsInStock = quantityProductsInStock + ?1"
+                + " where id = ?2 and deletedAt is null and quantityProductsInStock + ?1 >= 0",
+            delta,
+            id);
+    if (updated == 0) {
+      findByIdOrThrow(id);
+      throw new WebApplicationException(
+          "Stock adjustment of " + delta + " would make the stock of store " + id + " negative.",
+          409);
     }
   }
-}
 
+  private void syncAfterCommit(Long id, Store sent, boolean created) {
+    afterCommit.run(
+        () ->
+            legacySyncDispatcher.dispatch(
+                id,
+                () -> {
+                  if (created) {
+                    legacyStoreManagerGateway.createStoreOnLegacySystem(sent);
+                  } else {
+                    legacyStoreManagerGateway.updateStoreOnLegacySystem(sent);
+                  }
+                  recordInLedger(id, sent);
+                }));
+  }
+
+  private void recordInLedger(Long id, Store sent) {
+    try {
+      legacyStoreLedger.record(id, sent);
+    } catch (RuntimeException e) {
+      // a missing ledger entry only causes the store to be resent by the next reconciliation
+      LOGGER.warnf(e, "Failed to record legacy sync of store %d in the ledger", id);
+    }
+  }
+}
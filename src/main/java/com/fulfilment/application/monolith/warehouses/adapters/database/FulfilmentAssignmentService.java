@@ -1,20 +1,28 @@
 package com.fulfilment.application.monolith.warehouses.adapters.database;
 
+import com.fulfilment.application.monolith.metrics.CountRuleViolations;
 import com.fulfilment.application.monolith.products.Product;
 import com.fulfilment.application.monolith.stores.Store;
+import com.fulfilment.application.monolith.warehouses.domain.models.RuleViolationException;
+import io.micrometer.core.annotation.Timed;
+import io.opentelemetry.instrumentation.annotations.WithSpan;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.transaction.Transactional;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
 
 @ApplicationScoped
+@CountRuleViolations
 public class FulfilmentAssignmentService {
 
+  // tombstoned stores and products keep their assignments until compaction, but no longer count
+  private static final String LIVE = " and store.deletedAt is null and product.deletedAt is null";
+
   @Transactional
+  @Timed(value = "fulfilment.assignment", histogram = true)
+  @WithSpan
   public StoreWarehouseProduct assign(Store store, Product product, DbWarehouse warehouse) {
     if (store == null || product == null || warehouse == null) {
-      throw new IllegalArgumentException("Store, Product and Warehouse must be provided");
+      throw new RuleViolationException(
+          "assignment-required", "Store, Product and Warehouse must be provided");
     }
 
     // Avoid duplicate assignment
@@ -26,48 +34,14 @@ public class FulfilmentAssignmentService {
       return existing;
     }
 
-    // 1. Each Product can be fulfilled by a maximum of 2 different Warehouses per Store
-    List<StoreWarehouseProduct> forStoreAndProduct =
-        StoreWarehouseProduct.list("store = ?1 and product = ?2", store, product);
-    Set<Long> warehouseIdsForStoreAndProduct = new HashSet<>();
-    for (StoreWarehouseProduct rel : forStoreAndProduct) {
-      if (rel.warehouse != null && rel.warehouse.id != null) {
-        warehouseIdsForStoreAndProduct.add(rel.warehouse.id);
-      }
-    }
-    if (!warehouseIdsForStoreAndProduct.contains(warehouse.id)
-        && warehouseIdsForStoreAndProduct.size() >= 2) {
-      throw new IllegalArgumentException(
-          "A product can be fulfilled by at most 2 warehouses per store");
-    }
-
-    // 2. Each Store can be fulfilled by a maximum of 3 different Warehouses
-    List<StoreWarehouseProduct> forStore =
-        StoreWarehouseProduct.list("store = ?1", store);
-    Set<Long> warehouseIdsForStore = new HashSet<>();
-    for (StoreWarehouseProduct rel : forStore) {
-      if (rel.warehouse != null && rel.warehouse.id != null) {
-        warehouseIdsForStore.add(rel.warehouse.id);
-      }
-    }
-    if (!warehouseIdsForStore.contains(warehouse.id) && warehouseIdsForStore.size() >= 3) {
-      throw new IllegalArgumentException(
-          "A store can be fulfilled by at most 3 different warehouses");
-    }
-
-    // 3. Each Warehouse can store maximally 5 types of Products
-    List<StoreWarehouseProduct> forWarehouse =
-        StoreWarehouseProduct.list("warehouse = ?1", warehouse);
-    Set<Long> productIdsForWarehouse = new HashSet<>();
-    for (StoreWarehouseProduct rel : forWarehouse) {
-      if (rel.product != null && rel.product.id != null) {
-        productIdsForWarehouse.add(rel.product.id);
-      }
-    }
-    if (!productIdsForWarehouse.contains(product.id) && productIdsForWarehouse.size() >= 5) {
-      throw new IllegalArgumentException(
-          "A warehouse can store at most 5 different product types");
-    }
+    // each rule only loads the assignments it needs once the previous one passed
+    FulfilmentRules.checkWarehousesPerStoreProduct(
+        StoreWarehouseProduct.list("store = ?1 and product = ?2" + LIVE, store, product),
+        warehouse);
+    FulfilmentRules.checkWarehousesPerStore(
+        StoreWarehouseProduct.list("store = ?1" + LIVE, store), warehouse);
+    FulfilmentRules.checkProductsPerWarehouse(
+        StoreWarehouseProduct.list("warehouse = ?1" + LIVE, warehouse), product);
 
     StoreWarehouseProduct relation = new StoreWarehouseProduct();
     relation.store = store;
@@ -0,0 +1,71 @@
+package com.fulfilment.application.monolith.warehouses.adapters.database;
+
+import com.fulfilment.application.monolith.products.Product;
+import com.fulfilment.application.monolith.warehouses.domain.models.RuleViolationException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The limits on fulfilment assignments, each checked against the existing assignments it concerns.
+ * Assigning a warehouse or product that is already part of those assignments never breaks a limit.
+ * The assignments of tombstoned stores and products are left out by the caller, so a deleted
+ * product frees its place in a warehouse right away rather than at compaction.
+ */
+public final class FulfilmentRules {
+
+  public static final int MAX_WAREHOUSES_PER_STORE_PRODUCT = 2;
+
+  public static final int MAX_WAREHOUSES_PER_STORE = 3;
+
+  public static final int MAX_PRODUCTS_PER_WAREHOUSE = 5;
+
+  private FulfilmentRules() {}
+
+  /** Each product can be fulfilled by at most 2 different warehouses per store. */
+  public static void checkWarehousesPerStoreProduct(
+      List<StoreWarehouseProduct> forStoreAndProduct, DbWarehouse warehouse) {
+    Set<Long> warehouseIds = warehouseIds(forStoreAndProduct);
+    if (!warehouseIds.contains(warehouse.id)
+        && warehouseIds.size() >= MAX_WAREHOUSES_PER_STORE_PRODUCT) {
+      throw new RuleViolationException(
+          "max-warehouses-per-store-product",
+          "A product can be fulfilled by at most 2 warehouses per store");
+    }
+  }
+
+  /** Each store can be fulfilled by at most 3 different warehouses. */
+  public static void checkWarehousesPerStore(
+      List<StoreWarehouseProduct> forStore, DbWarehouse warehouse) {
+    Set<Long> warehouseIds = warehouseIds(forStore);
+    if (!warehouseIds.contains(warehouse.id) && warehouseIds.size() >= MAX_WAREHOUSES_PER_STORE) {
+      throw new RuleViolationException(
+          "max-warehouses-per-store", "A store can be fulfilled by at most 3 different warehouses");
+    }
+  }
+
+  /** Each warehouse can store at most 5 types of products. */
+  public static void checkProductsPerWarehouse(
+      List<StoreWarehouseProduct> forWarehouse, Product product) {
+    Set<Long> productIds = new HashSet<>();
+    for (StoreWarehouseProduct rel : forWarehouse) {
+      if (rel.product != null && rel.product.id != null) {
+        productIds.add(rel.product.id);
+      }
+    }
+    if (!productIds.contains(product.id) && productIds.size() >= MAX_PRODUCTS_PER_WAREHOUSE) {
+      throw new RuleViolationException(
+          "max-products-per-warehouse", "A warehouse can store at most 5 different product types");
+    }
+  }
+
+  private static Set<Long> warehouseIds(List<StoreWarehouseProduct> assignments) {
+    Set<Long> warehouseIds = new HashSet<>();
+    for (StoreWarehouseProduct rel : assignments) {
+      if (rel.warehouse != null && rel.warehouse.id != null) {
+        warehouseIds.add(rel.warehouse.id);
+      }
+    }
+    return warehouseIds;
+  }
+}
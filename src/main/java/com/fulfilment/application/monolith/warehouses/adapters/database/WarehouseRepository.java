@@ -1,20 +1,37 @@
 package com.fulfilment.application.monolith.warehouses.adapters.database;
 
+import com.fulfilment.application.monolith.events.ChangeEvent;
+import com.fulfilment.application.monolith.events.ChangeEventPublisher;
+import com.fulfilment.application.monolith.querycache.QueryCacheRegions;
 import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
 import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
+import io.micrometer.core.annotation.Timed;
+import io.opentelemetry.instrumentation.annotations.WithSpan;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
 import java.util.List;
 
 @ApplicationScoped
 public class WarehouseRepository implements WarehouseStore, PanacheRepository<DbWarehouse> {
 
+  @Inject ChangeEventPublisher changeEventPublisher;
+
   @Override
+  @Timed(value = "warehouse.repository", histogram = true)
+  @WithSpan
   public List<Warehouse> getAll() {
-    return this.list("archivedAt is null").stream().map(DbWarehouse::toWarehouse).toList();
+    return QueryCacheRegions.cached(
+            find("archivedAt is null"), QueryCacheRegions.ACTIVE_WAREHOUSES)
+        .list()
+        .stream()
+        .map(DbWarehouse::toWarehouse)
+        .toList();
   }
 
   @Override
+  @Timed(value = "warehouse.repository", histogram = true)
+  @WithSpan
   public void create(Warehouse warehouse) {
     DbWarehouse entity = new DbWarehouse();
     entity.businessUnitCode = warehouse.businessUnitCode;
@@ -24,9 +41,12 @@ public class WarehouseRepository implements WarehouseStore, PanacheRepository<Db
     entity.createdAt = warehouse.createdAt;
     entity.archivedAt = warehouse.archivedAt;
     this.persist(entity);
+    publish(entity, ChangeEvent.Action.CREATED);
   }
 
   @Override
+  @Timed(value = "warehouse.repository", histogram = true)
+  @WithSpan
   public void update(Warehouse warehouse) {
     DbWarehouse entity =
         find("businessUnitCode = ?1 and archivedAt is null", warehouse.businessUnitCode)
@@ -41,22 +61,39 @@ public class WarehouseRepository implements WarehouseStore, PanacheRepository<Db
     entity.stock = warehouse.stock;
     entity.createdAt = warehouse.createdAt;
     entity.archivedAt = warehouse.archivedAt;
+    ChangeEvent.Action action =
+        entity.archivedAt != null ? ChangeEvent.Action.ARCHIVED : ChangeEvent.Action.UPDATED;
+    publish(entity, action);
   }
 
   @Override
+  @Timed(value = "warehouse.repository", histogram = true)
+  @WithSpan
   public void remove(Warehouse warehouse) {
     DbWarehouse entity =
         find("businessUnitCode = ?1 and archivedAt is null", warehouse.businessUnitCode)
             .firstResult();
     if (entity != null) {
       delete(entity);
+      changeEventPublisher.publish(
+          ChangeEvent.WAREHOUSE, entity.businessUnitCode, ChangeEvent.Action.DELETED, null);
     }
   }
 
   @Override
+  @Timed(value = "warehouse.repository", histogram = true)
+  @WithSpan
   public Warehouse findByBusinessUnitCode(String buCode) {
     DbWarehouse entity =
-        find("businessUnitCode = ?1 and archivedAt is null", buCode).firstResult();
+        QueryCacheRegions.cached(
+                find("businessUnitCode = ?1 and archivedAt is null", buCode),
+                QueryCacheRegions.WAREHOUSE_BY_BUSINESS_UNIT_CODE)
+            .firstResult();
     return entity != null ? entity.toWarehouse() : null;
   }
+
+  private void publish(DbWarehouse entity, ChangeEvent.Action action) {
+    changeEventPublisher.publish(
+        ChangeEvent.WAREHOUSE, entity.businessUnitCode, action, entity.toWarehouse());
+  }
 }
@@ -1,5 +1,8 @@
 package com.fulfilment.application.monolith.warehouses.adapters.restapi;
 
+import com.fulfilment.application.monolith.coalescing.Coalesced;
+import com.fulfilment.application.monolith.events.ChangeEvent;
+import com.fulfilment.application.monolith.querycache.QueryCacheRegions;
 import com.fulfilment.application.monolith.warehouses.adapters.database.DbWarehouse;
 import com.fulfilment.application.monolith.warehouses.adapters.database.WarehouseRepository;
 import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
@@ -14,7 +17,10 @@ import jakarta.transaction.Transactional;
 import jakarta.validation.constraints.NotNull;
 import java.util.List;
 
+// on the class, as annotations of the methods implementing the generated interface are not seen;
+// only GET /warehouse/{id} has an id to coalesce by
 @RequestScoped
+@Coalesced(ChangeEvent.WAREHOUSE)
 public class WarehouseResourceImpl implements WarehouseResource {
 
   @Inject private WarehouseRepository warehouseRepository;
@@ -27,7 +33,10 @@ public class WarehouseResourceImpl implements WarehouseResource {
 
   @Override
   public List<com.warehouse.api.beans.Warehouse> listAllWarehousesUnits() {
-    return warehouseRepository.list("archivedAt is null").stream()
+    return QueryCacheRegions.cached(
+            warehouseRepository.find("archivedAt is null"), QueryCacheRegions.ACTIVE_WAREHOUSES)
+        .list()
+        .stream()
         .map(this::toWarehouseResponse)
         .toList();
   }
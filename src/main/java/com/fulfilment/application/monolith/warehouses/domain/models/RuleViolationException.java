@@ -0,0 +1,15 @@
+package com.fulfilment.application.monolith.warehouses.domain.models;
+
+/**
+ * Thrown when a warehouse or fulfilment request breaks a business rule. The {@code rule} is a
+ * short, stable identifier of the rule, so failures can be counted per rule.
+ */
+public class RuleViolationException extends IllegalArgumentException {
+
+  public final String rule;
+
+  public RuleViolationException(String rule, String message) {
+    super(message);
+    this.rule = rule;
+  }
+}
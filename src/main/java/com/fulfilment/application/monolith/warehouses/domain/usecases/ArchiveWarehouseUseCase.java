@@ -1,13 +1,18 @@
 package com.fulfilment.application.monolith.warehouses.domain.usecases;
 
+import com.fulfilment.application.monolith.metrics.CountRuleViolations;
+import com.fulfilment.application.monolith.warehouses.domain.models.RuleViolationException;
 import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
 import com.fulfilment.application.monolith.warehouses.domain.ports.ArchiveWarehouseOperation;
 import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
+import io.micrometer.core.annotation.Timed;
+import io.opentelemetry.instrumentation.annotations.WithSpan;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import java.time.LocalDateTime;
 
 @ApplicationScoped
+@CountRuleViolations
 public class ArchiveWarehouseUseCase implements ArchiveWarehouseOperation {
 
   private final WarehouseStore warehouseStore;
@@ -18,15 +23,19 @@ public class ArchiveWarehouseUseCase implements ArchiveWarehouseOperation {
   }
 
   @Override
+  @Timed(value = "warehouse.usecase", histogram = true)
+  @WithSpan
   public void archive(Warehouse warehouse) {
     if (warehouse == null || warehouse.businessUnitCode == null) {
-      throw new IllegalArgumentException("Warehouse and business unit code must be provided");
+      throw new RuleViolationException(
+          "business-unit-code-required", "Warehouse and business unit code must be provided");
     }
 
     Warehouse existing =
         warehouseStore.findByBusinessUnitCode(warehouse.businessUnitCode);
     if (existing == null) {
-      throw new IllegalArgumentException(
+      throw new RuleViolationException(
+          "warehouse-exists",
           "Warehouse not found for business unit code: " + warehouse.businessUnitCode);
     }
 
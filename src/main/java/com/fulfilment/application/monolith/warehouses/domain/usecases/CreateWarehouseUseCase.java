@@ -1,16 +1,21 @@
 package com.fulfilment.application.monolith.warehouses.domain.usecases;
 
+import com.fulfilment.application.monolith.metrics.CountRuleViolations;
 import com.fulfilment.application.monolith.warehouses.domain.models.Location;
+import com.fulfilment.application.monolith.warehouses.domain.models.RuleViolationException;
 import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
 import com.fulfilment.application.monolith.warehouses.domain.ports.LocationResolver;
 import com.fulfilment.application.monolith.warehouses.domain.ports.CreateWarehouseOperation;
 import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
+import io.micrometer.core.annotation.Timed;
+import io.opentelemetry.instrumentation.annotations.WithSpan;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @ApplicationScoped
+@CountRuleViolations
 public class CreateWarehouseUseCase implements CreateWarehouseOperation {
 
   private final WarehouseStore warehouseStore;
@@ -23,38 +28,42 @@ public class CreateWarehouseUseCase implements CreateWarehouseOperation {
   }
 
   @Override
+  @Timed(value = "warehouse.usecase", histogram = true)
+  @WithSpan
   public void create(Warehouse warehouse) {
     if (warehouse == null) {
-      throw new IllegalArgumentException("Warehouse data must be provided");
+      throw new RuleViolationException("warehouse-required", "Warehouse data must be provided");
     }
 
     // Business Unit Code Verification
     if (warehouse.businessUnitCode == null || warehouse.businessUnitCode.isBlank()) {
-      throw new IllegalArgumentException("Business unit code must be provided");
+      throw new RuleViolationException(
+          "business-unit-code-required", "Business unit code must be provided");
     }
     if (warehouseStore.findByBusinessUnitCode(warehouse.businessUnitCode) != null) {
-      throw new IllegalArgumentException(
+      throw new RuleViolationException(
+          "business-unit-code-unique",
           "Warehouse with business unit code already exists: " + warehouse.businessUnitCode);
     }
 
     // Location Validation
     if (warehouse.location == null || warehouse.location.isBlank()) {
-      throw new IllegalArgumentException("Location must be provided");
+      throw new RuleViolationException("location-required", "Location must be provided");
     }
     Location location = locationResolver.resolveByIdentifier(warehouse.location);
     if (location == null) {
-      throw new IllegalArgumentException("Invalid location: " + warehouse.location);
+      throw new RuleViolationException("location-known", "Invalid location: " + warehouse.location);
     }
 
     // Capacity and Stock Validation
     if (warehouse.capacity == null || warehouse.capacity <= 0) {
-      throw new IllegalArgumentException("Capacity must be a positive integer");
+      throw new RuleViolationException("capacity-positive", "Capacity must be a positive integer");
     }
     if (warehouse.stock == null || warehouse.stock < 0) {
-      throw new IllegalArgumentException("Stock cannot be negative");
+      throw new RuleViolationException("stock-non-negative", "Stock cannot be negative");
     }
     if (warehouse.stock > warehouse.capacity) {
-      throw new IllegalArgumentException("Stock cannot exceed capacity");
+      throw new RuleViolationException("stock-within-capacity", "Stock cannot exceed capacity");
     }
 
     // Warehouse Creation Feasibility: max number of warehouses and total capacity for the location
@@ -65,7 +74,8 @@ public class CreateWarehouseUseCase implements CreateWarehouseOperation {
             .toList();
 
     if (warehousesAtLocation.size() >= location.maxNumberOfWarehouses) {
-      throw new IllegalArgumentException(
+      throw new RuleViolationException(
+          "location-max-warehouses",
           "Maximum number of warehouses reached for location " + warehouse.location);
     }
 
@@ -75,7 +85,8 @@ public class CreateWarehouseUseCase implements CreateWarehouseOperation {
             .sum();
     int newTotalCapacity = currentTotalCapacity + warehouse.capacity;
     if (newTotalCapacity > location.maxCapacity) {
-      throw new IllegalArgumentException(
+      throw new RuleViolationException(
+          "location-max-capacity",
           "Total capacity for location "
               + warehouse.location
               + " would exceed the maximum allowed: "
@@ -1,16 +1,21 @@
 package com.fulfilment.application.monolith.warehouses.domain.usecases;
 
+import com.fulfilment.application.monolith.metrics.CountRuleViolations;
 import com.fulfilment.application.monolith.warehouses.domain.models.Location;
+import com.fulfilment.application.monolith.warehouses.domain.models.RuleViolationException;
 import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
 import com.fulfilment.application.monolith.warehouses.domain.ports.ReplaceWarehouseOperation;
 import com.fulfilment.application.monolith.warehouses.domain.ports.LocationResolver;
 import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
+import io.micrometer.core.annotation.Timed;
+import io.opentelemetry.instrumentation.annotations.WithSpan;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @ApplicationScoped
+@CountRuleViolations
 public class ReplaceWarehouseUseCase implements ReplaceWarehouseOperation {
 
   private final WarehouseStore warehouseStore;
@@ -23,49 +28,56 @@ public class ReplaceWarehouseUseCase implements ReplaceWarehouseOperation {
   }
 
   @Override
+  @Timed(value = "warehouse.usecase", histogram = true)
+  @WithSpan
   public void replace(Warehouse newWarehouse) {
     if (newWarehouse == null) {
-      throw new IllegalArgumentException("New warehouse data must be provided");
+      throw new RuleViolationException("warehouse-required", "New warehouse data must be provided");
     }
     if (newWarehouse.businessUnitCode == null || newWarehouse.businessUnitCode.isBlank()) {
-      throw new IllegalArgumentException("Business unit code must be provided");
+      throw new RuleViolationException(
+          "business-unit-code-required", "Business unit code must be provided");
     }
 
     Warehouse existing =
         warehouseStore.findByBusinessUnitCode(newWarehouse.businessUnitCode);
     if (existing == null) {
-      throw new IllegalArgumentException(
+      throw new RuleViolationException(
+          "warehouse-exists",
           "Warehouse not found for business unit code: " + newWarehouse.businessUnitCode);
     }
 
     // Location validation for the new warehouse
     if (newWarehouse.location == null || newWarehouse.location.isBlank()) {
-      throw new IllegalArgumentException("Location must be provided");
+      throw new RuleViolationException("location-required", "Location must be provided");
     }
     Location location = locationResolver.resolveByIdentifier(newWarehouse.location);
     if (location == null) {
-      throw new IllegalArgumentException("Invalid location: " + newWarehouse.location);
+      throw new RuleViolationException(
+          "location-known", "Invalid location: " + newWarehouse.location);
     }
 
     if (newWarehouse.capacity == null || newWarehouse.capacity <= 0) {
-      throw new IllegalArgumentException("Capacity must be a positive integer");
+      throw new RuleViolationException("capacity-positive", "Capacity must be a positive integer");
     }
     if (newWarehouse.stock == null || newWarehouse.stock < 0) {
-      throw new IllegalArgumentException("Stock cannot be negative");
+      throw new RuleViolationException("stock-non-negative", "Stock cannot be negative");
     }
     if (newWarehouse.stock > newWarehouse.capacity) {
-      throw new IllegalArgumentException("Stock cannot exceed capacity");
+      throw new RuleViolationException("stock-within-capacity", "Stock cannot exceed capacity");
     }
 
     // Additional Validations for Replacing a Warehouse
     // Stock Matching
     if (!newWarehouse.stock.equals(existing.stock)) {
-      throw new IllegalArgumentException("New warehouse stock must match existing warehouse stock");
+      throw new RuleViolationException(
+          "stock-matches-replaced", "New warehouse stock must match existing warehouse stock");
     }
 
     // Capacity Accommodation
     if (newWarehouse.capacity < existing.stock) {
-      throw new IllegalArgumentException(
+      throw new RuleViolationException(
+          "capacity-accommodates-replaced",
           "New warehouse capacity must accommodate the stock of the warehouse being replaced");
     }
 
@@ -81,7 +93,8 @@ public class ReplaceWarehouseUseCase implements ReplaceWarehouseOperation {
             .toList();
 
     if (warehousesAtLocation.size() >= location.maxNumberOfWarehouses) {
-      throw new IllegalArgumentException(
+      throw new RuleViolationException(
+          "location-max-warehouses",
           "Maximum number of warehouses reached for location " + newWarehouse.location);
     }
 
@@ -91,7 +104,8 @@ public class ReplaceWarehouseUseCase implements ReplaceWarehouseOperation {
             .sum();
     int newTotalCapacity = currentTotalCapacityAtLocation + newWarehouse.capacity;
     if (newTotalCapacity > location.maxCapacity) {
-      throw new IllegalArgumentException(
+      throw new RuleViolationException(
+          "location-max-capacity",
           "Total capacity for location "
               + newWarehouse.location
               + " would exceed the maximum allowed: "
@@ -2,11 +2,15 @@ INSERT INTO store(id, name, quantityProductsInStock) VALUES (1, 'TONSTAD', 10);
 INSERT INTO store(id, name, quantityProductsInStock) VALUES (2, 'KALLAX', 5);
 INSERT INTO store(id, name, quantityProductsInStock) VALUES (3, 'BESTÅ', 3);
 ALTER SEQUENCE store_seq RESTART WITH 4;
+CREATE UNIQUE INDEX store_live_name ON store (name) WHERE deletedAt IS NULL;
+CREATE INDEX store_tombstones ON store (deletedAt) WHERE deletedAt IS NOT NULL;
 
 INSERT INTO product(id, name, stock) VALUES (1, 'TONSTAD', 10);
 INSERT INTO product(id, name, stock) VALUES (2, 'KALLAX', 5);
 INSERT INTO product(id, name, stock) VALUES (3, 'BESTÅ', 3);
 ALTER SEQUENCE product_seq RESTART WITH 4;
+CREATE UNIQUE INDEX product_live_name ON product (name) WHERE deletedAt IS NULL;
+CREATE INDEX product_tombstones ON product (deletedAt) WHERE deletedAt IS NOT NULL;
 
 INSERT INTO warehouse(id, businessUnitCode, location, capacity, stock, createdAt, archivedAt) 
 VALUES (1, 'MWH.001', 'ZWOLLE-001', 100, 10, '2024-07-01 10:00:00', null);
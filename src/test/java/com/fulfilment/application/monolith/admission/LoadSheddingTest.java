@@ -0,0 +1,84 @@
+package com.fulfilment.application.monolith.admission;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.quarkus.test.junit.QuarkusMock;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.response.ValidatableResponse;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.MediaType;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+public class LoadSheddingTest {
+
+  @Inject ConnectionPoolPressure poolPressure;
+
+  private static void pressure(double pressure) {
+    QuarkusMock.installMockForType(
+        new ConnectionPoolPressure() {
+          @Override
+          public double pressure() {
+            return pressure;
+          }
+        },
+        ConnectionPoolPressure.class);
+  }
+
+  private static ValidatableResponse createStore() {
+    return given()
+        .contentType(MediaType.APPLICATION_JSON)
+        .body("{\"name\": \"SHED_" + System.nanoTime() + "\", \"quantityProductsInStock\": 3}")
+        .when()
+        .post("/store")
+        .then();
+  }
+
+  @Test
+  public void testIdlePoolIsBelowEveryThreshold() {
+    given().when().get("/warehouse/1").then().statusCode(200);
+    assertTrue(poolPressure.pressure() < 1.0);
+  }
+
+  @Test
+  public void testReadsAreShedBeforeWrites() {
+    pressure(1.5);
+
+    given()
+        .when()
+        .get("/warehouse/1")
+        .then()
+        .statusCode(503)
+        .header("Retry-After", "1")
+        .body("error", equalTo(LoadSheddingFilter.MESSAGE));
+    createStore().statusCode(201);
+  }
+
+  @Test
+  public void testWritesAreShedOnceThePoolIsFarBehind() {
+    pressure(2.5);
+
+    createStore().statusCode(503).header("Retry-After", "1");
+    // exempt endpoints do not use the database
+    given().when().get("/admin/query-cache").then().statusCode(200);
+  }
+
+  @Test
+  public void testPoolSaturationAndShedRequestsAreExported() {
+    pressure(2.5);
+    createStore();
+
+    given()
+        .when()
+        .get("/q/metrics")
+        .then()
+        .statusCode(200)
+        .body(containsString("db_pool_pressure"))
+        .body(containsString("agroal_active_count"))
+        .body(containsString("agroal_awaiting_count"))
+        .body(containsString("http_server_requests_shed_total{priority=\"write\"}"));
+  }
+}
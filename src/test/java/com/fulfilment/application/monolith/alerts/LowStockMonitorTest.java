@@ -0,0 +1,168 @@
+package com.fulfilment.application.monolith.alerts;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.hasItem;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+
+import com.fulfilment.application.monolith.events.ChangeEvent;
+import com.fulfilment.application.monolith.products.Product;
+import com.fulfilment.application.monolith.stores.StockAdjustment;
+import com.fulfilment.application.monolith.stores.Store;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.MediaType;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+public class LowStockMonitorTest {
+
+  @Inject LowStockMonitor lowStockMonitor;
+
+  private static String uniqueName(String prefix) {
+    return prefix + System.nanoTime() % 1_000_000_000L;
+  }
+
+  private static void updateProduct(Long id, Product product, int stock) {
+    product.stock = stock;
+    given()
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(product)
+        .when()
+        .put("/product/" + id)
+        .then()
+        .statusCode(200);
+  }
+
+  @Test
+  public void testOnlyThresholdCrossingsRaiseAlerts() {
+    List<LowStockAlert> raised = new CopyOnWriteArrayList<>();
+    Consumer<LowStockAlert> subscriber = raised::add;
+    lowStockMonitor.subscribe(subscriber);
+    try {
+      Product product = new Product(uniqueName("LOW_"));
+      product.stock = 10;
+      Long id =
+          given()
+              .contentType(MediaType.APPLICATION_JSON)
+              .body(product)
+              .when()
+              .post("/product")
+              .then()
+              .statusCode(201)
+              .extract()
+              .jsonPath()
+              .getLong("id");
+      String entityId = String.valueOf(id);
+
+      updateProduct(id, product, 2);
+      updateProduct(id, product, 3);
+      given()
+          .when()
+          .get("/alerts/low-stock/product/" + id)
+          .then()
+          .statusCode(200)
+          .body("stock", is(3))
+          .body("threshold", is(5));
+      given()
+          .queryParam("entityType", "product")
+          .when()
+          .get("/alerts/low-stock")
+          .then()
+          .statusCode(200)
+          .body("entityId", hasItem(entityId));
+
+      updateProduct(id, product, 8);
+      given().when().get("/alerts/low-stock/product/" + id).then().statusCode(404);
+
+      List<LowStockAlert> forProduct =
+          raised.stream().filter(alert -> alert.entityId.equals(entityId)).toList();
+      assertEquals(2, forProduct.size());
+      assertEquals(LowStockAlert.Kind.LOW, forProduct.get(0).kind);
+      assertEquals(2, forProduct.get(0).stock);
+      assertEquals(LowStockAlert.Kind.RECOVERED, forProduct.get(1).kind);
+    } finally {
+      lowStockMonitor.unsubscribe(subscriber);
+    }
+  }
+
+  @Test
+  public void testStockAdjustmentsAndDeletesAreWatched() {
+    Store store = new Store(uniqueName("LOW_STORE_"));
+    store.quantityProductsInStock = 6;
+    Long id =
+        given()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(store)
+            .when()
+            .post("/store")
+            .then()
+            .statusCode(201)
+            .extract()
+            .jsonPath()
+            .getLong("id");
+
+    given()
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(new StockAdjustment(id, -4))
+        .when()
+        .post("/store/" + id + "/stock-adjustments")
+        .then()
+        .statusCode(200);
+    assertNotNull(lowStockMonitor.find("store", String.valueOf(id)));
+
+    given().when().delete("/store/" + id).then().statusCode(204);
+    assertNull(lowStockMonitor.find("store", String.valueOf(id)));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testItemsPastMaxTrackedAlertOnceAndRecover() {
+    LowStockMonitor monitor = new LowStockMonitor();
+    monitor.productThreshold = 5;
+    monitor.maxTracked = 1;
+    monitor.alerts = mock(Event.class);
+    monitor.init();
+    List<LowStockAlert> raised = new CopyOnWriteArrayList<>();
+    monitor.subscribe(raised::add);
+    long[] sequence = {0};
+    BiConsumer<Long, Integer> change =
+        (id, stock) -> {
+          Product product = new Product("OVERFLOW_" + id);
+          product.id = id;
+          product.stock = stock;
+          ChangeEvent event =
+              new ChangeEvent(
+                  ChangeEvent.PRODUCT, String.valueOf(id), ChangeEvent.Action.UPDATED, product);
+          event.sequence = ++sequence[0];
+          monitor.onChange(event);
+        };
+
+    change.accept(1L, 2); // tracked
+    change.accept(2L, 2); // past max-tracked
+    change.accept(2L, 1);
+    change.accept(2L, 3);
+    change.accept(2L, 8);
+
+    assertNotNull(monitor.find(ChangeEvent.PRODUCT, "1"));
+    assertNull(monitor.find(ChangeEvent.PRODUCT, "2"));
+    List<LowStockAlert.Kind> forOverflowed =
+        raised.stream().filter(alert -> alert.entityId.equals("2")).map(a -> a.kind).toList();
+    assertEquals(List.of(LowStockAlert.Kind.LOW, LowStockAlert.Kind.RECOVERED), forOverflowed);
+
+    // once there is room, a still low overflowed item is tracked without alerting again
+    change.accept(2L, 1);
+    change.accept(1L, 9);
+    change.accept(2L, 0);
+    assertEquals(0, monitor.find(ChangeEvent.PRODUCT, "2").stock);
+    assertEquals(5, raised.size());
+  }
+}
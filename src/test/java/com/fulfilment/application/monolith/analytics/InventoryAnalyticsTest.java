@@ -0,0 +1,59 @@
+package com.fulfilment.application.monolith.analytics;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fulfilment.application.monolith.products.Product;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+public class InventoryAnalyticsTest {
+
+  @Inject InventoryAnalytics inventoryAnalytics;
+
+  @Test
+  public void testAggregatesMatchTheTables() {
+    InventorySnapshot snapshot = inventoryAnalytics.refresh();
+
+    List<Product> products = QuarkusTransaction.requiringNew().call(() -> Product.listAll());
+    BigDecimal value = BigDecimal.ZERO;
+    long stock = 0;
+    for (Product product : products) {
+      stock += product.stock;
+      if (product.price != null) {
+        value = value.add(product.price.multiply(BigDecimal.valueOf(product.stock)));
+      }
+    }
+    assertEquals(products.size(), snapshot.products.products);
+    assertEquals(stock, snapshot.products.totalStock);
+    assertEquals(0, value.compareTo(snapshot.products.inventoryValue));
+
+    long bucketed = snapshot.stores.buckets.stream().mapToLong(bucket -> bucket.stores).sum();
+    assertEquals(snapshot.stores.stores, bucketed);
+    assertEquals(InventoryAnalytics.STORE_STOCK_BUCKETS.length, snapshot.stores.buckets.size());
+
+    assertFalse(snapshot.warehouseLocations.isEmpty());
+    assertTrue(snapshot.warehouseLocations.stream().allMatch(location -> location.warehouses > 0));
+  }
+
+  @Test
+  public void testEndpointServesTheSnapshot() {
+    given()
+        .when()
+        .get("/analytics/inventory")
+        .then()
+        .statusCode(200)
+        .body("computedAt", notNullValue())
+        .body("products.inventoryValue", notNullValue())
+        .body("stores.buckets.size()", is(5));
+  }
+}
@@ -0,0 +1,139 @@
+package com.fulfilment.application.monolith.coalescing;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.fulfilment.application.monolith.events.ChangeEvent;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.response.ExtractableResponse;
+import io.restassured.response.Response;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.MediaType;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+public class RequestCoalescingTest {
+
+  @Inject RequestCoalescer coalescer;
+
+  /** Sends a GET from another thread, and returns once it waits for the load of {@code flight}. */
+  private static CompletableFuture<ExtractableResponse<Response>> followerOf(
+      RequestCoalescer.Flight flight, String path) throws InterruptedException {
+    CompletableFuture<ExtractableResponse<Response>> response =
+        CompletableFuture.supplyAsync(() -> given().when().get(path).then().extract());
+    while (flight.body.getNumberOfDependents() == 0 && !response.isDone()) {
+      Thread.sleep(5);
+    }
+    return response;
+  }
+
+  @Test
+  public void testConcurrentReadsShareTheLeadersResponse() throws Exception {
+    String shared = "{\"id\":2,\"name\":\"SHARED\",\"stock\":5}";
+    RequestCoalescer.Flight flight = coalescer.lead(RequestCoalescer.key(ChangeEvent.PRODUCT, "2"));
+    assertNotNull(flight);
+    CompletableFuture<ExtractableResponse<Response>> follower = followerOf(flight, "/product/2");
+
+    coalescer.complete(flight, shared.getBytes(StandardCharsets.UTF_8));
+    ExtractableResponse<Response> response = follower.get();
+    assertEquals(200, response.statusCode());
+    assertEquals(shared, response.asString());
+  }
+
+  @Test
+  public void testWarehouseReadsAreCoalesced() throws Exception {
+    String shared = "{\"businessUnitCode\":\"MWH.SHARED\"}";
+    RequestCoalescer.Flight flight =
+        coalescer.lead(RequestCoalescer.key(ChangeEvent.WAREHOUSE, "1"));
+    CompletableFuture<ExtractableResponse<Response>> follower = followerOf(flight, "/warehouse/1");
+
+    coalescer.complete(flight, shared.getBytes(StandardCharsets.UTF_8));
+    assertEquals(shared, follower.get().asString());
+  }
+
+  @Test
+  public void testFollowersLoadThemselvesWhenTheLeaderFails() throws Exception {
+    RequestCoalescer.Flight flight = coalescer.lead(RequestCoalescer.key(ChangeEvent.STORE, "2"));
+    CompletableFuture<ExtractableResponse<Response>> follower = followerOf(flight, "/store/2");
+
+    coalescer.abandon(flight);
+    ExtractableResponse<Response> response = follower.get();
+    assertEquals(200, response.statusCode());
+    assertEquals("KALLAX", response.path("name"));
+  }
+
+  @Test
+  public void testLeadersHandOverTheirResponseAndErrorsAreNotShared() {
+    given().when().get("/store/1").then().statusCode(200);
+    given().when().get("/store/999999999").then().statusCode(404);
+
+    // neither load is left in flight
+    for (String id : new String[] {"1", "999999999"}) {
+      RequestCoalescer.Flight flight = coalescer.lead(RequestCoalescer.key(ChangeEvent.STORE, id));
+      assertNotNull(flight);
+      coalescer.abandon(flight);
+    }
+  }
+
+  @Test
+  public void testWritesDropTheLoadsInFlight() {
+    String name = "COALESCE_" + System.nanoTime();
+    int id =
+        given()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body("{\"name\": \"" + name + "\", \"quantityProductsInStock\": 3}")
+            .when()
+            .post("/store")
+            .then()
+            .statusCode(201)
+            .extract()
+            .path("id");
+    String key = RequestCoalescer.key(ChangeEvent.STORE, String.valueOf(id));
+    RequestCoalescer.Flight stale = coalescer.lead(key);
+
+    given()
+        .contentType(MediaType.APPLICATION_JSON)
+        .body("{\"name\": \"" + name + "\", \"quantityProductsInStock\": 7}")
+        .when()
+        .put("/store/" + id)
+        .then()
+        .statusCode(200);
+
+    // the next read leads a new load rather than waiting for the one started before the write
+    RequestCoalescer.Flight fresh = coalescer.lead(key);
+    assertNotNull(fresh);
+    coalescer.abandon(fresh);
+    coalescer.abandon(stale);
+  }
+
+  @Test
+  public void testTtlKeepsResponsesUntilTheEntityChanges() {
+    RequestCoalescer withTtl = new RequestCoalescer();
+    withTtl.ttl = Duration.ofMinutes(1);
+    withTtl.maximumSize = 100;
+    withTtl.waitTimeout = Duration.ofSeconds(1);
+    withTtl.init();
+    byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+
+    String key = RequestCoalescer.key(ChangeEvent.PRODUCT, "1");
+    withTtl.complete(withTtl.lead(key), body);
+    assertArrayEquals(body, withTtl.recent(key));
+
+    withTtl.onChange(
+        new ChangeEvent(ChangeEvent.PRODUCT, "1", ChangeEvent.Action.UPDATED, null));
+    assertNull(withTtl.recent(key));
+
+    // a load that started before a change is handed to its followers, but not kept
+    RequestCoalescer.Flight racing = withTtl.lead(key);
+    withTtl.onChange(
+        new ChangeEvent(ChangeEvent.PRODUCT, "1", ChangeEvent.Action.UPDATED, null));
+    withTtl.complete(racing, body);
+    assertNull(withTtl.recent(key));
+  }
+}
@@ -0,0 +1,116 @@
+package com.fulfilment.application.monolith.compaction;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fulfilment.application.monolith.products.Product;
+import com.fulfilment.application.monolith.stores.Store;
+import com.fulfilment.application.monolith.warehouses.adapters.database.DbWarehouse;
+import com.fulfilment.application.monolith.warehouses.adapters.database.StoreWarehouseProduct;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.ws.rs.core.MediaType;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+public class TombstoneCompactorTest {
+
+  @Inject TombstoneCompactor compactor;
+
+  @Inject EntityManager entityManager;
+
+  private static Long create(String path, Object body) {
+    return given()
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(body)
+        .when()
+        .post(path)
+        .then()
+        .statusCode(201)
+        .extract()
+        .jsonPath()
+        .getLong("id");
+  }
+
+  private long rowCount(String table, Long id) {
+    return QuarkusTransaction.requiringNew()
+        .call(
+            () ->
+                ((Number)
+                        entityManager
+                            .createNativeQuery("SELECT count(*) FROM " + table + " WHERE id = ?1")
+                            .setParameter(1, id)
+                            .getSingleResult())
+                    .longValue());
+  }
+
+  @Test
+  public void testDeleteTombstonesAndFreesTheName() {
+    String name = "TOMB_" + System.nanoTime() % 1_000_000_000L;
+    Long id = create("/product", new Product(name));
+
+    given().when().delete("/product/" + id).then().statusCode(204);
+
+    given().when().get("/product/" + id).then().statusCode(404);
+    given().when().delete("/product/" + id).then().statusCode(404);
+    assertEquals(1, rowCount("product", id));
+    create("/product", new Product(name));
+  }
+
+  @Test
+  public void testCompactionPurgesOldTombstonesAndTheirAssignments() {
+    String suffix = String.valueOf(System.nanoTime() % 1_000_000_000L);
+    Long productId = create("/product", new Product("PURGED_" + suffix));
+    Long storeId = create("/store", new Store("PURGED_" + suffix));
+    Long recentId = create("/product", new Product("RECENT_" + suffix));
+
+    Long assignmentId =
+        QuarkusTransaction.requiringNew()
+            .call(
+                () -> {
+                  DbWarehouse warehouse = new DbWarehouse();
+                  warehouse.businessUnitCode = "TOMB." + suffix;
+                  warehouse.location = "ZWOLLE-001";
+                  warehouse.capacity = 10;
+                  warehouse.stock = 1;
+                  warehouse.persist();
+                  StoreWarehouseProduct assignment = new StoreWarehouseProduct();
+                  assignment.store = Store.findById(storeId);
+                  assignment.product = Product.findById(productId);
+                  assignment.warehouse = warehouse;
+                  assignment.persist();
+                  return assignment.id;
+                });
+
+    given().when().delete("/product/" + productId).then().statusCode(204);
+    given().when().delete("/store/" + storeId).then().statusCode(204);
+    given().when().delete("/product/" + recentId).then().statusCode(204);
+    // age the first two tombstones past the grace period
+    QuarkusTransaction.requiringNew()
+        .run(
+            () -> {
+              LocalDateTime longAgo = LocalDateTime.now().minusDays(1);
+              entityManager
+                  .createNativeQuery("UPDATE product SET deletedAt = ?1 WHERE id = ?2")
+                  .setParameter(1, longAgo)
+                  .setParameter(2, productId)
+                  .executeUpdate();
+              entityManager
+                  .createNativeQuery("UPDATE store SET deletedAt = ?1 WHERE id = ?2")
+                  .setParameter(1, longAgo)
+                  .setParameter(2, storeId)
+                  .executeUpdate();
+            });
+
+    assertTrue(compactor.compact() >= 2);
+
+    assertEquals(0, rowCount("product", productId));
+    assertEquals(0, rowCount("store", storeId));
+    assertEquals(0, rowCount("StoreWarehouseProduct", assignmentId));
+    assertEquals(1, rowCount("product", recentId));
+  }
+}
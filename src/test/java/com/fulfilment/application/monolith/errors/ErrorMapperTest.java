@@ -0,0 +1,127 @@
+package com.fulfilment.application.monolith.errors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.PersistenceException;
+import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import java.sql.SQLException;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ErrorMapperTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  private ErrorMapper errorMapper;
+
+  @BeforeEach
+  void setUp() {
+    errorMapper = new ErrorMapper(new SimpleMeterRegistry(), 10);
+  }
+
+  private double serverErrors(Class<?> type) {
+    Counter counter =
+        errorMapper
+            .meterRegistry
+            .find(ErrorMapper.METRIC)
+            .tag("exception", type.getName())
+            .counter();
+    return counter != null ? counter.count() : 0;
+  }
+
+  private JsonNode json(Response response) throws Exception {
+    return objectMapper.readTree((String) response.getEntity());
+  }
+
+  @Test
+  void domainErrorsKeepStatusAndMessage() throws Exception {
+    Response response = errorMapper.toResponse(new NotFoundException("Store with id 7 not found"));
+
+    assertEquals(404, response.getStatus());
+    assertEquals(MediaType.APPLICATION_JSON_TYPE, response.getMediaType());
+    JsonNode body = json(response);
+    assertEquals(NotFoundException.class.getName(), body.get("exceptionType").asText());
+    assertEquals(404, body.get("code").asInt());
+    assertEquals("Store with id 7 not found", body.get("error").asText());
+  }
+
+  @Test
+  void illegalArgumentsAreUnprocessable() throws Exception {
+    Response response = errorMapper.toResponse(new IllegalArgumentException("Stock is negative"));
+
+    assertEquals(422, response.getStatus());
+    assertEquals("Stock is negative", json(response).get("error").asText());
+  }
+
+  @Test
+  void wrappedConstraintViolationsAreConflictsWithoutSql() throws Exception {
+    ConstraintViolationException violation =
+        new ConstraintViolationException(
+            "insert into Product ...", new SQLException("duplicate key"), "product_live_name");
+
+    Response response =
+        errorMapper.toResponse(new PersistenceException("could not execute", violation));
+
+    assertEquals(409, response.getStatus());
+    JsonNode body = json(response);
+    assertEquals(PersistenceException.class.getName(), body.get("exceptionType").asText());
+    assertEquals(ErrorMapper.CONFLICT_MESSAGE, body.get("error").asText());
+  }
+
+  @Test
+  void unexpectedErrorsHideTheirMessage() throws Exception {
+    Response response = errorMapper.toResponse(new RuntimeException("password=hunter2"));
+
+    assertEquals(500, response.getStatus());
+    JsonNode body = json(response);
+    assertEquals(ErrorMapper.INTERNAL_ERROR_MESSAGE, body.get("error").asText());
+    assertFalse(response.getEntity().toString().contains("hunter2"));
+  }
+
+  @Test
+  void bodiesWithoutMessageAreBuiltOncePerType() {
+    Object first = errorMapper.toResponse(new IllegalStateException("a")).getEntity();
+    Object second = errorMapper.toResponse(new IllegalStateException("b")).getEntity();
+
+    assertSame(first, second);
+  }
+
+  @Test
+  void messagesAreEscaped() throws Exception {
+    String message = "Name \"A\\B\"\nis\ttaken";
+
+    Response response = errorMapper.toResponse(new IllegalArgumentException(message));
+
+    assertEquals(message, json(response).get("error").asText());
+  }
+
+  @Test
+  void nullMessagesLeaveOutTheErrorField() throws Exception {
+    Response response = errorMapper.toResponse(new NotFoundException((String) null));
+
+    assertFalse(json(response).has("error"));
+  }
+
+  @Test
+  void serverErrorsAreCountedAndTheirStackTracesLimited() {
+    errorMapper = new ErrorMapper(new SimpleMeterRegistry(), 2);
+
+    for (int i = 0; i < 5; i++) {
+      errorMapper.toResponse(new UnsupportedOperationException("boom " + i));
+    }
+    errorMapper.toResponse(new NotFoundException("not a server error"));
+
+    assertEquals(5, serverErrors(UnsupportedOperationException.class));
+    assertEquals(2, errorMapper.serverErrors.tracesInWindow(UnsupportedOperationException.class));
+    assertEquals(0, serverErrors(NotFoundException.class));
+  }
+}
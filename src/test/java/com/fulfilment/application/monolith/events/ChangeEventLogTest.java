@@ -0,0 +1,169 @@
+package com.fulfilment.application.monolith.events;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import jakarta.enterprise.event.Event;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ChangeEventLogTest {
+
+  private ChangeEventLog log;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() {
+    log = new ChangeEventLog();
+    log.bufferSize = 4;
+    log.committedEvents = mock(Event.class);
+    log.init();
+  }
+
+  private ChangeEvent append(String id) {
+    ChangeEvent event = new ChangeEvent(ChangeEvent.STORE, id, ChangeEvent.Action.UPDATED, null);
+    log.append(event);
+    return event;
+  }
+
+  @Test
+  void appendAssignsIncreasingSequencesAndFiresEvent() {
+    ChangeEvent first = append("1");
+    ChangeEvent second = append("2");
+
+    assertEquals(1, first.sequence);
+    assertEquals(2, second.sequence);
+    assertEquals(2, log.lastSequence());
+    verify(log.committedEvents).fire(second);
+  }
+
+  @Test
+  void eventsAreNumberedInTicketOrderWithoutTheCancelledOnes() {
+    List<ChangeEvent> received = new ArrayList<>();
+    log.subscribe(0, received::add);
+    long first = log.reserve();
+    long cancelled = log.reserve();
+    long third = log.reserve();
+    ChangeEvent late = new ChangeEvent(ChangeEvent.STORE, "1", ChangeEvent.Action.UPDATED, null);
+    ChangeEvent early = new ChangeEvent(ChangeEvent.STORE, "1", ChangeEvent.Action.UPDATED, null);
+
+    log.append(third, late);
+    log.cancel(cancelled);
+
+    assertEquals(0, log.lastSequence());
+    assertTrue(received.isEmpty());
+
+    log.append(first, early);
+
+    assertEquals(1, early.sequence);
+    assertEquals(2, late.sequence);
+    assertEquals(List.of(early, late), received);
+    assertEquals(List.of(early, late), log.since(0));
+  }
+
+  @Test
+  void sinceReturnsEventsAfterSequence() {
+    append("1");
+    append("2");
+    append("3");
+
+    List<ChangeEvent> events = log.since(1);
+
+    assertEquals(2, events.size());
+    assertEquals("2", events.get(0).entityId);
+    assertEquals("3", events.get(1).entityId);
+  }
+
+  @Test
+  void ringBufferDropsOldestEvents() {
+    for (int i = 1; i <= 6; i++) {
+      append(String.valueOf(i));
+    }
+
+    assertEquals(3, log.oldestSequence());
+    assertTrue(log.canResumeFrom(2));
+    assertFalse(log.canResumeFrom(1));
+    assertFalse(log.canResumeFrom(7));
+    assertEquals(4, log.since(0).size());
+    assertEquals("3", log.since(0).get(0).entityId);
+  }
+
+  @Test
+  void subscribeReplaysThenReceivesLiveEvents() {
+    append("1");
+    append("2");
+    List<ChangeEvent> received = new ArrayList<>();
+
+    log.subscribe(1, received::add);
+    append("3");
+
+    assertEquals(List.of(2L, 3L), received.stream().map(e -> e.sequence).toList());
+  }
+
+  @Test
+  void unsubscribedConsumerReceivesNothing() {
+    List<ChangeEvent> received = new ArrayList<>();
+    Consumer<ChangeEvent> subscriber = received::add;
+    log.subscribe(0, subscriber);
+    log.unsubscribe(subscriber);
+
+    append("1");
+
+    assertTrue(received.isEmpty());
+  }
+
+  @Test
+  void failingObserversAndSubscribersDoNotStopDelivery() {
+    doThrow(new IllegalStateException("observer")).when(log.committedEvents).fire(any());
+    List<ChangeEvent> received = new ArrayList<>();
+    log.subscribe(
+        0,
+        event -> {
+          throw new IllegalStateException("subscriber");
+        });
+    log.subscribe(0, received::add);
+
+    append("1");
+    append("2");
+
+    assertEquals(List.of(1L, 2L), received.stream().map(e -> e.sequence).toList());
+  }
+
+  @Test
+  void concurrentAppendsReachSubscribersInSequenceOrder() throws Exception {
+    log.bufferSize = 1024;
+    log.init();
+    List<Long> received = new CopyOnWriteArrayList<>();
+    log.subscribe(0, event -> received.add(event.sequence));
+
+    ExecutorService writers = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<?>> appends = new ArrayList<>();
+      for (int i = 0; i < 1000; i++) {
+        String id = String.valueOf(i);
+        appends.add(writers.submit(() -> append(id)));
+      }
+      for (Future<?> append : appends) {
+        append.get(10, TimeUnit.SECONDS);
+      }
+    } finally {
+      writers.shutdown();
+    }
+
+    assertEquals(LongStream.rangeClosed(1, 1000).boxed().toList(), received);
+  }
+}
@@ -0,0 +1,99 @@
+package com.fulfilment.application.monolith.events;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fulfilment.application.monolith.stores.Store;
+import io.quarkus.test.common.http.TestHTTPResource;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.MediaType;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+public class ChangeStreamResourceTest {
+
+  @Inject ChangeEventLog changeEventLog;
+
+  @TestHTTPResource("changes/stream")
+  URI streamUri;
+
+  private String createStore(String prefix) {
+    Store store = new Store();
+    store.name = prefix + System.nanoTime() % 1_000_000_000L;
+    store.quantityProductsInStock = 1;
+
+    given()
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(store)
+        .when()
+        .post("/store")
+        .then()
+        .statusCode(201);
+    return store.name;
+  }
+
+  @Test
+  public void testCommittedChangesCanBePolledSinceSequence() {
+    long since = changeEventLog.lastSequence();
+    String name = createStore("CHANGES_");
+
+    given()
+        .when()
+        .get("/changes?since=" + since)
+        .then()
+        .statusCode(200)
+        .body("entityType", hasItem("store"))
+        .body("action", hasItem("CREATED"))
+        .body("payload.name", hasItem(name));
+  }
+
+  @Test
+  public void testFailedWritesAreNotPublished() {
+    long since = changeEventLog.lastSequence();
+
+    given()
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(new Store())
+        .when()
+        .put("/store/999999")
+        .then()
+        .statusCode(422);
+
+    assertTrue(changeEventLog.since(since).isEmpty());
+  }
+
+  @Test
+  public void testPollingFromUnavailableSequenceIsGone() {
+    given().when().get("/changes?since=" + Long.MAX_VALUE).then().statusCode(410);
+  }
+
+  @Test
+  public void testStreamResumesFromLastEventId() throws Exception {
+    long since = changeEventLog.lastSequence();
+    String name = createStore("STREAMED_");
+
+    HttpRequest request =
+        HttpRequest.newBuilder(streamUri)
+            .header("Accept", MediaType.SERVER_SENT_EVENTS)
+            .header("Last-Event-ID", String.valueOf(since))
+            .build();
+    HttpResponse<Stream<String>> response =
+        HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofLines());
+
+    try (Stream<String> lines = response.body()) {
+      CompletableFuture<Boolean> replayed =
+          CompletableFuture.supplyAsync(
+              () -> lines.anyMatch(line -> line.startsWith("data:") && line.contains(name)));
+      assertTrue(replayed.get(10, TimeUnit.SECONDS));
+    }
+  }
+}
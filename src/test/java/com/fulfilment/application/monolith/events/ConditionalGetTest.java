@@ -0,0 +1,153 @@
+package com.fulfilment.application.monolith.events;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fulfilment.application.monolith.products.Product;
+import com.fulfilment.application.monolith.stores.Store;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+public class ConditionalGetTest {
+
+  private static String uniqueName(String prefix) {
+    return prefix + System.nanoTime() % 1_000_000_000L;
+  }
+
+  private static ChangeEvent change(long sequence, String entityId) {
+    ChangeEvent event =
+        new ChangeEvent(ChangeEvent.STORE, entityId, ChangeEvent.Action.UPDATED, null);
+    event.sequence = sequence;
+    return event;
+  }
+
+  @Test
+  public void testCollectionIsNotModifiedUntilAProductChanges() {
+    String etag = given().when().get("/product").then().statusCode(200).extract().header("ETag");
+    assertNotNull(etag);
+
+    given().header(HttpHeaders.IF_NONE_MATCH, etag).when().get("/product").then().statusCode(304);
+
+    given()
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(new Product(uniqueName("ETAG_")))
+        .when()
+        .post("/product")
+        .then()
+        .statusCode(201);
+
+    String changedEtag =
+        given()
+            .header(HttpHeaders.IF_NONE_MATCH, etag)
+            .when()
+            .get("/product")
+            .then()
+            .statusCode(200)
+            .extract()
+            .header("ETag");
+    assertNotEquals(etag, changedEtag);
+  }
+
+  @Test
+  public void testIfModifiedSinceIsNotHonoured() {
+    // the versions are this instance's, a date would be taken as current by other instances too
+    given()
+        .header(HttpHeaders.IF_MODIFIED_SINCE, "Fri, 01 Jan 2100 00:00:00 GMT")
+        .when()
+        .get("/product")
+        .then()
+        .statusCode(200)
+        .header("Last-Modified", nullValue());
+  }
+
+  @Test
+  public void testEntityTagOnlyChangesWithThatEntity() {
+    Store store = new Store(uniqueName("ETAG_STORE_"));
+    store.quantityProductsInStock = 3;
+    Long id =
+        given()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(store)
+            .when()
+            .post("/store")
+            .then()
+            .statusCode(201)
+            .extract()
+            .jsonPath()
+            .getLong("id");
+    String etag =
+        given().when().get("/store/" + id).then().statusCode(200).extract().header("ETag");
+
+    // a change to another store leaves this one's tag alone
+    given()
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(new Store(uniqueName("ETAG_OTHER_")))
+        .when()
+        .post("/store")
+        .then()
+        .statusCode(201);
+    given()
+        .header(HttpHeaders.IF_NONE_MATCH, etag)
+        .when()
+        .get("/store/" + id)
+        .then()
+        .statusCode(304);
+
+    store.quantityProductsInStock = 4;
+    given()
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(store)
+        .when()
+        .put("/store/" + id)
+        .then()
+        .statusCode(200);
+    given()
+        .header(HttpHeaders.IF_NONE_MATCH, etag)
+        .when()
+        .get("/store/" + id)
+        .then()
+        .statusCode(200);
+  }
+
+  @Test
+  public void testLateEventsNeverMoveTheVersionBack() {
+    ChangeVersions versions = new ChangeVersions();
+    versions.maximumEntities = 100;
+    versions.init();
+
+    versions.onChange(change(1, "1"));
+    ChangeVersions.Version first = versions.ofEntity(ChangeEvent.STORE, "1");
+    versions.onChange(change(2, "1"));
+    ChangeVersions.Version last = versions.ofEntity(ChangeEvent.STORE, "1");
+
+    assertNotEquals(first.entityTag(), last.entityTag());
+
+    // a change committed together with the last one, and observed after it
+    versions.onChange(change(1, "1"));
+    assertEquals(last, versions.ofEntity(ChangeEvent.STORE, "1"));
+  }
+
+  @Test
+  public void testEvictedEntitiesFallBackToTheNewestEvictedVersion() {
+    ChangeVersions versions = new ChangeVersions();
+    versions.maximumEntities = 1;
+    versions.init();
+
+    for (int i = 1; i <= 50; i++) {
+      versions.onChange(change(i, String.valueOf(i)));
+    }
+
+    // whichever entities were evicted, none is reported older than its last change
+    for (int i = 1; i <= 50; i++) {
+      assertTrue(versions.ofEntity(ChangeEvent.STORE, String.valueOf(i)).sequence >= i);
+    }
+    assertEquals(0, versions.ofEntity(ChangeEvent.PRODUCT, "1").sequence);
+  }
+}
@@ -0,0 +1,79 @@
+package com.fulfilment.application.monolith.export;
+
+import static io.restassured.RestAssured.given;
+import static io.restassured.config.DecoderConfig.decoderConfig;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.response.Response;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+public class CatalogExportTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @Test
+  public void testProductExportAsNdjson() throws Exception {
+    int products = given().when().get("/product").then().extract().jsonPath().getList("$").size();
+
+    Response response =
+        given()
+            .config(RestAssuredConfig.config().decoderConfig(decoderConfig().noContentDecoders()))
+            .when()
+            .get("/product/export")
+            .then()
+            .statusCode(200)
+            .extract()
+            .response();
+
+    assertTrue(response.contentType().startsWith("application/x-ndjson"));
+    assertEquals(null, response.header("Content-Encoding"));
+    List<String> lines = response.asString().lines().toList();
+    assertEquals(products, lines.size());
+    JsonNode first = objectMapper.readTree(lines.get(0));
+    assertTrue(first.has("id"));
+    assertTrue(first.has("description"));
+    assertTrue(first.has("stock"));
+  }
+
+  @Test
+  public void testStoreExportAsGzippedCsv() {
+    int stores = given().when().get("/store").then().extract().jsonPath().getList("$").size();
+
+    Response response =
+        given()
+            .header("Accept-Encoding", "gzip")
+            .queryParam("format", "csv")
+            .when()
+            .get("/store/export")
+            .then()
+            .statusCode(200)
+            .header("Content-Encoding", "gzip")
+            .extract()
+            .response();
+
+    // rest assured decodes the gzipped body
+    List<String> lines = response.asString().lines().toList();
+    assertEquals("id,name,quantityProductsInStock", lines.get(0));
+    assertEquals(stores + 1, lines.size());
+  }
+
+  @Test
+  public void testUnknownFormatIsRejected() {
+    given().queryParam("format", "xml").when().get("/product/export").then().statusCode(422);
+  }
+
+  @Test
+  public void testCsvValuesAreQuotedWhenNeeded() {
+    assertEquals("plain", CatalogExporter.csvValue("plain"));
+    assertEquals("\"a,b\"", CatalogExporter.csvValue("a,b"));
+    assertEquals("\"say \"\"hi\"\"\"", CatalogExporter.csvValue("say \"hi\""));
+    assertEquals("\"two\nlines\"", CatalogExporter.csvValue("two\nlines"));
+  }
+}
@@ -0,0 +1,53 @@
+package com.fulfilment.application.monolith.lookup;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.containsString;
+
+import com.fulfilment.application.monolith.products.Product;
+import com.fulfilment.application.monolith.stores.Store;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.ws.rs.core.MediaType;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+public class DuplicateNameTest {
+
+  private static String uniqueName(String prefix) {
+    return prefix + System.nanoTime() % 1_000_000_000L;
+  }
+
+  @Test
+  public void testDuplicateProductNameIsAConflict() {
+    String name = uniqueName("DUP_PRODUCT_");
+    for (int status : new int[] {201, 409}) {
+      given()
+          .contentType(MediaType.APPLICATION_JSON)
+          .body(new Product(name))
+          .when()
+          .post("/product")
+          .then()
+          .statusCode(status);
+    }
+  }
+
+  @Test
+  public void testDuplicateStoreNameIsAConflict() {
+    String name = uniqueName("DUP_STORE_");
+    given()
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(new Store(name))
+        .when()
+        .post("/store")
+        .then()
+        .statusCode(201);
+
+    given()
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(new Store(name))
+        .when()
+        .post("/store")
+        .then()
+        .statusCode(409)
+        .body("error", containsString("already exists"));
+  }
+}
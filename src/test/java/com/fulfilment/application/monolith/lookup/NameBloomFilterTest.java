@@ -0,0 +1,56 @@
+package com.fulfilment.application.monolith.lookup;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class NameBloomFilterTest {
+
+  @Test
+  public void testNeverMissesAPutName() {
+    NameBloomFilter filter = NameBloomFilter.create(1000, 0.01);
+    for (int i = 0; i < 1000; i++) {
+      filter.put("STORE_" + i);
+    }
+
+    for (int i = 0; i < 1000; i++) {
+      assertTrue(filter.mightContain("STORE_" + i));
+    }
+  }
+
+  @Test
+  public void testFalsePositiveRateStaysNearItsTarget() {
+    NameBloomFilter filter = NameBloomFilter.create(1000, 0.01);
+    for (int i = 0; i < 1000; i++) {
+      filter.put("PRODUCT_" + i);
+    }
+
+    int falsePositives = 0;
+    for (int i = 0; i < 10_000; i++) {
+      if (filter.mightContain("OTHER_" + i)) {
+        falsePositives++;
+      }
+    }
+    assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+  }
+
+  @Test
+  public void testRebuildKeepsNamesAddedMeanwhile() {
+    NameFilter filter = new NameFilter(0.01);
+    assertTrue(filter.mightExist("ANYTHING"));
+
+    filter.rebuild(
+        100,
+        names -> {
+          List.of("TONSTAD", "KALLAX").forEach(names);
+          // committed while the rebuild was reading the table
+          filter.add("BESTÅ");
+        });
+
+    assertTrue(filter.mightExist("TONSTAD"));
+    assertTrue(filter.mightExist("BESTÅ"));
+    assertFalse(filter.mightExist("NOT_A_NAME_IN_USE"));
+  }
+}
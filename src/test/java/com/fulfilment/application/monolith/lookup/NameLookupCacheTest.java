@@ -0,0 +1,103 @@
+package com.fulfilment.application.monolith.lookup;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class NameLookupCacheTest {
+
+  private NameLookupCache cache;
+  private Map<String, Long> table;
+  private AtomicInteger loads;
+  private Function<String, Long> loader;
+
+  @BeforeEach
+  void setUp() {
+    cache = new NameLookupCache(100, 100, Duration.ofMinutes(1));
+    table = new HashMap<>();
+    loads = new AtomicInteger();
+    loader =
+        name -> {
+          loads.incrementAndGet();
+          return table.get(name);
+        };
+  }
+
+  @Test
+  void hitsAreServedWithoutLoading() {
+    table.put("TONSTAD", 1L);
+
+    assertEquals(1L, cache.idOf("TONSTAD", loader));
+    assertEquals(1L, cache.idOf("TONSTAD", loader));
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  void missesAreCachedUntilTheNameIsCreated() {
+    assertNull(cache.idOf("NEW", loader));
+    assertNull(cache.idOf("NEW", loader));
+    assertEquals(1, loads.get());
+
+    table.put("NEW", 7L);
+    cache.changed(7L, "NEW");
+
+    assertEquals(7L, cache.idOf("NEW", loader));
+  }
+
+  @Test
+  void renameDropsTheOldName() {
+    table.put("OLD", 3L);
+    cache.idOf("OLD", loader);
+
+    table.remove("OLD");
+    table.put("RENAMED", 3L);
+    cache.changed(3L, "RENAMED");
+
+    assertNull(cache.idOf("OLD", loader));
+    assertEquals(3L, cache.idOf("RENAMED", loader));
+  }
+
+  @Test
+  void unchangedNameKeepsTheCachedId() {
+    table.put("STABLE", 4L);
+    cache.idOf("STABLE", loader);
+
+    cache.changed(4L, "STABLE");
+    cache.idOf("STABLE", loader);
+
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  void deleteDropsTheName() {
+    table.put("GONE", 5L);
+    cache.idOf("GONE", loader);
+
+    table.remove("GONE");
+    cache.changed(5L, null);
+
+    assertNull(cache.idOf("GONE", loader));
+  }
+
+  @Test
+  void loadRacingWithAChangeIsNotCached() {
+    Function<String, Long> racingLoader =
+        name -> {
+          // the name is created while the (empty) lookup is in flight
+          cache.changed(9L, name);
+          return null;
+        };
+
+    assertNull(cache.idOf("RACE", racingLoader));
+
+    table.put("RACE", 9L);
+    assertEquals(9L, cache.idOf("RACE", loader));
+  }
+}
@@ -0,0 +1,63 @@
+package com.fulfilment.application.monolith.metrics;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.ws.rs.core.MediaType;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+public class MetricsTest {
+
+  private static String metrics() {
+    return given().when().get("/q/metrics").then().statusCode(200).extract().asString();
+  }
+
+  @Test
+  public void testValidationFailuresAreCountedPerRule() {
+    given()
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(
+            "{\"businessUnitCode\": \"MWH.METRICS\", \"location\": \"NOWHERE-001\","
+                + " \"capacity\": 20, \"stock\": 5}")
+        .when()
+        .post("/warehouse")
+        .then()
+        .statusCode(400);
+
+    given()
+        .when()
+        .get("/q/metrics")
+        .then()
+        .statusCode(200)
+        .body(containsString("validation_failures_total{rule=\"location-known\"}"))
+        .body(containsString("warehouse_usecase_seconds_bucket"))
+        .body(containsString("warehouse_repository_seconds_count"));
+  }
+
+  @Test
+  public void testSqlStatementsAreRecordedPerEndpoint() {
+    given().when().get("/warehouse").then().statusCode(200);
+
+    assertThat(
+        metrics(),
+        containsString(
+            "http_server_sql_statements_count"
+                + "{endpoint=\"WarehouseResourceImpl.listAllWarehousesUnits\"}"));
+  }
+
+  @Test
+  public void testLegacyGatewayIsTimed() {
+    given()
+        .contentType(MediaType.APPLICATION_JSON)
+        .body("{\"name\": \"METRICS_" + System.nanoTime() + "\", \"quantityProductsInStock\": 3}")
+        .when()
+        .post("/store")
+        .then()
+        .statusCode(201);
+
+    assertThat(metrics(), containsString("legacy_gateway_seconds_count"));
+  }
+}
@@ -0,0 +1,110 @@
+package com.fulfilment.application.monolith.products;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.ws.rs.core.MediaType;
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+public class ProductBatchUpdateTest {
+
+  private static Long createProduct(String name) {
+    Product product = new Product(name);
+    product.description = "before";
+    product.stock = 1;
+    return given()
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(product)
+        .when()
+        .post("/product")
+        .then()
+        .statusCode(201)
+        .extract()
+        .jsonPath()
+        .getLong("id");
+  }
+
+  @Test
+  public void testPatchByIdAndByNameWithPerItemOutcomes() {
+    String suffix = String.valueOf(System.nanoTime() % 1_000_000_000L);
+    Long byId = createProduct("BATCH_ID_" + suffix);
+    String byName = "BATCH_NAME_" + suffix;
+    Long byNameId = createProduct(byName);
+
+    ProductPatch stockOnly = new ProductPatch(byId, null);
+    stockOnly.stock = 42;
+    ProductPatch priceOnly = new ProductPatch(null, byName);
+    priceOnly.price = new BigDecimal("9.99");
+    ProductPatch missing = new ProductPatch(999_999_999L, null);
+    missing.stock = 1;
+    ProductPatch unkeyed = new ProductPatch();
+
+    given()
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(List.of(stockOnly, priceOnly, missing, unkeyed))
+        .when()
+        .patch("/product/batch")
+        .then()
+        .statusCode(200)
+        .body("updated", is(2))
+        .body("failed", is(2))
+        .body("outcomes[0].status", is(200))
+        .body("outcomes[1].status", is(200))
+        .body("outcomes[1].id", is(byNameId.intValue()))
+        .body("outcomes[2].status", is(404))
+        .body("outcomes[2].error", notNullValue())
+        .body("outcomes[3].index", is(3))
+        .body("outcomes[3].status", is(422));
+
+    given()
+        .when()
+        .get("/product/" + byId)
+        .then()
+        .statusCode(200)
+        .body("stock", is(42))
+        .body("description", is("before"));
+    given()
+        .when()
+        .get("/product/" + byNameId)
+        .then()
+        .statusCode(200)
+        .body("price", is(9.99f))
+        .body("stock", is(1));
+  }
+
+  @Test
+  public void testNullPatchesFailAloneWithoutTheirChunk() {
+    Long id = createProduct("BATCH_NULL_" + System.nanoTime() % 1_000_000_000L);
+
+    given()
+        .contentType(MediaType.APPLICATION_JSON)
+        .body("[null, {\"id\": " + id + ", \"stock\": 7}]")
+        .when()
+        .patch("/product/batch")
+        .then()
+        .statusCode(200)
+        .body("updated", is(1))
+        .body("failed", is(1))
+        .body("outcomes[0].index", is(0))
+        .body("outcomes[0].status", is(422))
+        .body("outcomes[1].status", is(200));
+
+    given().when().get("/product/" + id).then().statusCode(200).body("stock", is(7));
+  }
+
+  @Test
+  public void testEmptyBatchIsRejected() {
+    given()
+        .contentType(MediaType.APPLICATION_JSON)
+        .body("[]")
+        .when()
+        .patch("/product/batch")
+        .then()
+        .statusCode(422);
+  }
+}
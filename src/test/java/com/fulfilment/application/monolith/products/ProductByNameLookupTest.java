@@ -0,0 +1,42 @@
+package com.fulfilment.application.monolith.products;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.is;
+
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.ws.rs.core.MediaType;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+public class ProductByNameLookupTest {
+
+  @Test
+  public void testGetProductByNameAfterCachedMiss() {
+    String name = "PBN_" + System.nanoTime() % 1_000_000_000L;
+    given().when().get("/product/by-name/" + name).then().statusCode(404);
+
+    Product product = new Product();
+    product.name = name;
+    product.stock = 8;
+    given()
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(product)
+        .when()
+        .post("/product")
+        .then()
+        .statusCode(201);
+
+    given()
+        .when()
+        .get("/product/by-name/" + name)
+        .then()
+        .statusCode(200)
+        .body("name", is(name))
+        .body("stock", is(8));
+  }
+
+  @Test
+  public void testGetProductByNameUnknown() {
+    given().when().get("/product/by-name/NO_SUCH_PRODUCT").then().statusCode(404);
+  }
+}
@@ -2,7 +2,8 @@ package com.fulfilment.application.monolith.products;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fulfilment.application.monolith.errors.ErrorMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.core.Response;
 import org.junit.jupiter.api.Test;
@@ -11,8 +12,7 @@ class ProductErrorMapperTest {
 
   @Test
   void errorMapper_buildsJsonResponse() {
-    ProductResource.ErrorMapper mapper = new ProductResource.ErrorMapper();
-    mapper.objectMapper = new ObjectMapper();
+    ErrorMapper mapper = new ErrorMapper(new SimpleMeterRegistry(), 10);
 
     WebApplicationException ex = new WebApplicationException("Not found", 404);
     Response resp = mapper.toResponse(ex);
@@ -0,0 +1,113 @@
+package com.fulfilment.application.monolith.products;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.response.Response;
+import jakarta.ws.rs.core.MediaType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+public class ProductListingTest {
+
+  private static final Pattern NEXT_LINK = Pattern.compile("<([^>]+)>;\\s*rel=\"next\"");
+
+  private static void createProduct(String name) {
+    Product product = new Product(name);
+    product.description = "A long description that was not asked for";
+    product.stock = 1;
+    given()
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(product)
+        .when()
+        .post("/product")
+        .then()
+        .statusCode(201);
+  }
+
+  @Test
+  public void testFieldsOnlyReturnsRequestedFields() {
+    createProduct("FIELDS_" + System.nanoTime() % 1_000_000L);
+
+    given()
+        .queryParam("fields", "name,stock")
+        .when()
+        .get("/product")
+        .then()
+        .statusCode(200)
+        .body("[0].description", nullValue())
+        .body("[0].id", nullValue())
+        .body("[0].size()", is(2));
+  }
+
+  @Test
+  public void testKeysetPaginationWalksAllProductsOnce() {
+    String prefix = "PAGED_" + System.nanoTime() % 1_000_000L + "_";
+    for (int i = 0; i < 5; i++) {
+      createProduct(prefix + i);
+    }
+
+    List<String> names = new ArrayList<>();
+    String next = "/product?fields=id,name&limit=2";
+    int pages = 0;
+    while (next != null) {
+      // the link is already encoded
+      Response response =
+          given()
+              .urlEncodingEnabled(false)
+              .when()
+              .get(next)
+              .then()
+              .statusCode(200)
+              .extract()
+              .response();
+      List<Map<String, Object>> page = response.jsonPath().getList("$");
+      assertTrue(page.size() <= 2);
+      page.forEach(row -> names.add((String) row.get("name")));
+
+      String link = response.header("Link");
+      if (link == null) {
+        next = null;
+      } else {
+        Matcher matcher = NEXT_LINK.matcher(link);
+        assertTrue(matcher.find());
+        next = matcher.group(1);
+      }
+      pages++;
+    }
+
+    List<String> all =
+        given().when().get("/product").then().statusCode(200).extract().jsonPath().getList("name");
+    assertEquals(all, names);
+    assertEquals((all.size() + 1) / 2, pages);
+  }
+
+  @Test
+  public void testCursorRoundTrip() {
+    ProductCursor cursor = ProductCursor.decode(new ProductCursor("a:b", 7L).encode());
+    assertEquals("a:b", cursor.name);
+    assertEquals(7L, cursor.id);
+
+    ProductCursor nullName = ProductCursor.decode(new ProductCursor(null, 3L).encode());
+    assertNull(nullName.name);
+    assertNotNull(nullName.id);
+  }
+
+  @Test
+  public void testInvalidParametersAreRejected() {
+    given().queryParam("fields", "name,secret").when().get("/product").then().statusCode(422);
+    given().queryParam("limit", 0).when().get("/product").then().statusCode(422);
+    given().queryParam("after", "not a cursor").when().get("/product").then().statusCode(422);
+  }
+}
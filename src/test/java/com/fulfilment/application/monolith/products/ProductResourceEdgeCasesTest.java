@@ -7,6 +7,7 @@ import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import jakarta.ws.rs.WebApplicationException;
 import java.math.BigDecimal;
+import java.util.List;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Test;
@@ -110,7 +111,7 @@ public class ProductResourceEdgeCasesTest {
   @Order(7)
   @Transactional
   public void testGetAllProducts() {
-    var products = productResource.get();
+    var products = (List<?>) productResource.get(null, null, null, null).getEntity();
     assertNotNull(products);
     assertTrue(products.size() >= 0);
   }
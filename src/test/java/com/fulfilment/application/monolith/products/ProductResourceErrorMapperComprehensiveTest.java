@@ -2,7 +2,8 @@ package com.fulfilment.application.monolith.products;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fulfilment.application.monolith.errors.ErrorMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.ws.rs.BadRequestException;
 import jakarta.ws.rs.InternalServerErrorException;
 import jakarta.ws.rs.NotFoundException;
@@ -12,19 +13,16 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 /**
- * Tests for ProductResource.ErrorMapper to verify exception mapping and response serialization.
+ * Tests for ErrorMapper to verify exception mapping and response serialization.
  * Tests: status code mapping, exception type, error message serialization.
  */
 public class ProductResourceErrorMapperComprehensiveTest {
 
-  private ProductResource.ErrorMapper errorMapper;
-  private ObjectMapper objectMapper;
+  private ErrorMapper errorMapper;
 
   @BeforeEach
   public void setUp() {
-    errorMapper = new ProductResource.ErrorMapper();
-    objectMapper = new ObjectMapper();
-    errorMapper.objectMapper = objectMapper;
+    errorMapper = new ErrorMapper(new SimpleMeterRegistry(), 10);
   }
 
   @Test
@@ -55,12 +53,12 @@ public class ProductResourceErrorMapperComprehensiveTest {
   }
 
   @Test
-  public void testMapGenericExceptionTo500() {
+  public void testMapIllegalArgumentExceptionTo422() {
     Exception ex = new IllegalArgumentException("Invalid argument");
 
     Response response = errorMapper.toResponse(ex);
 
-    assertEquals(500, response.getStatus());
+    assertEquals(422, response.getStatus());
   }
 
   @Test
@@ -0,0 +1,138 @@
+package com.fulfilment.application.monolith.products;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.ws.rs.core.MediaType;
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+public class ProductSearchIndexTest {
+
+  private static Product product(
+      long id, String name, String description, String price, int stock) {
+    Product product = new Product(name);
+    product.id = id;
+    product.description = description;
+    product.price = new BigDecimal(price);
+    product.stock = stock;
+    return product;
+  }
+
+  private static ProductSearchIndex sampleIndex() {
+    ProductSearchIndex index = new ProductSearchIndex();
+    index.index(product(1, "Oak Desk", "Solid wooden desk", "199.00", 4));
+    index.index(product(2, "Desk Lamp", "Lamp with an oak base", "29.00", 40));
+    index.index(product(3, "Oak Shelf", "Wall shelf", "59.00", 0));
+    index.index(product(4, "Office Chair", "Chair for the desk", "149.00", 12));
+    return index;
+  }
+
+  private static List<Long> ids(ProductSearchResult result) {
+    return result.hits.stream().map(hit -> hit.id).toList();
+  }
+
+  @Test
+  public void testAllTermsHaveToMatchAndNameMatchesRankFirst() {
+    ProductSearchResult result = sampleIndex().search("oak desk", null, null, null, null, 0, 10);
+
+    assertEquals(2, result.total);
+    assertEquals(List.of(1L, 2L), ids(result));
+  }
+
+  @Test
+  public void testPrefixQuery() {
+    ProductSearchResult result = sampleIndex().search("sh* OAK", null, null, null, null, 0, 10);
+
+    assertEquals(List.of(3L), ids(result));
+  }
+
+  @Test
+  public void testFiltersOnPriceAndStock() {
+    ProductSearchIndex index = sampleIndex();
+
+    assertEquals(
+        List.of(4L),
+        ids(index.search("desk", new BigDecimal("100"), null, 5, null, 0, 10)));
+    assertEquals(
+        List.of(3L), ids(index.search(null, null, new BigDecimal("100"), null, 0, 0, 10)));
+  }
+
+  @Test
+  public void testPagination() {
+    ProductSearchIndex index = sampleIndex();
+
+    ProductSearchResult first = index.search("desk", null, null, null, null, 0, 2);
+    ProductSearchResult second = index.search("desk", null, null, null, null, 1, 2);
+
+    assertEquals(3, first.total);
+    assertEquals(List.of(1L, 2L), ids(first));
+    assertEquals(List.of(4L), ids(second));
+  }
+
+  @Test
+  public void testPagesPastTheHitsAreEmptyEvenWhenTheOffsetOverflowsAnInt() {
+    ProductSearchIndex index = sampleIndex();
+
+    ProductSearchResult past = index.search("desk", null, null, null, null, 2, 2);
+    ProductSearchResult far = index.search("desk", null, null, null, null, Integer.MAX_VALUE, 100);
+
+    assertEquals(3, past.total);
+    assertTrue(past.hits.isEmpty());
+    assertEquals(3, far.total);
+    assertTrue(far.hits.isEmpty());
+  }
+
+  @Test
+  public void testReindexAndRemove() {
+    ProductSearchIndex index = sampleIndex();
+
+    index.index(product(3, "Pine Shelf", "Wall shelf", "59.00", 0));
+    assertTrue(index.search("oak shelf", null, null, null, null, 0, 10).hits.isEmpty());
+
+    index.remove(3L);
+    assertEquals(3, index.size());
+    assertTrue(index.search("shelf", null, null, null, null, 0, 10).hits.isEmpty());
+  }
+
+  @Test
+  public void testSearchEndpointFindsCreatedProduct() {
+    String token = "srch" + System.nanoTime() % 1_000_000_000L;
+    Product product = new Product("Searchable " + token);
+    product.stock = 3;
+    given()
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(product)
+        .when()
+        .post("/product")
+        .then()
+        .statusCode(201);
+
+    given()
+        .queryParam("q", token.substring(0, token.length() - 1) + "*")
+        .when()
+        .get("/product/search")
+        .then()
+        .statusCode(200)
+        .body("total", is(1))
+        .body("hits[0].name", is("Searchable " + token));
+  }
+
+  @Test
+  public void testSearchEndpointRejectsInvalidPage() {
+    given().queryParam("size", 0).when().get("/product/search").then().statusCode(422);
+    given()
+        .queryParam("page", Integer.MAX_VALUE)
+        .queryParam("size", 100)
+        .when()
+        .get("/product/search")
+        .then()
+        .statusCode(200)
+        .body("hits.size()", is(0));
+  }
+}
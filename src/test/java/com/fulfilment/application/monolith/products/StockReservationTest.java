@@ -0,0 +1,227 @@
+package com.fulfilment.application.monolith.products;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.MediaType;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+public class StockReservationTest {
+
+  @Inject StockReservationService stockReservationService;
+
+  private static Long createProduct(int stock) {
+    Product product = new Product("RESERVE_" + System.nanoTime() % 1_000_000_000L);
+    product.stock = stock;
+    return given()
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(product)
+        .when()
+        .post("/product")
+        .then()
+        .statusCode(201)
+        .extract()
+        .jsonPath()
+        .getLong("id");
+  }
+
+  private static int reserve(Long productId, int quantity) {
+    return given()
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(new StockReservation(quantity))
+        .when()
+        .post("/product/" + productId + "/reservations")
+        .then()
+        .extract()
+        .statusCode();
+  }
+
+  private static int stockOf(Long productId) {
+    return given().when().get("/product/" + productId).then().extract().jsonPath().getInt("stock");
+  }
+
+  @Test
+  public void testReserveCommitAndRelease() {
+    Long productId = createProduct(5);
+
+    long committed =
+        given()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(new StockReservation(2))
+            .when()
+            .post("/product/" + productId + "/reservations")
+            .then()
+            .statusCode(201)
+            .body("status", is("RESERVED"))
+            .extract()
+            .jsonPath()
+            .getLong("id");
+    long released =
+        given()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(new StockReservation(3))
+            .when()
+            .post("/product/" + productId + "/reservations")
+            .then()
+            .statusCode(201)
+            .extract()
+            .jsonPath()
+            .getLong("id");
+    assertEquals(0, stockOf(productId));
+
+    given()
+        .contentType(MediaType.APPLICATION_JSON)
+        .when()
+        .post("/product/reservations/" + committed + "/commit")
+        .then()
+        .statusCode(200)
+        .body("status", is("COMMITTED"));
+    given()
+        .contentType(MediaType.APPLICATION_JSON)
+        .when()
+        .post("/product/reservations/" + released + "/release")
+        .then()
+        .statusCode(200)
+        .body("status", is("RELEASED"));
+    // released stock goes to a reservation slot, until the sweep gives it back to the product
+    stockReservationService.expireOverdue();
+    assertEquals(3, stockOf(productId));
+
+    // released twice gives the stock back once, and a committed reservation stays committed
+    given()
+        .contentType(MediaType.APPLICATION_JSON)
+        .when()
+        .post("/product/reservations/" + released + "/release")
+        .then()
+        .statusCode(200);
+    assertEquals(3, stockOf(productId));
+    given()
+        .contentType(MediaType.APPLICATION_JSON)
+        .when()
+        .post("/product/reservations/" + committed + "/release")
+        .then()
+        .statusCode(409);
+    given()
+        .contentType(MediaType.APPLICATION_JSON)
+        .when()
+        .post("/product/reservations/" + released + "/commit")
+        .then()
+        .statusCode(409);
+  }
+
+  @Test
+  public void testConcurrentReservationsNeverOversell() throws Exception {
+    Long productId = createProduct(10);
+
+    ExecutorService pool = Executors.newFixedThreadPool(8);
+    List<Future<Integer>> statuses = new ArrayList<>();
+    try {
+      for (int i = 0; i < 25; i++) {
+        statuses.add(pool.submit(() -> reserve(productId, 1)));
+      }
+      int reserved = 0;
+      int rejected = 0;
+      for (Future<Integer> status : statuses) {
+        if (status.get() == 201) {
+          reserved++;
+        } else if (status.get() == 409) {
+          rejected++;
+        }
+      }
+      assertEquals(10, reserved);
+      assertEquals(15, rejected);
+    } finally {
+      pool.shutdownNow();
+    }
+    assertEquals(0, stockOf(productId));
+  }
+
+  @Test
+  public void testSlotStockIsReturnedBySweepAndDroppedWhenStockIsOverwritten() {
+    Long productId = createProduct(50);
+
+    assertEquals(201, reserve(productId, 1));
+    stockReservationService.expireOverdue();
+    assertEquals(49, stockOf(productId));
+
+    // the reservation refills a slot, whose stock the overwrite drops
+    assertEquals(201, reserve(productId, 1));
+    Product product = new Product("RESERVE_" + System.nanoTime() % 1_000_000_000L);
+    product.stock = 10;
+    given()
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(product)
+        .when()
+        .put("/product/" + productId)
+        .then()
+        .statusCode(200);
+    stockReservationService.expireOverdue();
+    assertEquals(10, stockOf(productId));
+
+    for (int i = 0; i < 10; i++) {
+      assertEquals(201, reserve(productId, 1));
+    }
+    assertEquals(409, reserve(productId, 1));
+  }
+
+  @Test
+  public void testDeletedProductsCannotBeReservedFromTheirSlots() {
+    Long productId = createProduct(30);
+    assertEquals(201, reserve(productId, 1));
+
+    given().when().delete("/product/" + productId).then().statusCode(204);
+
+    assertEquals(404, reserve(productId, 1));
+  }
+
+  @Test
+  public void testInvalidReservations() {
+    Long productId = createProduct(1);
+
+    assertEquals(409, reserve(productId, 2));
+    assertEquals(422, reserve(productId, 0));
+    assertEquals(404, reserve(999_999_999L, 1));
+    given().when().get("/product/reservations/999999999").then().statusCode(404);
+  }
+
+  @Test
+  public void testSweepExpiresOverdueReservations() {
+    Long productId = createProduct(4);
+    StockReservation reservation = stockReservationService.reserve(productId, 3);
+    QuarkusTransaction.requiringNew()
+        .run(
+            () ->
+                StockReservation.update(
+                    "expiresAt = ?1 where id = ?2",
+                    LocalDateTime.now().minusMinutes(1),
+                    reservation.id));
+
+    given()
+        .contentType(MediaType.APPLICATION_JSON)
+        .when()
+        .post("/product/reservations/" + reservation.id + "/commit")
+        .then()
+        .statusCode(409);
+
+    stockReservationService.expireOverdue();
+
+    assertEquals(4, stockOf(productId));
+    given()
+        .when()
+        .get("/product/reservations/" + reservation.id)
+        .then()
+        .statusCode(200)
+        .body("status", is("EXPIRED"));
+  }
+}
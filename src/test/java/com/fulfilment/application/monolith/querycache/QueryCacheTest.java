@@ -0,0 +1,94 @@
+package com.fulfilment.application.monolith.querycache;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fulfilment.application.monolith.stores.Store;
+import com.fulfilment.application.monolith.warehouses.adapters.database.WarehouseRepository;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.MediaType;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+public class QueryCacheTest {
+
+  @Inject WarehouseRepository warehouseRepository;
+
+  private static long stat(String region, String field) {
+    return given()
+        .when()
+        .get("/admin/query-cache")
+        .then()
+        .statusCode(200)
+        .extract()
+        .jsonPath()
+        .getLong("find { it.region == '" + region + "' }." + field);
+  }
+
+  @Test
+  public void testListsAllRegions() {
+    given()
+        .when()
+        .get("/admin/query-cache")
+        .then()
+        .statusCode(200)
+        .body(
+            "region",
+            containsInAnyOrder(
+                QueryCacheRegions.ACTIVE_WAREHOUSES,
+                QueryCacheRegions.WAREHOUSE_BY_BUSINESS_UNIT_CODE,
+                QueryCacheRegions.STORES_BY_NAME,
+                QueryCacheRegions.PRODUCTS_BY_NAME));
+  }
+
+  @Test
+  public void testStoreListingIsCachedUntilAStoreIsCreated() {
+    given().when().get("/store").then().statusCode(200);
+    long hits = stat(QueryCacheRegions.STORES_BY_NAME, "hits");
+    given().when().get("/store").then().statusCode(200);
+    assertEquals(hits + 1, stat(QueryCacheRegions.STORES_BY_NAME, "hits"));
+
+    String name = "QC_" + System.nanoTime() % 1_000_000_000L;
+    given()
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(new Store(name))
+        .when()
+        .post("/store")
+        .then()
+        .statusCode(201);
+
+    long misses = stat(QueryCacheRegions.STORES_BY_NAME, "misses");
+    given().when().get("/store").then().statusCode(200).body("name", hasItem(name));
+    assertEquals(misses + 1, stat(QueryCacheRegions.STORES_BY_NAME, "misses"));
+  }
+
+  @Test
+  public void testWarehouseLookupIsCachedUntilAWarehouseChanges() {
+    warehouseRepository.findByBusinessUnitCode("MWH.012");
+    long hits = stat(QueryCacheRegions.WAREHOUSE_BY_BUSINESS_UNIT_CODE, "hits");
+    warehouseRepository.findByBusinessUnitCode("MWH.012");
+    assertEquals(hits + 1, stat(QueryCacheRegions.WAREHOUSE_BY_BUSINESS_UNIT_CODE, "hits"));
+
+    String code = "MWH.QC." + System.nanoTime() % 1_000_000L;
+    long misses = stat(QueryCacheRegions.WAREHOUSE_BY_BUSINESS_UNIT_CODE, "misses");
+    given()
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(
+            "{\"businessUnitCode\":\""
+                + code
+                + "\",\"location\":\"HAGUE-UPDATED\",\"capacity\":10,\"stock\":0}")
+        .when()
+        .post("/warehouse")
+        .then()
+        .statusCode(201);
+    // the create's uniqueness check missed, and the lookup after it misses again
+    assertTrue(warehouseRepository.findByBusinessUnitCode(code) != null);
+    assertTrue(stat(QueryCacheRegions.WAREHOUSE_BY_BUSINESS_UNIT_CODE, "misses") >= misses + 2);
+
+    given().when().get("/warehouse").then().statusCode(200).body("businessUnitCode", hasItem(code));
+  }
+}
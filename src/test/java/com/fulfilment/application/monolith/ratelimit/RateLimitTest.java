@@ -0,0 +1,126 @@
+package com.fulfilment.application.monolith.ratelimit;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.response.ExtractableResponse;
+import io.restassured.response.Response;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.net.SocketAddress;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.UriInfo;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+public class RateLimitTest {
+
+  // POST /warehouse allows bursts of 20; an empty body is rejected cheaply after the limit
+  private static ExtractableResponse<Response> postWarehouse(String apiKey) {
+    return given()
+        .header(RateLimitFilter.API_KEY_HEADER, apiKey)
+        .contentType(MediaType.APPLICATION_JSON)
+        .body("{}")
+        .when()
+        .post("/warehouse")
+        .then()
+        .extract();
+  }
+
+  /** Posts until the first 429 and returns it, after at least a burst's worth of other answers. */
+  private static ExtractableResponse<Response> exhaust(String apiKey) {
+    for (int i = 0; i < 500; i++) {
+      ExtractableResponse<Response> response = postWarehouse(apiKey);
+      if (response.statusCode() == 429) {
+        assertTrue(i >= 20, "limited after " + i + " requests");
+        return response;
+      }
+      assertEquals("20", response.header("RateLimit-Limit"));
+    }
+    return null;
+  }
+
+  @Test
+  public void testClientsOverTheLimitGetA429WithRetryAfter() {
+    ExtractableResponse<Response> limited = exhaust("rate-limit-test-" + System.nanoTime());
+
+    assertNotNull(limited);
+    assertEquals(RateLimitFilter.MESSAGE, limited.path("error"));
+    assertEquals("1", limited.header("Retry-After"));
+    assertEquals("20", limited.header("RateLimit-Limit"));
+    assertEquals("0", limited.header("RateLimit-Remaining"));
+    assertTrue(Integer.parseInt(limited.header("RateLimit-Reset")) >= 1);
+  }
+
+  @Test
+  public void testEveryClientHasItsOwnBucket() {
+    assertNotNull(exhaust("rate-limit-test-a-" + System.nanoTime()));
+
+    ExtractableResponse<Response> other = postWarehouse("rate-limit-test-b-" + System.nanoTime());
+    assertNotEquals(429, other.statusCode());
+    assertTrue(Integer.parseInt(other.header("RateLimit-Remaining")) >= 19);
+  }
+
+  @Test
+  public void testANewKeyPerRequestIsStillLimitedPerAddress() {
+    RateLimitFilter filter = new RateLimitFilter();
+    filter.enabled = true;
+    filter.routes = List.of("POST /warehouse=1/2");
+    filter.maximumBuckets = 100;
+    filter.keysPerAddress = 3;
+    filter.meterRegistry = new SimpleMeterRegistry();
+    SocketAddress address = mock(SocketAddress.class);
+    when(address.hostAddress()).thenReturn("192.0.2.1");
+    filter.httpRequest = mock(HttpServerRequest.class);
+    when(filter.httpRequest.remoteAddress()).thenReturn(address);
+    filter.init();
+
+    // the keys of one address share a burst of 3 * 2
+    for (int i = 0; i < 20; i++) {
+      ContainerRequestContext request = mock(ContainerRequestContext.class);
+      UriInfo uriInfo = mock(UriInfo.class);
+      when(uriInfo.getPath()).thenReturn("/warehouse");
+      when(request.getUriInfo()).thenReturn(uriInfo);
+      when(request.getMethod()).thenReturn("POST");
+      when(request.getHeaderString(RateLimitFilter.API_KEY_HEADER)).thenReturn("spoofed-" + i);
+      filter.filter(request);
+    }
+
+    double rejected =
+        filter.meterRegistry.counter(RateLimitFilter.METRIC, "route", "POST /warehouse").count();
+    assertEquals(14, rejected);
+  }
+
+  @Test
+  public void testUnlimitedRoutesHaveNoRateLimitHeaders() {
+    given()
+        .when()
+        .get("/store")
+        .then()
+        .statusCode(200)
+        .header("RateLimit-Limit", nullValue())
+        .header("RateLimit-Remaining", nullValue());
+  }
+
+  @Test
+  public void testRejectionsAreCountedPerRoute() {
+    assertNotNull(exhaust("rate-limit-test-metrics-" + System.nanoTime()));
+
+    given()
+        .when()
+        .get("/q/metrics")
+        .then()
+        .statusCode(200)
+        .body(containsString("http_server_requests_rate_limited_total{route=\"POST /warehouse\"}"));
+  }
+}
@@ -0,0 +1,65 @@
+package com.fulfilment.application.monolith.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class TokenBucketTest {
+
+  private static final long SECOND = 1_000_000_000L;
+
+  @Test
+  public void testBurstIsAllowedThenRefilledAtTheRate() {
+    TokenBucket bucket = new TokenBucket(2, 3, 0);
+    assertEquals(3, bucket.remaining(0));
+
+    for (int i = 0; i < 3; i++) {
+      assertTrue(bucket.tryAcquire(0));
+    }
+    assertFalse(bucket.tryAcquire(0));
+    assertEquals(0, bucket.remaining(0));
+    assertEquals(SECOND / 2, bucket.nanosUntilNextToken(0));
+    assertEquals(3 * SECOND / 2, bucket.nanosUntilFull(0));
+
+    // one token every half second
+    assertTrue(bucket.tryAcquire(SECOND / 2));
+    assertFalse(bucket.tryAcquire(SECOND / 2));
+    assertEquals(1, bucket.remaining(SECOND));
+    assertEquals(3, bucket.remaining(10 * SECOND));
+  }
+
+  @Test
+  public void testIdleTimeDoesNotGrowTheBucketBeyondItsBurst() {
+    TokenBucket bucket = new TokenBucket(10, 2, 0);
+
+    assertTrue(bucket.tryAcquire(60 * SECOND));
+    assertTrue(bucket.tryAcquire(60 * SECOND));
+    assertFalse(bucket.tryAcquire(60 * SECOND));
+  }
+
+  @Test
+  public void testRoutesMatchMethodAndPathSegments() {
+    List<RouteLimit> limits =
+        RouteLimit.parse(List.of("POST /store=10/20", "PATCH /product/*=0.5/1"));
+
+    assertTrue(limits.get(0).matches("POST", "/store"));
+    assertTrue(limits.get(0).matches("POST", "store/"));
+    assertFalse(limits.get(0).matches("GET", "/store"));
+    assertFalse(limits.get(0).matches("POST", "/store/1/stock-adjustments"));
+    assertTrue(limits.get(1).matches("PATCH", "/product/42"));
+    assertFalse(limits.get(1).matches("PATCH", "/product"));
+    assertEquals(0.5, limits.get(1).rate);
+    assertEquals(1, limits.get(1).burst);
+    assertEquals(5, limits.get(1).times(5).burst);
+    assertEquals(2.5, limits.get(1).times(5).rate);
+    assertTrue(limits.get(1).times(5).matches("PATCH", "/product/42"));
+
+    for (String invalid : new String[] {"/store=10/20", "POST /store=0/1", "POST /store=10"}) {
+      assertThrows(IllegalArgumentException.class, () -> RouteLimit.parse(List.of(invalid)));
+    }
+  }
+}
@@ -0,0 +1,125 @@
+package com.fulfilment.application.monolith.stores;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+public class LegacySyncDispatcherTest {
+
+  private LegacySyncDispatcher dispatcher(LegacySyncDispatcher.Mode mode) {
+    return dispatcher(mode, 1, 1);
+  }
+
+  private LegacySyncDispatcher dispatcher(
+      LegacySyncDispatcher.Mode mode, int threads, int queueSize) {
+    LegacySyncDispatcher dispatcher = new LegacySyncDispatcher();
+    dispatcher.mode = mode;
+    dispatcher.threads = threads;
+    dispatcher.queueSize = queueSize;
+    dispatcher.start();
+    return dispatcher;
+  }
+
+  @Test
+  public void testBlockingModeRunsOnCallerThread() throws InterruptedException {
+    LegacySyncDispatcher dispatcher = dispatcher(LegacySyncDispatcher.Mode.BLOCKING);
+    AtomicReference<Thread> ranOn = new AtomicReference<>();
+
+    dispatcher.dispatch(1L, () -> ranOn.set(Thread.currentThread()));
+
+    assertEquals(Thread.currentThread(), ranOn.get());
+    dispatcher.stop();
+  }
+
+  @Test
+  public void testAsyncModeRunsOffCallerThread() throws InterruptedException {
+    LegacySyncDispatcher dispatcher = dispatcher(LegacySyncDispatcher.Mode.ASYNC);
+    AtomicReference<Thread> ranOn = new AtomicReference<>();
+    CountDownLatch done = new CountDownLatch(1);
+
+    dispatcher.dispatch(
+        1L,
+        () -> {
+          ranOn.set(Thread.currentThread());
+          done.countDown();
+        });
+
+    assertTrue(done.await(5, TimeUnit.SECONDS));
+    assertNotEquals(Thread.currentThread(), ranOn.get());
+    dispatcher.stop();
+  }
+
+  @Test
+  public void testAsyncModeRunsTheSyncsOfAStoreInOrder() throws InterruptedException {
+    LegacySyncDispatcher dispatcher = dispatcher(LegacySyncDispatcher.Mode.ASYNC, 4, 1000);
+    Map<Long, List<Integer>> synced = new ConcurrentHashMap<>();
+    CountDownLatch done = new CountDownLatch(8 * 100);
+
+    for (int update = 0; update < 100; update++) {
+      for (long storeId = 1; storeId <= 8; storeId++) {
+        Long id = storeId;
+        int sequence = update;
+        dispatcher.dispatch(
+            id,
+            () -> {
+              synced.computeIfAbsent(id, k -> new CopyOnWriteArrayList<>()).add(sequence);
+              done.countDown();
+            });
+      }
+    }
+
+    assertTrue(done.await(5, TimeUnit.SECONDS));
+    List<Integer> expected = IntStream.range(0, 100).boxed().toList();
+    synced.values().forEach(sequences -> assertEquals(expected, sequences));
+    dispatcher.stop();
+  }
+
+  @Test
+  public void testAsyncModeMakesTheCallerWaitWhenSaturated() throws InterruptedException {
+    LegacySyncDispatcher dispatcher = dispatcher(LegacySyncDispatcher.Mode.ASYNC);
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicReference<Thread> ranOn = new AtomicReference<>();
+    CountDownLatch done = new CountDownLatch(1);
+
+    // occupy the single worker and the single queue slot
+    Runnable blocker =
+        () -> {
+          try {
+            release.await(5, TimeUnit.SECONDS);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        };
+    dispatcher.dispatch(1L, blocker);
+    dispatcher.dispatch(1L, blocker);
+
+    Thread caller =
+        new Thread(
+            () ->
+                dispatcher.dispatch(
+                    1L,
+                    () -> {
+                      ranOn.set(Thread.currentThread());
+                      done.countDown();
+                    }));
+    caller.start();
+    caller.join(200);
+    assertTrue(caller.isAlive());
+
+    release.countDown();
+    assertTrue(done.await(5, TimeUnit.SECONDS));
+    caller.join(5000);
+    assertNotEquals(caller, ranOn.get());
+    dispatcher.stop();
+  }
+}
@@ -0,0 +1,77 @@
+package com.fulfilment.application.monolith.stores;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.is;
+
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.ws.rs.core.MediaType;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+public class StoreByNameLookupTest {
+
+  private long createStore(String name) {
+    Store store = new Store();
+    store.name = name;
+    store.quantityProductsInStock = 4;
+
+    return given()
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(store)
+        .when()
+        .post("/store")
+        .then()
+        .statusCode(201)
+        .extract()
+        .jsonPath()
+        .getLong("id");
+  }
+
+  @Test
+  public void testGetStoreByName() {
+    String name = "BY_NAME_" + System.nanoTime() % 1_000_000_000L;
+    long id = createStore(name);
+
+    given()
+        .when()
+        .get("/store/by-name/" + name)
+        .then()
+        .statusCode(200)
+        .body("id", is((int) id))
+        .body("quantityProductsInStock", is(4));
+  }
+
+  @Test
+  public void testCachedMissIsInvalidatedByCreate() {
+    String name = "LATE_" + System.nanoTime() % 1_000_000_000L;
+
+    given().when().get("/store/by-name/" + name).then().statusCode(404);
+    createStore(name);
+
+    given().when().get("/store/by-name/" + name).then().statusCode(200);
+  }
+
+  @Test
+  public void testRenameAndDeleteAreVisible() {
+    String name = "RENAME_" + System.nanoTime() % 1_000_000_000L;
+    long id = createStore(name);
+    given().when().get("/store/by-name/" + name).then().statusCode(200);
+
+    Store renamed = new Store();
+    renamed.name = name + "_B";
+    renamed.quantityProductsInStock = 4;
+    given()
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(renamed)
+        .when()
+        .put("/store/" + id)
+        .then()
+        .statusCode(200);
+
+    given().when().get("/store/by-name/" + name).then().statusCode(404);
+    given().when().get("/store/by-name/" + renamed.name).then().statusCode(200);
+
+    given().when().delete("/store/" + id).then().statusCode(204);
+    given().when().get("/store/by-name/" + renamed.name).then().statusCode(404);
+  }
+}
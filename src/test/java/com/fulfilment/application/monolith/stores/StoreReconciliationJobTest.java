@@ -0,0 +1,143 @@
+package com.fulfilment.application.monolith.stores;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.MediaType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+public class StoreReconciliationJobTest {
+
+  @Inject StoreService storeService;
+
+  @Inject StoreReconciliationJob reconciliationJob;
+
+  @Inject LegacyStoreLedger ledger;
+
+  @Inject MeterRegistry meterRegistry;
+
+  private Store createStore(String prefix, int quantity) {
+    Store store = new Store();
+    store.name = prefix + System.nanoTime() % 1_000_000_000L;
+    store.quantityProductsInStock = quantity;
+    return storeService.create(store);
+  }
+
+  @Test
+  public void testSyncedStoresAreRecordedInLedger() {
+    Store store = createStore("LEDGER_", 12);
+
+    LegacyStoreLedgerEntry entry = ledger.find(store.id);
+
+    assertNotNull(entry);
+    assertEquals(LegacyStoreLedger.fingerprint(store.id, store.name, 12), entry.fingerprint);
+  }
+
+  @Test
+  public void testConcurrentSyncsDoNotExhaustTheConnectionPool() throws Exception {
+    // twice the test pool: each ledger write needs a connection after its store's commit
+    ExecutorService writers = Executors.newFixedThreadPool(16);
+    try {
+      List<Future<Store>> created = new ArrayList<>();
+      for (int i = 0; i < 16; i++) {
+        created.add(writers.submit(() -> createStore("POOL_", 1)));
+      }
+      for (Future<Store> store : created) {
+        assertNotNull(ledger.find(store.get(30, TimeUnit.SECONDS).id));
+      }
+    } finally {
+      writers.shutdown();
+    }
+  }
+
+  @Test
+  public void testReconcileResendsDriftedStoresOnly() {
+    Store store = createStore("DRIFT_", 5);
+    // change the store behind the legacy sync's back
+    QuarkusTransaction.requiringNew()
+        .run(() -> Store.update("quantityProductsInStock = 6 where id = ?1", store.id));
+
+    ReconciliationReport first = reconciliationJob.reconcile();
+
+    assertTrue(first.rangesDiffering >= 1);
+    assertTrue(first.storesResent >= 1);
+    assertEquals(
+        LegacyStoreLedger.fingerprint(store.id, store.name, 6), ledger.find(store.id).fingerprint);
+
+    ReconciliationReport second = reconciliationJob.reconcile();
+
+    assertEquals(0, second.rangesDiffering);
+    assertEquals(0, second.storesResent);
+  }
+
+  @Test
+  public void testReconcileCreatesStoresMissingFromTheLedger() {
+    // a store the legacy system was never told about
+    Long id =
+        QuarkusTransaction.requiringNew()
+            .call(
+                () -> {
+                  Store store = new Store("UNSYNCED_" + System.nanoTime() % 1_000_000_000L);
+                  store.quantityProductsInStock = 3;
+                  store.persist();
+                  return store.id;
+                });
+    double createdBefore = legacyCalls("createStoreOnLegacySystem");
+
+    ReconciliationReport report = reconciliationJob.reconcile();
+
+    assertTrue(report.storesResent >= 1);
+    assertNotNull(ledger.find(id));
+    assertTrue(legacyCalls("createStoreOnLegacySystem") > createdBefore);
+  }
+
+  @Test
+  public void testZeroResendsPerSecondIsUnthrottled() {
+    StoreReconciliationJob job = new StoreReconciliationJob();
+    job.maxResendsPerSecond = 0;
+
+    assertDoesNotThrow(job::throttle);
+  }
+
+  private double legacyCalls(String method) {
+    Timer timer = meterRegistry.find("legacy.gateway").tag("method", method).timer();
+    return timer != null ? timer.count() : 0;
+  }
+
+  @Test
+  public void testReconcilePrunesLedgerEntriesOfDeletedStores() {
+    Store store = createStore("PRUNED_", 1);
+    QuarkusTransaction.requiringNew().run(() -> Store.deleteById(store.id));
+
+    ReconciliationReport report = reconciliationJob.reconcile();
+
+    assertTrue(report.ledgerEntriesPruned >= 1);
+    assertNull(ledger.find(store.id));
+  }
+
+  @Test
+  public void testReconcileEndpoint() {
+    given()
+        .contentType(MediaType.APPLICATION_JSON)
+        .when()
+        .post("/store/reconciliation")
+        .then()
+        .statusCode(200);
+  }
+}
@@ -2,7 +2,8 @@ package com.fulfilment.application.monolith.stores;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fulfilment.application.monolith.errors.ErrorMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.ws.rs.BadRequestException;
 import jakarta.ws.rs.InternalServerErrorException;
 import jakarta.ws.rs.NotFoundException;
@@ -12,19 +13,16 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 /**
- * Tests for StoreResource.ErrorMapper to verify exception handling and JSON response mapping.
+ * Tests for ErrorMapper to verify exception handling and JSON response mapping.
  * Tests: 404/400/500 status codes, exception type, error messages in response body.
  */
 public class StoreResourceErrorMapperComprehensiveTest {
 
-  private StoreResource.ErrorMapper errorMapper;
-  private ObjectMapper objectMapper;
+  private ErrorMapper errorMapper;
 
   @BeforeEach
   public void setUp() {
-    errorMapper = new StoreResource.ErrorMapper();
-    objectMapper = new ObjectMapper();
-    errorMapper.objectMapper = objectMapper;
+    errorMapper = new ErrorMapper(new SimpleMeterRegistry(), 10);
   }
 
   @Test
@@ -58,12 +56,12 @@ public class StoreResourceErrorMapperComprehensiveTest {
   }
 
   @Test
-  public void testMapGenericException() {
+  public void testMapIllegalArgumentExceptionTo422() {
     Exception ex = new IllegalArgumentException("Invalid argument");
 
     Response response = errorMapper.toResponse(ex);
 
-    assertEquals(500, response.getStatus());
+    assertEquals(422, response.getStatus());
     assertNotNull(response.getEntity());
   }
 
@@ -3,9 +3,18 @@ package com.fulfilment.application.monolith.stores;
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.core.IsNot.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.ws.rs.core.MediaType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Test;
@@ -258,4 +267,44 @@ public class StoreResourceTest {
         .then()
         .statusCode(422);
   }
+
+  @Test
+  @Order(14)
+  public void testConcurrentCreatesOfOneNameCreateOneStore() throws Exception {
+    // the name check can pass for all of them; the partial unique index lets only one commit
+    String name = "CONCURRENT_" + System.nanoTime() % 1_000_000_000L;
+    int writers = 8;
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(writers);
+    try {
+      List<Future<Integer>> statuses = new ArrayList<>();
+      for (int i = 0; i < writers; i++) {
+        statuses.add(
+            executor.submit(
+                () -> {
+                  Store store = new Store(name);
+                  store.quantityProductsInStock = 1;
+                  start.await();
+                  return given()
+                      .contentType(MediaType.APPLICATION_JSON)
+                      .body(store)
+                      .when()
+                      .post("/store")
+                      .then()
+                      .extract()
+                      .statusCode();
+                }));
+      }
+      start.countDown();
+
+      List<Integer> codes = new ArrayList<>();
+      for (Future<Integer> status : statuses) {
+        codes.add(status.get(30, TimeUnit.SECONDS));
+      }
+      assertEquals(1, Collections.frequency(codes, 201), codes.toString());
+      assertEquals(writers - 1, Collections.frequency(codes, 409), codes.toString());
+    } finally {
+      executor.shutdown();
+    }
+  }
 }
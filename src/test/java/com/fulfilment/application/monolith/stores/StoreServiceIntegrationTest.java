@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.*;
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
+import jakarta.ws.rs.WebApplicationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -70,8 +71,10 @@ class StoreServiceIntegrationTest {
     Long id = store.id;
     storeService.delete(id);
     
+    // deleted stores are tombstoned until compaction
     Store deleted = Store.findById(id);
-    assertNull(deleted);
+    assertNotNull(deleted.deletedAt);
+    assertThrows(WebApplicationException.class, () -> storeService.findByIdOrThrow(id));
   }
 
   @Test
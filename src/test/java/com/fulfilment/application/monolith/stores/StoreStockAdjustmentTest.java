@@ -0,0 +1,199 @@
+package com.fulfilment.application.monolith.stores;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.MediaType;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+public class StoreStockAdjustmentTest {
+
+  @Inject StockAdjustmentBuffer stockAdjustmentBuffer;
+
+  @Inject MeterRegistry meterRegistry;
+
+  private long createStore(String prefix, int quantity) {
+    Store store = new Store();
+    store.name = prefix + System.nanoTime() % 1_000_000_000L;
+    store.quantityProductsInStock = quantity;
+
+    return given()
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(store)
+        .when()
+        .post("/store")
+        .then()
+        .statusCode(201)
+        .extract()
+        .jsonPath()
+        .getLong("id");
+  }
+
+  private int quantityOf(long id) {
+    return given()
+        .when()
+        .get("/store/" + id)
+        .then()
+        .statusCode(200)
+        .extract()
+        .path("quantityProductsInStock");
+  }
+
+  @Test
+  public void testAdjustStockAppliesSignedDelta() {
+    long id = createStore("ADJ_", 10);
+
+    given()
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(new StockAdjustment(null, 5))
+        .when()
+        .post("/store/" + id + "/stock-adjustments")
+        .then()
+        .statusCode(200)
+        .body("quantityProductsInStock", is(15));
+
+    given()
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(new StockAdjustment(null, -15))
+        .when()
+        .post("/store/" + id + "/stock-adjustments")
+        .then()
+        .statusCode(200)
+        .body("quantityProductsInStock", is(0));
+  }
+
+  @Test
+  public void testAdjustStockBelowZeroIsRejected() {
+    long id = createStore("ADJ_NEG_", 3);
+
+    given()
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(new StockAdjustment(null, -4))
+        .when()
+        .post("/store/" + id + "/stock-adjustments")
+        .then()
+        .statusCode(409);
+
+    assertEquals(3, quantityOf(id));
+  }
+
+  @Test
+  public void testAdjustStockUnknownStore() {
+    given()
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(new StockAdjustment(null, 1))
+        .when()
+        .post("/store/999999/stock-adjustments")
+        .then()
+        .statusCode(404);
+  }
+
+  @Test
+  public void testBatchAdjustmentNetsDeltasPerStore() {
+    long first = createStore("ADJ_B1_", 10);
+    long second = createStore("ADJ_B2_", 1);
+
+    given()
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(
+            List.of(
+                new StockAdjustment(first, 4),
+                new StockAdjustment(second, 2),
+                new StockAdjustment(first, -6)))
+        .when()
+        .post("/store/stock-adjustments")
+        .then()
+        .statusCode(200)
+        .body("size()", is(2));
+
+    assertEquals(8, quantityOf(first));
+    assertEquals(3, quantityOf(second));
+  }
+
+  @Test
+  public void testBatchAdjustmentIsAllOrNothing() {
+    long first = createStore("ADJ_A1_", 10);
+    long second = createStore("ADJ_A2_", 1);
+
+    given()
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(List.of(new StockAdjustment(first, 4), new StockAdjustment(second, -2)))
+        .when()
+        .post("/store/stock-adjustments")
+        .then()
+        .statusCode(409);
+
+    assertEquals(10, quantityOf(first));
+    assertEquals(1, quantityOf(second));
+  }
+
+  @Test
+  public void testBatchAdjustmentWithoutStoreId() {
+    given()
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(List.of(new StockAdjustment(null, 4)))
+        .when()
+        .post("/store/stock-adjustments")
+        .then()
+        .statusCode(422);
+  }
+
+  @Test
+  public void testBufferedAdjustmentsAreAggregatedUntilFlush() {
+    long id = createStore("ADJ_BUF_", 10);
+
+    for (int i = 0; i < 5; i++) {
+      given()
+          .contentType(MediaType.APPLICATION_JSON)
+          .body(new StockAdjustment(null, 2))
+          .when()
+          .post("/store/" + id + "/stock-adjustments?buffered=true")
+          .then()
+          .statusCode(202);
+    }
+
+    stockAdjustmentBuffer.flush();
+
+    assertEquals(0, stockAdjustmentBuffer.pendingDelta(id));
+    assertEquals(20, quantityOf(id));
+  }
+
+  @Test
+  public void testBufferedWithdrawalsTakeWhatTheStockCoversAfterTheRestocks() {
+    long id = createStore("ADJ_DROP_", 3);
+    Counter dropped =
+        meterRegistry.counter(StockAdjustmentBuffer.DROPPED_METRIC, "reason", "negative-stock");
+    double droppedBefore = dropped.count();
+
+    // restocked to 5 first, then ten withdrawals of 1 of which five fit
+    for (int delta : new int[] {-1, -1, 2, -1, -1, -1, -1, -1, -1, -1, -1}) {
+      given()
+          .contentType(MediaType.APPLICATION_JSON)
+          .body(new StockAdjustment(null, delta))
+          .when()
+          .post("/store/" + id + "/stock-adjustments?buffered=true")
+          .then()
+          .statusCode(202);
+    }
+
+    stockAdjustmentBuffer.flush();
+
+    assertEquals(0, stockAdjustmentBuffer.pendingDelta(id));
+    assertEquals(0, quantityOf(id));
+    assertEquals(5, dropped.count() - droppedBefore);
+    given()
+        .when()
+        .get("/q/metrics")
+        .then()
+        .statusCode(200)
+        .body(containsString("store_stock_adjustments_dropped_total{reason=\"negative-stock\"}"));
+  }
+}
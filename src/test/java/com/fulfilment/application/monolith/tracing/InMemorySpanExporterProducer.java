@@ -0,0 +1,17 @@
+package com.fulfilment.application.monolith.tracing;
+
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Produces;
+import jakarta.inject.Singleton;
+
+/** Collects the spans of the tests in memory, where they can be asserted on. */
+@ApplicationScoped
+public class InMemorySpanExporterProducer {
+
+  @Produces
+  @Singleton
+  InMemorySpanExporter inMemorySpanExporter() {
+    return InMemorySpanExporter.create();
+  }
+}
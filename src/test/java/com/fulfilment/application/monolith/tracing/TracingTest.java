@@ -0,0 +1,99 @@
+package com.fulfilment.application.monolith.tracing;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.MediaType;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+public class TracingTest {
+
+  private static final AttributeKey<String> DB_SYSTEM = AttributeKey.stringKey("db.system");
+
+  @Inject InMemorySpanExporter exporter;
+
+  @BeforeEach
+  void reset() {
+    exporter.reset();
+  }
+
+  private SpanData awaitSpan(Predicate<SpanData> matching) throws InterruptedException {
+    for (int attempt = 0; attempt < 100; attempt++) {
+      Optional<SpanData> span =
+          exporter.getFinishedSpanItems().stream().filter(matching).findAny();
+      if (span.isPresent()) {
+        return span.get();
+      }
+      Thread.sleep(100);
+    }
+    throw new AssertionError("No matching span in " + exporter.getFinishedSpanItems());
+  }
+
+  private List<SpanData> childrenOf(SpanData parent) {
+    return exporter.getFinishedSpanItems().stream()
+        .filter(span -> span.getParentSpanId().equals(parent.getSpanId()))
+        .toList();
+  }
+
+  private static SpanData named(List<SpanData> spans, String name) {
+    return spans.stream()
+        .filter(span -> span.getName().equals(name))
+        .findAny()
+        .orElseThrow(() -> new AssertionError("No span " + name + " in " + spans));
+  }
+
+  @Test
+  public void testReplacementIsTracedFromRestThroughUseCaseToSql() throws Exception {
+    given()
+        .contentType(MediaType.APPLICATION_JSON)
+        .body("{\"location\": \"AMSTERDAM-001\", \"capacity\": 10, \"stock\": 1}")
+        .when()
+        .post("/warehouse/MWH.TRACED/replacement")
+        .then()
+        .statusCode(400);
+
+    SpanData server =
+        awaitSpan(
+            span ->
+                span.getKind() == SpanKind.SERVER
+                    && span.getName().equals("POST /warehouse/{businessUnitCode}/replacement"));
+
+    SpanData useCase = named(childrenOf(server), "ReplaceWarehouseUseCase.replace");
+    SpanData lookup = named(childrenOf(useCase), "WarehouseRepository.findByBusinessUnitCode");
+    List<SpanData> statements = childrenOf(lookup);
+
+    assertFalse(statements.isEmpty());
+    assertEquals("postgresql", statements.get(0).getAttributes().get(DB_SYSTEM));
+    assertEquals(server.getTraceId(), statements.get(0).getTraceId());
+  }
+
+  @Test
+  public void testLegacyGatewayCallsAreTraced() throws Exception {
+    given()
+        .contentType(MediaType.APPLICATION_JSON)
+        .body("{\"name\": \"TRACED_" + System.nanoTime() + "\", \"quantityProductsInStock\": 1}")
+        .when()
+        .post("/store")
+        .then()
+        .statusCode(201);
+
+    SpanData gateway =
+        awaitSpan(
+            span -> span.getName().equals("LegacyStoreManagerGateway.createStoreOnLegacySystem"));
+
+    assertTrue(gateway.getParentSpanContext().isValid());
+  }
+}
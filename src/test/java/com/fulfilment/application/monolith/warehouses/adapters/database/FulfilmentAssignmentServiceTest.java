@@ -8,6 +8,7 @@ import com.fulfilment.application.monolith.stores.Store;
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
+import java.time.LocalDateTime;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -144,6 +145,32 @@ class FulfilmentAssignmentServiceTest {
                 () -> service.assign(store, p6, warehouse));
     }
 
+    @Test
+    @Transactional
+    void tombstonedProductsAndStores_doNotCountTowardsLimits() {
+        Product p2 = createProduct("P2");
+        Product p3 = createProduct("P3");
+        Product p4 = createProduct("P4");
+        Product p5 = createProduct("P5");
+        Product p6 = createProduct("P6");
+        Store store2 = createStore("STORE2");
+
+        service.assign(store, product, warehouse);
+        service.assign(store, p2, warehouse);
+        service.assign(store, p3, warehouse);
+        service.assign(store2, p4, warehouse);
+        service.assign(store, p5, warehouse);
+
+        // their assignments stay until compaction, but the warehouse has room for two again
+        p2.deletedAt = LocalDateTime.now();
+        store2.deletedAt = LocalDateTime.now();
+
+        assertNotNull(service.assign(store, p6, warehouse));
+        assertNotNull(service.assign(store, createProduct("P7"), warehouse));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.assign(store, createProduct("P8"), warehouse));
+    }
+
     // ---------- EXTRA COVERAGE (IMPORTANT) ----------
 
     @Test
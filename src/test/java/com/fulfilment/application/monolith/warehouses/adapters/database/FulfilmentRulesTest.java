@@ -0,0 +1,74 @@
+package com.fulfilment.application.monolith.warehouses.adapters.database;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fulfilment.application.monolith.products.Product;
+import com.fulfilment.application.monolith.warehouses.domain.models.RuleViolationException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class FulfilmentRulesTest {
+
+  private static DbWarehouse warehouse(long id) {
+    DbWarehouse warehouse = new DbWarehouse();
+    warehouse.id = id;
+    return warehouse;
+  }
+
+  private static Product product(long id) {
+    Product product = new Product();
+    product.id = id;
+    return product;
+  }
+
+  private static List<StoreWarehouseProduct> assignments(int warehouses, int products) {
+    List<StoreWarehouseProduct> assignments = new ArrayList<>();
+    for (int w = 0; w < warehouses; w++) {
+      for (int p = 0; p < products; p++) {
+        StoreWarehouseProduct assignment = new StoreWarehouseProduct();
+        assignment.warehouse = warehouse(w);
+        assignment.product = product(p);
+        assignments.add(assignment);
+      }
+    }
+    return assignments;
+  }
+
+  @Test
+  void warehousesPerStoreProductAllowsKnownWarehousesAtTheLimit() {
+    List<StoreWarehouseProduct> full = assignments(2, 1);
+
+    assertDoesNotThrow(() -> FulfilmentRules.checkWarehousesPerStoreProduct(full, warehouse(1)));
+    RuleViolationException e =
+        assertThrows(
+            RuleViolationException.class,
+            () -> FulfilmentRules.checkWarehousesPerStoreProduct(full, warehouse(2)));
+    assertEquals("max-warehouses-per-store-product", e.rule);
+  }
+
+  @Test
+  void warehousesPerStoreIsLimitedToThree() {
+    assertDoesNotThrow(
+        () -> FulfilmentRules.checkWarehousesPerStore(assignments(2, 3), warehouse(2)));
+    RuleViolationException e =
+        assertThrows(
+            RuleViolationException.class,
+            () -> FulfilmentRules.checkWarehousesPerStore(assignments(3, 1), warehouse(3)));
+    assertEquals("max-warehouses-per-store", e.rule);
+  }
+
+  @Test
+  void productsPerWarehouseIsLimitedToFive() {
+    List<StoreWarehouseProduct> full = assignments(1, 5);
+
+    assertDoesNotThrow(() -> FulfilmentRules.checkProductsPerWarehouse(full, product(4)));
+    RuleViolationException e =
+        assertThrows(
+            RuleViolationException.class,
+            () -> FulfilmentRules.checkProductsPerWarehouse(full, product(5)));
+    assertEquals("max-products-per-warehouse", e.rule);
+  }
+}
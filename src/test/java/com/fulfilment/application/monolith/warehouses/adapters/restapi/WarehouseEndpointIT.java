@@ -166,7 +166,7 @@ public class WarehouseEndpointIT {
     // ---------- REPLACEMENT ----------
 
     @Test
-    void replaceWarehouse_notFound_returns404() {
+    void replaceWarehouse_notFound_returns400() {
         String body =
                 """
                 {
@@ -183,7 +183,8 @@ public class WarehouseEndpointIT {
                 .when()
                 .post(PATH + "/UNKNOWN/replacement")
                 .then()
-                .statusCode(404);
+                .statusCode(400)
+                .body(containsString("Warehouse not found"));
     }
 
     // ---------- METHOD SAFETY ----------